@@ -0,0 +1,77 @@
+package com.codinn.oxify.offline;
+
+import java.io.PrintStream;
+
+import com.codinn.oxify.offline.nbt.NbtCompound;
+import com.codinn.oxify.offline.nbt.NbtList;
+import com.codinn.oxify.oxidation.chain.OxidationChains;
+
+/**
+ * Counts copper per oxidation stage, unwaxed and waxed, from section palettes: palettes
+ * without copper are rejected without decoding their indices.
+ */
+public final class CensusProcessor implements ChunkProcessor {
+
+    private final OxidationChains chains;
+
+    public CensusProcessor(OxidationChains chains) {
+        this.chains = chains;
+    }
+
+    @Override
+    public boolean process(NbtCompound chunk, long[] totals) {
+        NbtList sections = chunk.getList("sections");
+        if (sections == null) {
+            return false;
+        }
+        for (Object element : sections) {
+            NbtCompound blockStates = ((NbtCompound) element).getCompound("block_states");
+            NbtList palette = blockStates == null ? null : blockStates.getList("palette");
+            if (palette == null || !hasCopper(palette)) {
+                continue;
+            }
+            int[] counts = PalettedBlockStates.histogram(blockStates);
+            for (int i = 0; i < counts.length; i++) {
+                String name = palette.getCompound(i).getString("Name");
+                int stage = name == null ? OxidationChains.NONE : this.chains.stage(name);
+                if (stage != OxidationChains.NONE) {
+                    totals[(this.chains.isWaxed(name) ? OxidationChains.STAGE_COUNT : 0) + stage] += counts[i];
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hasCopper(NbtList palette) {
+        for (Object entry : palette) {
+            String name = ((NbtCompound) entry).getString("Name");
+            if (name != null && this.chains.isCopper(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int totalsLength() {
+        return OxidationChains.STAGE_COUNT * 2;
+    }
+
+    @Override
+    public boolean writes() {
+        return false;
+    }
+
+    @Override
+    public void report(long[] totals, PrintStream out) {
+        long total = 0;
+        for (long count : totals) {
+            total += count;
+        }
+        out.println("Copper blocks: " + total);
+        for (int stage = 0; stage < OxidationChains.STAGE_COUNT; stage++) {
+            out.printf("  %-10s %12d unwaxed %12d waxed%n", Stages.name(stage), totals[stage],
+                totals[OxidationChains.STAGE_COUNT + stage]);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.codinn.oxify.offline;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only record of the region files a run has finished, with the totals each one
+ * contributed, so an interrupted run resumes where it stopped without counting or weathering
+ * a region twice. A line is appended after a region's temporary file is complete and before
+ * it is moved into place; on resume a leftover temporary file of a recorded region is moved,
+ * one of an unrecorded region is discarded.
+ * <p>
+ * The first line holds the parameters of the run, and a checkpoint is only resumed by a run
+ * with the same ones. It is deleted once the run has finished.
+ */
+public final class Checkpoint implements AutoCloseable {
+
+    private static final String HEADER = "# ";
+
+    private final Map<String, long[]> done = new HashMap<>();
+    private final Path path;
+    private final BufferedWriter writer;
+
+    /**
+     * @param parameters the parameters of the run, on a single line
+     * @throws IllegalArgumentException if an existing checkpoint was written with other
+     *         parameters and {@code fresh} is not set
+     */
+    public Checkpoint(Path path, String parameters, boolean fresh) throws IOException {
+        this.path = path;
+        List<String> lines = !fresh && Files.exists(path)
+            ? Files.readAllLines(path, StandardCharsets.UTF_8)
+            : List.of();
+        if (!lines.isEmpty() && !lines.get(0).equals(HEADER + parameters)) {
+            String previous = lines.get(0).startsWith(HEADER) ? lines.get(0).substring(HEADER.length()) : "unknown";
+            throw new IllegalArgumentException("Checkpoint " + path + " was written by a run with other parameters ("
+                + previous + "), use --fresh to discard it");
+        }
+        for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length < 1 || parts[0].isEmpty()) {
+                continue;
+            }
+            long[] totals = new long[parts.length - 1];
+            for (int i = 1; i < parts.length; i++) {
+                totals[i - 1] = Long.parseLong(parts[i]);
+            }
+            this.done.put(parts[0], totals);
+        }
+
+        if (lines.isEmpty()) {
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+            this.writer.write(HEADER + parameters);
+            this.writer.newLine();
+            this.writer.flush();
+        } else {
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        }
+    }
+
+    public boolean isDone(String region) {
+        return this.done.containsKey(region);
+    }
+
+    /**
+     * Adds the totals of every finished region to {@code totals}.
+     */
+    public void addTotals(long[] totals) {
+        for (long[] regionTotals : this.done.values()) {
+            for (int i = 0; i < Math.min(totals.length, regionTotals.length); i++) {
+                totals[i] += regionTotals[i];
+            }
+        }
+    }
+
+    public int doneCount() {
+        return this.done.size();
+    }
+
+    public void record(String region, long[] totals) throws IOException {
+        StringBuilder line = new StringBuilder(region);
+        for (long total : totals) {
+            line.append(' ').append(total);
+        }
+        this.writer.write(line.toString());
+        this.writer.newLine();
+        this.writer.flush();
+        this.done.put(region, totals.clone());
+    }
+
+    /**
+     * Deletes the checkpoint after every region is done, so the next run starts over.
+     */
+    public void complete() throws IOException {
+        this.writer.close();
+        Files.deleteIfExists(this.path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.writer.close();
+    }
+}
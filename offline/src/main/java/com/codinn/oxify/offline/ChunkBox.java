@@ -0,0 +1,31 @@
+package com.codinn.oxify.offline;
+
+import com.codinn.oxify.offline.region.RegionFile;
+
+/**
+ * Inclusive range of chunk coordinates a run is limited to.
+ */
+public record ChunkBox(int minX, int minZ, int maxX, int maxZ) {
+
+    public static final ChunkBox ALL = new ChunkBox(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE,
+        Integer.MAX_VALUE);
+
+    /**
+     * The chunks touching a box given in block coordinates.
+     */
+    public static ChunkBox ofBlocks(int x1, int z1, int x2, int z2) {
+        return new ChunkBox(Math.min(x1, x2) >> 4, Math.min(z1, z2) >> 4, Math.max(x1, x2) >> 4,
+            Math.max(z1, z2) >> 4);
+    }
+
+    public boolean contains(int chunkX, int chunkZ) {
+        return chunkX >= this.minX && chunkX <= this.maxX && chunkZ >= this.minZ && chunkZ <= this.maxZ;
+    }
+
+    public boolean intersectsRegion(RegionFile region) {
+        int minChunkX = region.chunkX(0);
+        int minChunkZ = region.chunkZ(0);
+        return minChunkX + 31 >= this.minX && minChunkX <= this.maxX && minChunkZ + 31 >= this.minZ
+            && minChunkZ <= this.maxZ;
+    }
+}
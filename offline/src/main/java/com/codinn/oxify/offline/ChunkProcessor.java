@@ -0,0 +1,24 @@
+package com.codinn.oxify.offline;
+
+import java.io.PrintStream;
+
+import com.codinn.oxify.offline.nbt.NbtCompound;
+
+/**
+ * Work applied to every chunk of a run. Implementations are called from several threads at
+ * once and keep no per-chunk state; whatever they count goes into the {@code totals} array
+ * handed to each call, which the runner sums per region and checkpoints.
+ */
+public interface ChunkProcessor {
+
+    /**
+     * @return whether the chunk was modified and has to be written back
+     */
+    boolean process(NbtCompound chunk, long[] totals);
+
+    int totalsLength();
+
+    boolean writes();
+
+    void report(long[] totals, PrintStream out);
+}
@@ -0,0 +1,189 @@
+package com.codinn.oxify.offline;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import com.codinn.oxify.offline.region.RegionFile;
+import com.codinn.oxify.oxidation.chain.OxidationChains;
+
+/**
+ * Command line entry point of the offline tools, for operations too large to run on a live
+ * server. The world must not be open in a running game or server while it is modified.
+ */
+public final class OxifyOffline {
+
+    private static final String USAGE = """
+        Usage:
+          oxify-offline census <world> [options]
+          oxify-offline weather <world> [--stages <n> | --to <stage>] [options]
+          oxify-offline structures <directory> [--stages <n> | --to <stage>] [--out <directory>] [options]
+
+        Options:
+          --dimension <overworld|the_nether|the_end|path>  dimension folder, default overworld
+          --box <x1> <z1> <x2> <z2>  limit to the chunks touching this block box
+          --threads <n>              worker threads, default all cores
+          --chains <file>            chain table exported by the mod (config/oxify-chains.txt)
+          --checkpoint <file>        resume file, default <world>/oxify-<mode>-<dimension>.checkpoint
+          --fresh                    discard an existing checkpoint instead of resuming it
+          --out <directory>          where weathered structures go, default overwrite the inputs
+        """;
+
+    private OxifyOffline() {}
+
+    public static void main(String[] args) {
+        PrintStream out = System.out;
+        try {
+            run(args, out);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("Failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(130);
+        }
+    }
+
+    private static void run(String[] args, PrintStream out) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Missing mode or world");
+        }
+        String mode = args[0];
+        Path world = Path.of(args[1]);
+        String dimension = "overworld";
+        ChunkBox box = ChunkBox.ALL;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path chainsPath = null;
+        Path checkpointPath = null;
+        Path outPath = null;
+        boolean fresh = false;
+        int stages = 1;
+        int targetStage = OxidationChains.NONE;
+
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--dimension" -> dimension = value(args, ++i);
+                case "--box" -> {
+                    box = ChunkBox.ofBlocks(intValue(args, ++i), intValue(args, ++i), intValue(args, ++i),
+                        intValue(args, ++i));
+                }
+                case "--threads" -> threads = Math.max(1, intValue(args, ++i));
+                case "--chains" -> chainsPath = Path.of(value(args, ++i));
+                case "--checkpoint" -> checkpointPath = Path.of(value(args, ++i));
+                case "--fresh" -> fresh = true;
+                case "--out" -> outPath = Path.of(value(args, ++i));
+                case "--stages" -> stages = Math.max(1, intValue(args, ++i));
+                case "--to" -> targetStage = Stages.parse(value(args, ++i));
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        OxidationChains chains = chainsPath != null ? OxidationChains.read(chainsPath) : OxidationChains.vanilla();
+        int target = targetStage;
+        int steps = stages;
+        UnaryOperator<String> rename = target != OxidationChains.NONE
+            ? name -> chains.toStage(name, target)
+            : name -> chains.advance(name, steps);
+
+        if (mode.equals("structures")) {
+            runStructures(world, outPath, rename, threads, out);
+            return;
+        }
+        ChunkProcessor processor = switch (mode) {
+            case "census" -> new CensusProcessor(chains);
+            case "weather" -> new WeatherProcessor(rename);
+            default -> throw new IllegalArgumentException("Unknown mode " + mode);
+        };
+
+        Path regionDir = regionDirectory(world, dimension);
+        List<RegionFile> regions = new ArrayList<>();
+        try (Stream<Path> files = Files.list(regionDir)) {
+            for (Path file : (Iterable<Path>) files.filter(RegionFile::isRegionFile).sorted()::iterator) {
+                regions.add(new RegionFile(file));
+            }
+        }
+        String parameters = mode + " dimension=" + dimension + " box=" + box.minX() + "," + box.minZ() + ","
+            + box.maxX() + "," + box.maxZ() + " chains="
+            + (chainsPath != null ? chainsPath.toAbsolutePath() : "vanilla");
+        if (mode.equals("weather")) {
+            parameters += target != OxidationChains.NONE ? " to=" + Stages.name(target) : " stages=" + steps;
+        }
+        if (checkpointPath == null) {
+            checkpointPath = world.resolve("oxify-" + mode + "-" + dimension.replaceAll("[^A-Za-z0-9_-]", "_")
+                + ".checkpoint");
+        }
+
+        out.println(regions.size() + " region files in " + regionDir + ", " + chains.size()
+            + " copper chain entries, " + threads + " threads");
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try (Checkpoint checkpoint = new Checkpoint(checkpointPath, parameters, fresh)) {
+            if (checkpoint.doneCount() > 0) {
+                out.println("Resuming after " + checkpoint.doneCount() + " finished regions");
+            }
+            long[] totals = new RegionRunner(executor, processor, checkpoint, box, out).run(regions);
+            checkpoint.complete();
+            processor.report(totals, out);
+        } finally {
+            executor.shutdownNow();
+        }
+        out.println("Done in " + (System.nanoTime() - start) / 1_000_000L + " ms");
+    }
+
+    private static void runStructures(Path input, Path output, UnaryOperator<String> rename, int threads,
+            PrintStream out) throws IOException, InterruptedException {
+        if (!Files.isDirectory(input)) {
+            throw new IOException("Not a directory: " + input);
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            long renamed = new StructureRunner(executor, rename, out).run(input, output);
+            out.println("Renamed " + renamed + " palette entries");
+        } finally {
+            executor.shutdownNow();
+        }
+        out.println("Done in " + (System.nanoTime() - start) / 1_000_000L + " ms");
+    }
+
+    private static Path regionDirectory(Path world, String dimension) throws IOException {
+        Path directory = switch (dimension) {
+            case "overworld" -> world.resolve("region");
+            case "the_nether" -> world.resolve("DIM-1").resolve("region");
+            case "the_end" -> world.resolve("DIM1").resolve("region");
+            default -> world.resolve(dimension).resolve("region");
+        };
+        if (!Files.isDirectory(directory)) {
+            throw new IOException("No region folder at " + directory);
+        }
+        return directory;
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static int intValue(String[] args, int index) {
+        String value = value(args, index);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Not a number: " + value);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.codinn.oxify.offline;
+
+import java.util.function.UnaryOperator;
+
+import com.codinn.oxify.offline.nbt.NbtCompound;
+import com.codinn.oxify.offline.nbt.NbtList;
+
+/**
+ * Works on the {@code block_states} compound of a chunk section as saved since 1.18: a
+ * {@code palette} list of {@code Name}/{@code Properties} compounds and, unless the palette
+ * has a single entry, a {@code data} array of palette indices packed so no index spans two
+ * longs. Only palette entries are renamed; the packed indices are rewritten only when two
+ * entries become identical.
+ */
+public final class PalettedBlockStates {
+
+    public static final int SECTION_SIZE = 4096;
+
+    /**
+     * Width of raw state ids, used by palettes of more than 256 entries. Every release since
+     * 1.18 has fewer than 32768 block states.
+     */
+    private static final int GLOBAL_BITS = 15;
+
+    private PalettedBlockStates() {}
+
+    /**
+     * Number of blocks using each palette entry.
+     */
+    public static int[] histogram(NbtCompound blockStates) {
+        NbtList palette = blockStates.getList("palette");
+        int[] counts = new int[palette == null ? 0 : palette.size()];
+        if (counts.length == 0) {
+            return counts;
+        }
+        long[] data = blockStates.getLongArray("data");
+        if (data == null || counts.length == 1) {
+            counts[0] = SECTION_SIZE;
+            return counts;
+        }
+        int bits = bits(counts.length, data.length);
+        for (int i = 0; i < SECTION_SIZE; i++) {
+            int value = get(data, bits, i);
+            if (value < counts.length) {
+                counts[value]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Renames palette entries through {@code rename}, keeping their properties.
+     *
+     * @return the number of blocks whose state changed
+     */
+    public static int remap(NbtCompound blockStates, UnaryOperator<String> rename) {
+        NbtList palette = blockStates.getList("palette");
+        if (palette == null || palette.isEmpty()) {
+            return 0;
+        }
+
+        int size = palette.size();
+        NbtList renamed = new NbtList(palette.elementType());
+        boolean[] changed = new boolean[size];
+        boolean any = false;
+        for (int i = 0; i < size; i++) {
+            NbtCompound entry = palette.getCompound(i);
+            String name = entry.getString("Name");
+            String target = name == null ? null : rename.apply(name);
+            if (target == null || target.equals(name)) {
+                renamed.add(entry);
+                continue;
+            }
+            NbtCompound copy = new NbtCompound();
+            copy.putAll(entry);
+            copy.put("Name", target);
+            renamed.add(copy);
+            changed[i] = true;
+            any = true;
+        }
+        if (!any) {
+            return 0;
+        }
+
+        int[] counts = histogram(blockStates);
+        int changedBlocks = 0;
+        for (int i = 0; i < size; i++) {
+            if (changed[i]) {
+                changedBlocks += counts[i];
+            }
+        }
+
+        int[] newIndex = new int[size];
+        NbtList unique = new NbtList(palette.elementType());
+        boolean collapsed = false;
+        for (int i = 0; i < size; i++) {
+            int existing = unique.indexOf(renamed.get(i));
+            if (existing >= 0) {
+                newIndex[i] = existing;
+                collapsed = true;
+            } else {
+                newIndex[i] = unique.size();
+                unique.add(renamed.get(i));
+            }
+        }
+
+        blockStates.put("palette", unique);
+        if (collapsed) {
+            repack(blockStates, size, newIndex, unique.size());
+        }
+        return changedBlocks;
+    }
+
+    private static void repack(NbtCompound blockStates, int oldSize, int[] newIndex, int newSize) {
+        long[] data = blockStates.getLongArray("data");
+        if (data == null) {
+            return;
+        }
+        if (newSize == 1) {
+            blockStates.remove("data");
+            return;
+        }
+
+        int oldBits = bits(oldSize, data.length);
+        int newBits = newSize > 256 ? oldBits : expectedBits(newSize);
+        int perLong = Long.SIZE / newBits;
+        long[] packed = new long[longsFor(newBits)];
+        for (int i = 0; i < SECTION_SIZE; i++) {
+            int value = get(data, oldBits, i);
+            int mapped = value < newIndex.length ? newIndex[value] : 0;
+            packed[i / perLong] |= (long) mapped << (i % perLong) * newBits;
+        }
+        blockStates.put("data", packed);
+    }
+
+    /**
+     * Bits per entry the game expects for a palette of that size: at least 4, and the global
+     * palette width above 8.
+     */
+    private static int expectedBits(int paletteSize) {
+        int bits = Math.max(4, 32 - Integer.numberOfLeadingZeros(paletteSize - 1));
+        return bits <= 8 ? bits : GLOBAL_BITS;
+    }
+
+    /**
+     * Bits per entry of a stored array, as expected for its palette size when that matches
+     * the array length.
+     */
+    private static int bits(int paletteSize, int dataLength) {
+        int bits = expectedBits(paletteSize);
+        if (longsFor(bits) == dataLength) {
+            return bits;
+        }
+        for (bits = 1; bits <= 32; bits++) {
+            if (longsFor(bits) == dataLength) {
+                return bits;
+            }
+        }
+        throw new IllegalArgumentException("Unexpected block state data length " + dataLength);
+    }
+
+    private static int longsFor(int bits) {
+        int perLong = Long.SIZE / bits;
+        return (SECTION_SIZE + perLong - 1) / perLong;
+    }
+
+    private static int get(long[] data, int bits, int index) {
+        int perLong = Long.SIZE / bits;
+        return (int) (data[index / perLong] >>> (index % perLong) * bits & (1L << bits) - 1);
+    }
+}
@@ -0,0 +1,148 @@
+package com.codinn.oxify.offline;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.codinn.oxify.offline.nbt.NbtCompound;
+import com.codinn.oxify.offline.nbt.NbtIo;
+import com.codinn.oxify.offline.region.ChunkCompression;
+import com.codinn.oxify.offline.region.RawChunk;
+import com.codinn.oxify.offline.region.RegionFile;
+
+/**
+ * Applies a {@link ChunkProcessor} to every chunk of a list of region files. Regions are
+ * taken one at a time and their chunks decoded, processed and re-encoded in parallel on the
+ * executor; each finished region is checkpointed before it is written back.
+ */
+public final class RegionRunner {
+
+    private final ExecutorService executor;
+    private final ChunkProcessor processor;
+    private final Checkpoint checkpoint;
+    private final ChunkBox box;
+    private final PrintStream log;
+
+    private record ChunkResult(RawChunk chunk, long[] totals) {}
+
+    public RegionRunner(ExecutorService executor, ChunkProcessor processor, Checkpoint checkpoint, ChunkBox box,
+            PrintStream log) {
+        this.executor = executor;
+        this.processor = processor;
+        this.checkpoint = checkpoint;
+        this.box = box;
+        this.log = log;
+    }
+
+    /**
+     * @return the totals of every region, including those finished by earlier runs
+     */
+    public long[] run(List<RegionFile> regions) throws IOException, InterruptedException {
+        long[] totals = new long[this.processor.totalsLength()];
+        this.checkpoint.addTotals(totals);
+        int index = 0;
+        for (RegionFile region : regions) {
+            index++;
+            String name = region.path().getFileName().toString();
+            if (this.checkpoint.isDone(name)) {
+                if (region.hasTemp()) {
+                    region.commit();
+                }
+                continue;
+            }
+            region.discardTemp();
+            if (!this.box.intersectsRegion(region)) {
+                continue;
+            }
+
+            long start = System.nanoTime();
+            long[] regionTotals = runRegion(region);
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += regionTotals[i];
+            }
+            this.log.printf("[%d/%d] %s in %d ms%n", index, regions.size(), name,
+                (System.nanoTime() - start) / 1_000_000L);
+        }
+        return totals;
+    }
+
+    private long[] runRegion(RegionFile region) throws IOException, InterruptedException {
+        RawChunk[] chunks = region.readAll();
+        List<Future<ChunkResult>> futures = new ArrayList<>(RegionFile.CHUNKS);
+        for (int i = 0; i < RegionFile.CHUNKS; i++) {
+            RawChunk chunk = chunks[i];
+            if (chunk == null || !this.box.contains(region.chunkX(i), region.chunkZ(i))) {
+                futures.add(null);
+                continue;
+            }
+            int chunkIndex = i;
+            futures.add(this.executor.submit(() -> processChunk(region, chunkIndex, chunk)));
+        }
+
+        long[] regionTotals = new long[this.processor.totalsLength()];
+        boolean modified = false;
+        for (int i = 0; i < RegionFile.CHUNKS; i++) {
+            Future<ChunkResult> future = futures.get(i);
+            if (future == null) {
+                continue;
+            }
+            ChunkResult result;
+            try {
+                result = future.get();
+            } catch (ExecutionException e) {
+                throw new IOException("Failed to process chunk " + i + " of " + region.path(), e.getCause());
+            }
+            for (int t = 0; t < regionTotals.length; t++) {
+                regionTotals[t] += result.totals()[t];
+            }
+            if (result.chunk() != chunks[i]) {
+                chunks[i] = result.chunk();
+                modified = true;
+            }
+        }
+
+        String name = region.path().getFileName().toString();
+        if (modified && this.processor.writes()) {
+            region.writeTemp(chunks);
+            this.checkpoint.record(name, regionTotals);
+            region.commit();
+        } else {
+            this.checkpoint.record(name, regionTotals);
+        }
+        return regionTotals;
+    }
+
+    private ChunkResult processChunk(RegionFile region, int index, RawChunk chunk) throws IOException {
+        long[] totals = new long[this.processor.totalsLength()];
+        ChunkCompression compression = ChunkCompression.byId(chunk.compressionId());
+        if (compression == null) {
+            this.log.println("Skipping chunk " + region.chunkX(index) + ", " + region.chunkZ(index)
+                + " with unsupported compression " + chunk.compressionId());
+            return new ChunkResult(chunk, totals);
+        }
+
+        NbtCompound root;
+        try (DataInputStream input = new DataInputStream(
+                new ByteArrayInputStream(compression.decompress(chunk.payload())))) {
+            root = NbtIo.read(input);
+        }
+        if (!this.processor.process(root, totals) || !this.processor.writes()) {
+            return new ChunkResult(chunk, totals);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(chunk.payload().length * 4);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            NbtIo.write(output, root);
+        }
+        int now = (int) (System.currentTimeMillis() / 1000L);
+        return new ChunkResult(chunk.withPayload(compression.compress(bytes.toByteArray()), now), totals);
+    }
+}
@@ -0,0 +1,35 @@
+package com.codinn.oxify.offline;
+
+import java.util.Locale;
+
+import com.codinn.oxify.oxidation.chain.OxidationChains;
+
+/**
+ * Names of the oxidation stages as used on the command line.
+ */
+public final class Stages {
+
+    private static final String[] NAMES = {"unaffected", "exposed", "weathered", "oxidized"};
+
+    private Stages() {}
+
+    public static String name(int stage) {
+        return NAMES[stage];
+    }
+
+    /**
+     * Parses a stage name or number.
+     *
+     * @throws IllegalArgumentException if it is neither
+     */
+    public static int parse(String value) {
+        String lower = value.toLowerCase(Locale.ROOT);
+        for (int stage = 0; stage < NAMES.length; stage++) {
+            if (NAMES[stage].equals(lower) || Integer.toString(stage).equals(lower)) {
+                return stage;
+            }
+        }
+        throw new IllegalArgumentException("Unknown oxidation stage " + value + ", expected 0-"
+            + (OxidationChains.STAGE_COUNT - 1) + " or one of " + String.join(", ", NAMES));
+    }
+}
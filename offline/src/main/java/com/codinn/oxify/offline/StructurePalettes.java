@@ -0,0 +1,155 @@
+package com.codinn.oxify.offline;
+
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import com.codinn.oxify.offline.nbt.NbtCompound;
+import com.codinn.oxify.offline.nbt.NbtList;
+
+/**
+ * Renames copper in the palettes of saved structures and schematics, leaving the block data
+ * alone wherever the format allows.
+ * <ul>
+ * <li>Structure templates ({@code .nbt}): {@code palette} or {@code palettes} lists of
+ * {@code Name}/{@code Properties} compounds. The game tolerates duplicate entries, so blocks
+ * are never touched.</li>
+ * <li>Sponge schematics v2 and v3 ({@code .schem}): a {@code Palette} compound from block
+ * state strings to indices plus varint block data. Entries are keyed by state, so the block
+ * data is rewritten only when two entries end up naming the same state.</li>
+ * </ul>
+ */
+public final class StructurePalettes {
+
+    private StructurePalettes() {}
+
+    /**
+     * @return the number of palette entries renamed, or -1 if the compound is not a known
+     *         format
+     */
+    public static int remap(NbtCompound root, UnaryOperator<String> rename) {
+        NbtCompound schematic = root.getCompound("Schematic");
+        if (schematic != null && schematic.getCompound("Blocks") != null) {
+            return remapSponge(schematic.getCompound("Blocks"), "Data", null, rename);
+        }
+        if (root.getCompound("Palette") != null && root.get("BlockData") instanceof byte[]) {
+            return remapSponge(root, "BlockData", "PaletteMax", rename);
+        }
+        if (root.getList("palette") != null) {
+            return remapTemplate(root.getList("palette"), rename);
+        }
+        if (root.getList("palettes") != null) {
+            int renamed = 0;
+            for (Object palette : root.getList("palettes")) {
+                renamed += remapTemplate((NbtList) palette, rename);
+            }
+            return renamed;
+        }
+        return -1;
+    }
+
+    private static int remapTemplate(NbtList palette, UnaryOperator<String> rename) {
+        int renamed = 0;
+        for (Object element : palette) {
+            NbtCompound entry = (NbtCompound) element;
+            String name = entry.getString("Name");
+            String target = name == null ? null : rename.apply(name);
+            if (target != null && !target.equals(name)) {
+                entry.put("Name", target);
+                renamed++;
+            }
+        }
+        return renamed;
+    }
+
+    private static int remapSponge(NbtCompound container, String dataKey, String maxKey,
+            UnaryOperator<String> rename) {
+        NbtCompound palette = container.getCompound("Palette");
+        int size = 0;
+        for (Object index : palette.values()) {
+            size = Math.max(size, ((Number) index).intValue() + 1);
+        }
+
+        String[] states = new String[size];
+        for (Map.Entry<String, Object> entry : palette.entrySet()) {
+            states[((Number) entry.getValue()).intValue()] = entry.getKey();
+        }
+
+        int renamed = 0;
+        Map<String, Integer> merged = new LinkedHashMap<>();
+        int[] newIndex = new int[size];
+        boolean collapsed = false;
+        for (int i = 0; i < size; i++) {
+            String state = states[i];
+            if (state == null) {
+                newIndex[i] = 0;
+                continue;
+            }
+            String target = renameState(state, rename);
+            if (!target.equals(state)) {
+                renamed++;
+            }
+            Integer existing = merged.get(target);
+            if (existing != null) {
+                newIndex[i] = existing;
+                collapsed = true;
+            } else {
+                newIndex[i] = merged.size();
+                collapsed |= newIndex[i] != i;
+                merged.put(target, newIndex[i]);
+            }
+        }
+        if (renamed == 0) {
+            return 0;
+        }
+
+        NbtCompound newPalette = new NbtCompound();
+        merged.forEach((state, index) -> newPalette.put(state, index));
+        container.put("Palette", newPalette);
+        if (maxKey != null) {
+            container.put(maxKey, merged.size());
+        }
+        if (collapsed) {
+            container.put(dataKey, reindex((byte[]) container.get(dataKey), newIndex));
+        }
+        return renamed;
+    }
+
+    /**
+     * Renames the block id of a state string such as
+     * {@code minecraft:copper_door[facing=north,half=lower]}, keeping its properties.
+     */
+    static String renameState(String state, UnaryOperator<String> rename) {
+        int bracket = state.indexOf('[');
+        String id = bracket < 0 ? state : state.substring(0, bracket);
+        String target = rename.apply(id);
+        if (target == null || target.equals(id)) {
+            return state;
+        }
+        return bracket < 0 ? target : target + state.substring(bracket);
+    }
+
+    private static byte[] reindex(byte[] data, int[] newIndex) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(data.length);
+        int position = 0;
+        while (position < data.length) {
+            int value = 0;
+            int shift = 0;
+            byte current;
+            do {
+                current = data[position++];
+                value |= (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0 && position < data.length);
+
+            int mapped = value < newIndex.length ? newIndex[value] : value;
+            while ((mapped & ~0x7F) != 0) {
+                output.write(mapped & 0x7F | 0x80);
+                mapped >>>= 7;
+            }
+            output.write(mapped);
+        }
+        return output.toByteArray();
+    }
+}
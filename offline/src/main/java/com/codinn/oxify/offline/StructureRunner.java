@@ -0,0 +1,121 @@
+package com.codinn.oxify.offline;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.codinn.oxify.offline.nbt.NbtIo;
+
+/**
+ * Weathers every structure template and schematic under a directory in parallel, writing the
+ * results to a mirrored output tree or over the inputs. Files keep their compression: GZIP
+ * when the input was, raw NBT otherwise.
+ */
+public final class StructureRunner {
+
+    private final ExecutorService executor;
+    private final UnaryOperator<String> rename;
+    private final PrintStream log;
+
+    private record FileResult(Path file, int renamed, long nanos) {}
+
+    public StructureRunner(ExecutorService executor, UnaryOperator<String> rename, PrintStream log) {
+        this.executor = executor;
+        this.rename = rename;
+        this.log = log;
+    }
+
+    /**
+     * @param output the directory to mirror the input tree into, or null to overwrite the
+     *               inputs
+     * @return the number of palette entries renamed over all files
+     */
+    public long run(Path input, Path output) throws IOException, InterruptedException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(input)) {
+            files = walk.filter(Files::isRegularFile).filter(StructureRunner::isStructure).sorted().toList();
+        }
+
+        List<Future<FileResult>> futures = new ArrayList<>(files.size());
+        for (Path file : files) {
+            Path target = output == null ? file : output.resolve(input.relativize(file));
+            futures.add(this.executor.submit(() -> process(file, target)));
+        }
+
+        long renamed = 0;
+        int skipped = 0;
+        for (Future<FileResult> future : futures) {
+            FileResult result;
+            try {
+                result = future.get();
+            } catch (ExecutionException e) {
+                throw new IOException("Failed to weather a structure", e.getCause());
+            }
+            if (result.renamed() < 0) {
+                skipped++;
+                this.log.println("Skipped " + result.file() + ": not a structure template or Sponge schematic");
+                continue;
+            }
+            renamed += result.renamed();
+            this.log.printf("%s: %d palette entries in %.2f ms%n", input.relativize(result.file()), result.renamed(),
+                result.nanos() / 1_000_000.0);
+        }
+        this.log.println(files.size() - skipped + " files weathered, " + skipped + " skipped");
+        return renamed;
+    }
+
+    private static boolean isStructure(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".nbt") || name.endsWith(".schem");
+    }
+
+    private FileResult process(Path file, Path target) throws IOException {
+        long start = System.nanoTime();
+        byte[] bytes = Files.readAllBytes(file);
+        boolean gzip = bytes.length >= 2 && (bytes[0] & 0xFF) == 0x1F && (bytes[1] & 0xFF) == 0x8B;
+
+        NbtIo.Root root;
+        try (InputStream raw = new ByteArrayInputStream(bytes);
+                DataInputStream input = new DataInputStream(new BufferedInputStream(
+                    gzip ? new GZIPInputStream(raw) : raw))) {
+            root = NbtIo.readRoot(input);
+        }
+        int renamed = StructurePalettes.remap(root.tag(), this.rename);
+        if (renamed < 0) {
+            return new FileResult(file, renamed, System.nanoTime() - start);
+        }
+        if (renamed == 0 && target.equals(file)) {
+            return new FileResult(file, 0, System.nanoTime() - start);
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length * 2);
+        try (OutputStream compressed = gzip ? new GZIPOutputStream(buffer) : buffer;
+                DataOutputStream output = new DataOutputStream(compressed)) {
+            NbtIo.writeRoot(output, root);
+        }
+
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".oxify-tmp");
+        Files.write(temp, buffer.toByteArray());
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new FileResult(file, renamed, System.nanoTime() - start);
+    }
+}
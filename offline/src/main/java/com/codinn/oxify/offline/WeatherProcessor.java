@@ -0,0 +1,84 @@
+package com.codinn.oxify.offline;
+
+import java.io.PrintStream;
+import java.util.function.UnaryOperator;
+
+import com.codinn.oxify.offline.nbt.NbtCompound;
+import com.codinn.oxify.offline.nbt.NbtList;
+
+/**
+ * Renames copper palette entries of every section, either a number of stages along their
+ * chain or up to a target stage. Lit copper bulbs change their light level with their stage,
+ * so chunks where one changed are flagged for relighting when the game next loads them.
+ */
+public final class WeatherProcessor implements ChunkProcessor {
+
+    private static final int CHANGED_BLOCKS = 0;
+    private static final int CHANGED_CHUNKS = 1;
+
+    private final UnaryOperator<String> rename;
+
+    public WeatherProcessor(UnaryOperator<String> rename) {
+        this.rename = rename;
+    }
+
+    @Override
+    public boolean process(NbtCompound chunk, long[] totals) {
+        NbtList sections = chunk.getList("sections");
+        if (sections == null) {
+            return false;
+        }
+
+        long changed = 0;
+        boolean relight = false;
+        for (Object element : sections) {
+            NbtCompound blockStates = ((NbtCompound) element).getCompound("block_states");
+            if (blockStates == null) {
+                continue;
+            }
+            relight |= changesLitBulb(blockStates.getList("palette"));
+            changed += PalettedBlockStates.remap(blockStates, this.rename);
+        }
+        if (changed == 0) {
+            return false;
+        }
+
+        if (relight) {
+            chunk.put("isLightOn", (byte) 0);
+        }
+        totals[CHANGED_BLOCKS] += changed;
+        totals[CHANGED_CHUNKS]++;
+        return true;
+    }
+
+    private boolean changesLitBulb(NbtList palette) {
+        if (palette == null) {
+            return false;
+        }
+        for (Object element : palette) {
+            NbtCompound entry = (NbtCompound) element;
+            String name = entry.getString("Name");
+            NbtCompound properties = entry.getCompound("Properties");
+            if (name != null && name.endsWith("copper_bulb") && properties != null
+                    && "true".equals(properties.getString("lit")) && !name.equals(this.rename.apply(name))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int totalsLength() {
+        return 2;
+    }
+
+    @Override
+    public boolean writes() {
+        return true;
+    }
+
+    @Override
+    public void report(long[] totals, PrintStream out) {
+        out.println("Weathered " + totals[CHANGED_BLOCKS] + " blocks in " + totals[CHANGED_CHUNKS] + " chunks");
+    }
+}
@@ -0,0 +1,32 @@
+package com.codinn.oxify.offline.nbt;
+
+import java.util.LinkedHashMap;
+
+/**
+ * Compound tag. Values are the boxed Java type of their tag ({@link Byte}, {@link Short},
+ * {@link Integer}, {@link Long}, {@link Float}, {@link Double}, {@link String},
+ * {@code byte[]}, {@code int[]}, {@code long[]}), an {@link NbtList} or a nested compound, so
+ * a read and written tree round-trips exactly.
+ */
+public final class NbtCompound extends LinkedHashMap<String, Object> {
+
+    public NbtCompound getCompound(String key) {
+        return get(key) instanceof NbtCompound compound ? compound : null;
+    }
+
+    public NbtList getList(String key) {
+        return get(key) instanceof NbtList list ? list : null;
+    }
+
+    public String getString(String key) {
+        return get(key) instanceof String value ? value : null;
+    }
+
+    public long[] getLongArray(String key) {
+        return get(key) instanceof long[] value ? value : null;
+    }
+
+    public int getInt(String key, int fallback) {
+        return get(key) instanceof Number value ? value.intValue() : fallback;
+    }
+}
@@ -0,0 +1,192 @@
+package com.codinn.oxify.offline.nbt;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Minimal reader and writer for the binary NBT format. Strings go through
+ * {@link DataInput#readUTF}, whose modified UTF-8 is what NBT uses.
+ */
+public final class NbtIo {
+
+    public static final byte END = 0;
+    public static final byte BYTE = 1;
+    public static final byte SHORT = 2;
+    public static final byte INT = 3;
+    public static final byte LONG = 4;
+    public static final byte FLOAT = 5;
+    public static final byte DOUBLE = 6;
+    public static final byte BYTE_ARRAY = 7;
+    public static final byte STRING = 8;
+    public static final byte LIST = 9;
+    public static final byte COMPOUND = 10;
+    public static final byte INT_ARRAY = 11;
+    public static final byte LONG_ARRAY = 12;
+
+    private static final int MAX_DEPTH = 512;
+
+    /**
+     * A root compound with its name, which some formats check.
+     */
+    public record Root(String name, NbtCompound tag) {}
+
+    private NbtIo() {}
+
+    /**
+     * Reads a named root compound, discarding its name.
+     */
+    public static NbtCompound read(DataInput input) throws IOException {
+        return readRoot(input).tag();
+    }
+
+    public static Root readRoot(DataInput input) throws IOException {
+        byte type = input.readByte();
+        if (type != COMPOUND) {
+            throw new IOException("Root tag must be a compound, got type " + type);
+        }
+        String name = input.readUTF();
+        return new Root(name, readCompound(input, 0));
+    }
+
+    public static void write(DataOutput output, NbtCompound root) throws IOException {
+        writeRoot(output, new Root("", root));
+    }
+
+    public static void writeRoot(DataOutput output, Root root) throws IOException {
+        output.writeByte(COMPOUND);
+        output.writeUTF(root.name());
+        writeCompound(output, root.tag());
+    }
+
+    private static Object readPayload(DataInput input, byte type, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("NBT nested too deeply");
+        }
+        return switch (type) {
+            case BYTE -> input.readByte();
+            case SHORT -> input.readShort();
+            case INT -> input.readInt();
+            case LONG -> input.readLong();
+            case FLOAT -> input.readFloat();
+            case DOUBLE -> input.readDouble();
+            case BYTE_ARRAY -> {
+                byte[] value = new byte[checkedLength(input.readInt())];
+                input.readFully(value);
+                yield value;
+            }
+            case STRING -> input.readUTF();
+            case LIST -> {
+                byte elementType = input.readByte();
+                int length = checkedLength(input.readInt());
+                NbtList list = new NbtList(elementType);
+                for (int i = 0; i < length; i++) {
+                    list.add(readPayload(input, elementType, depth + 1));
+                }
+                yield list;
+            }
+            case COMPOUND -> readCompound(input, depth + 1);
+            case INT_ARRAY -> {
+                int[] value = new int[checkedLength(input.readInt())];
+                for (int i = 0; i < value.length; i++) {
+                    value[i] = input.readInt();
+                }
+                yield value;
+            }
+            case LONG_ARRAY -> {
+                long[] value = new long[checkedLength(input.readInt())];
+                for (int i = 0; i < value.length; i++) {
+                    value[i] = input.readLong();
+                }
+                yield value;
+            }
+            default -> throw new IOException("Unknown NBT tag type " + type);
+        };
+    }
+
+    private static NbtCompound readCompound(DataInput input, int depth) throws IOException {
+        NbtCompound compound = new NbtCompound();
+        byte type;
+        while ((type = input.readByte()) != END) {
+            String name = input.readUTF();
+            compound.put(name, readPayload(input, type, depth));
+        }
+        return compound;
+    }
+
+    private static void writeCompound(DataOutput output, NbtCompound compound) throws IOException {
+        for (var entry : compound.entrySet()) {
+            byte type = typeOf(entry.getValue());
+            output.writeByte(type);
+            output.writeUTF(entry.getKey());
+            writePayload(output, type, entry.getValue());
+        }
+        output.writeByte(END);
+    }
+
+    private static void writePayload(DataOutput output, byte type, Object value) throws IOException {
+        switch (type) {
+            case BYTE -> output.writeByte((Byte) value);
+            case SHORT -> output.writeShort((Short) value);
+            case INT -> output.writeInt((Integer) value);
+            case LONG -> output.writeLong((Long) value);
+            case FLOAT -> output.writeFloat((Float) value);
+            case DOUBLE -> output.writeDouble((Double) value);
+            case BYTE_ARRAY -> {
+                byte[] array = (byte[]) value;
+                output.writeInt(array.length);
+                output.write(array);
+            }
+            case STRING -> output.writeUTF((String) value);
+            case LIST -> {
+                NbtList list = (NbtList) value;
+                output.writeByte(list.isEmpty() ? list.elementType() : typeOf(list.get(0)));
+                output.writeInt(list.size());
+                for (Object element : list) {
+                    writePayload(output, typeOf(element), element);
+                }
+            }
+            case COMPOUND -> writeCompound(output, (NbtCompound) value);
+            case INT_ARRAY -> {
+                int[] array = (int[]) value;
+                output.writeInt(array.length);
+                for (int element : array) {
+                    output.writeInt(element);
+                }
+            }
+            case LONG_ARRAY -> {
+                long[] array = (long[]) value;
+                output.writeInt(array.length);
+                for (long element : array) {
+                    output.writeLong(element);
+                }
+            }
+            default -> throw new IOException("Unknown NBT tag type " + type);
+        }
+    }
+
+    private static byte typeOf(Object value) throws IOException {
+        return switch (value) {
+            case Byte ignored -> BYTE;
+            case Short ignored -> SHORT;
+            case Integer ignored -> INT;
+            case Long ignored -> LONG;
+            case Float ignored -> FLOAT;
+            case Double ignored -> DOUBLE;
+            case byte[] ignored -> BYTE_ARRAY;
+            case String ignored -> STRING;
+            case NbtList ignored -> LIST;
+            case NbtCompound ignored -> COMPOUND;
+            case int[] ignored -> INT_ARRAY;
+            case long[] ignored -> LONG_ARRAY;
+            default -> throw new IOException("Not an NBT value: " + value.getClass().getName());
+        };
+    }
+
+    private static int checkedLength(int length) throws IOException {
+        if (length < 0) {
+            throw new IOException("Negative NBT array length " + length);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,23 @@
+package com.codinn.oxify.offline.nbt;
+
+import java.util.ArrayList;
+
+/**
+ * List tag. The element type is kept so empty lists are written back unchanged.
+ */
+public final class NbtList extends ArrayList<Object> {
+
+    private final byte elementType;
+
+    public NbtList(byte elementType) {
+        this.elementType = elementType;
+    }
+
+    public byte elementType() {
+        return this.elementType;
+    }
+
+    public NbtCompound getCompound(int index) {
+        return (NbtCompound) get(index);
+    }
+}
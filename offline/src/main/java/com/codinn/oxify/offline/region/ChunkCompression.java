@@ -0,0 +1,82 @@
+package com.codinn.oxify.offline.region;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4BlockOutputStream;
+
+/**
+ * The chunk compression schemes of the Anvil format, by the id stored in front of each
+ * chunk. Custom compression (127) names a codec only the server that wrote it knows, so such
+ * chunks are passed through untouched.
+ */
+public enum ChunkCompression {
+    GZIP(1),
+    DEFLATE(2),
+    NONE(3),
+    LZ4(4);
+
+    public static final int CUSTOM = 127;
+
+    private final int id;
+
+    ChunkCompression(int id) {
+        this.id = id;
+    }
+
+    public int id() {
+        return this.id;
+    }
+
+    /**
+     * @return the compression with that id, or null if unsupported
+     */
+    public static ChunkCompression byId(int id) {
+        for (ChunkCompression compression : values()) {
+            if (compression.id == id) {
+                return compression;
+            }
+        }
+        return null;
+    }
+
+    public byte[] decompress(byte[] data) throws IOException {
+        try (InputStream input = wrap(new ByteArrayInputStream(data))) {
+            return input.readAllBytes();
+        }
+    }
+
+    public byte[] compress(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (OutputStream output = wrap(bytes)) {
+            output.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    private InputStream wrap(InputStream input) throws IOException {
+        return switch (this) {
+            case GZIP -> new GZIPInputStream(input);
+            case DEFLATE -> new InflaterInputStream(input);
+            case NONE -> input;
+            case LZ4 -> new LZ4BlockInputStream(input);
+        };
+    }
+
+    private OutputStream wrap(OutputStream output) throws IOException {
+        return switch (this) {
+            case GZIP -> new GZIPOutputStream(output);
+            case DEFLATE -> new DeflaterOutputStream(output);
+            case NONE -> output;
+            case LZ4 -> new LZ4BlockOutputStream(output);
+        };
+    }
+}
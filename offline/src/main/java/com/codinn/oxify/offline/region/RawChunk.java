@@ -0,0 +1,12 @@
+package com.codinn.oxify.offline.region;
+
+/**
+ * A chunk as stored in a region file: its compression id, whether the payload lives in an
+ * external {@code .mcc} file, the still compressed payload and its timestamp.
+ */
+public record RawChunk(int compressionId, boolean external, byte[] payload, int timestamp) {
+
+    public RawChunk withPayload(byte[] payload, int timestamp) {
+        return new RawChunk(this.compressionId, false, payload, timestamp);
+    }
+}
@@ -0,0 +1,229 @@
+package com.codinn.oxify.offline.region;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads and rewrites Anvil {@code r.X.Z.mca} region files. Rewrites go to a temporary file,
+ * and external chunks to temporary {@code .mcc} files next to it, which are only moved into
+ * place by {@link #commit()}, so an interrupted run never leaves a torn region behind.
+ * Regions are read into the heap rather than mapped, since a mapped file cannot be replaced
+ * on Windows until the mapping is collected.
+ */
+public final class RegionFile {
+
+    public static final int CHUNKS = 1024;
+    private static final int SECTOR = 4096;
+    private static final int MAX_SECTORS = 255;
+    private static final int EXTERNAL_FLAG = 128;
+    private static final Pattern NAME = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+
+    private final Path path;
+    private final int regionX;
+    private final int regionZ;
+
+    public RegionFile(Path path) throws IOException {
+        Matcher matcher = NAME.matcher(path.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IOException("Not a region file name: " + path);
+        }
+        this.path = path;
+        this.regionX = Integer.parseInt(matcher.group(1));
+        this.regionZ = Integer.parseInt(matcher.group(2));
+    }
+
+    public static boolean isRegionFile(Path path) {
+        return NAME.matcher(path.getFileName().toString()).matches();
+    }
+
+    public Path path() {
+        return this.path;
+    }
+
+    public int chunkX(int index) {
+        return (this.regionX << 5) + (index & 31);
+    }
+
+    public int chunkZ(int index) {
+        return (this.regionZ << 5) + (index >>> 5);
+    }
+
+    /**
+     * Copies every present chunk out of the file. Entries of absent chunks are null.
+     */
+    public RawChunk[] readAll() throws IOException {
+        RawChunk[] chunks = new RawChunk[CHUNKS];
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 2L * SECTOR) {
+                return chunks;
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Region file too large: " + this.path);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            readFully(channel, buffer, 0);
+            for (int index = 0; index < CHUNKS; index++) {
+                int location = buffer.getInt(index * 4);
+                int sectorOffset = location >>> 8;
+                int sectorCount = location & 0xFF;
+                if (sectorOffset < 2 || sectorCount == 0 || (long) sectorOffset * SECTOR + 5 > size) {
+                    continue;
+                }
+                chunks[index] = readChunk(buffer, index, sectorOffset, sectorCount, size);
+            }
+        }
+        return chunks;
+    }
+
+    private RawChunk readChunk(ByteBuffer buffer, int index, int sectorOffset, int sectorCount, long size)
+            throws IOException {
+        int start = sectorOffset * SECTOR;
+        int length = buffer.getInt(start);
+        if (length <= 0 || length > sectorCount * SECTOR - 4 || start + 4L + length > size) {
+            throw new IOException("Corrupt chunk " + index + " in " + this.path);
+        }
+        int type = buffer.get(start + 4) & 0xFF;
+        int timestamp = buffer.getInt(SECTOR + index * 4);
+        boolean external = (type & EXTERNAL_FLAG) != 0;
+        byte[] payload;
+        if (external) {
+            payload = Files.readAllBytes(externalPath(index));
+        } else {
+            payload = new byte[length - 1];
+            buffer.get(start + 5, payload);
+        }
+        return new RawChunk(type & ~EXTERNAL_FLAG, external, payload, timestamp);
+    }
+
+    /**
+     * Writes the chunks to a temporary file next to this region, to be moved over it by
+     * {@link #commit()}. Chunks too large for the 255 sector limit are written to a temporary
+     * external {@code .mcc} file, as the game does; the live {@code .mcc} files are not touched.
+     */
+    public void writeTemp(RawChunk[] chunks) throws IOException {
+        try (FileChannel channel = FileChannel.open(tempPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(2 * SECTOR);
+            int nextSector = 2;
+            channel.position(2L * SECTOR);
+            for (int index = 0; index < CHUNKS; index++) {
+                RawChunk chunk = chunks[index];
+                if (chunk == null) {
+                    continue;
+                }
+                ByteBuffer data = encode(index, chunk);
+                int sectors = data.remaining() / SECTOR;
+                header.putInt(index * 4, nextSector << 8 | sectors);
+                header.putInt(SECTOR + index * 4, chunk.timestamp());
+                channel.write(data);
+                nextSector += sectors;
+            }
+            channel.write(header, 0);
+        }
+    }
+
+    public boolean hasTemp() {
+        return Files.exists(tempPath());
+    }
+
+    public void discardTemp() throws IOException {
+        Files.deleteIfExists(tempPath());
+        for (int index = 0; index < CHUNKS; index++) {
+            Files.deleteIfExists(temp(externalPath(index)));
+        }
+    }
+
+    /**
+     * Moves the files written by {@link #writeTemp} into place: first the external chunks,
+     * then the region, and only then deletes the external files of chunks that are stored
+     * inline again. Every step can be repeated, so a commit interrupted part way is finished
+     * by calling this again while {@link #hasTemp()} holds.
+     */
+    public void commit() throws IOException {
+        boolean[] external = readExternalFlags(tempPath());
+        for (int index = 0; index < CHUNKS; index++) {
+            Path pending = temp(externalPath(index));
+            if (external[index] && Files.exists(pending)) {
+                Files.move(pending, externalPath(index), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        Files.move(tempPath(), this.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        for (int index = 0; index < CHUNKS; index++) {
+            if (!external[index]) {
+                Files.deleteIfExists(externalPath(index));
+            }
+        }
+    }
+
+    /**
+     * Reads which chunks of a region file are stored externally, from the compression type
+     * byte in front of each chunk.
+     */
+    private static boolean[] readExternalFlags(Path file) throws IOException {
+        boolean[] external = new boolean[CHUNKS];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer locations = ByteBuffer.allocate(SECTOR);
+            readFully(channel, locations, 0);
+            ByteBuffer type = ByteBuffer.allocate(1);
+            for (int index = 0; index < CHUNKS; index++) {
+                int location = locations.getInt(index * 4);
+                if (location >>> 8 < 2 || (location & 0xFF) == 0) {
+                    continue;
+                }
+                type.clear();
+                readFully(channel, type, (long) (location >>> 8) * SECTOR + 4);
+                external[index] = (type.get(0) & EXTERNAL_FLAG) != 0;
+            }
+        }
+        return external;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated region file");
+            }
+        }
+    }
+
+    private Path tempPath() {
+        return temp(this.path);
+    }
+
+    private static Path temp(Path file) {
+        return file.resolveSibling(file.getFileName() + ".oxify-tmp");
+    }
+
+    private ByteBuffer encode(int index, RawChunk chunk) throws IOException {
+        byte[] payload = chunk.payload();
+        int sectors = (payload.length + 5 + SECTOR - 1) / SECTOR;
+        boolean external = sectors > MAX_SECTORS;
+        if (external) {
+            Files.write(temp(externalPath(index)), payload);
+        }
+
+        int bodyLength = external ? 1 : payload.length + 1;
+        int padded = (4 + bodyLength + SECTOR - 1) / SECTOR * SECTOR;
+        ByteBuffer data = ByteBuffer.allocate(padded);
+        data.putInt(bodyLength);
+        data.put((byte) (external ? chunk.compressionId() | EXTERNAL_FLAG : chunk.compressionId()));
+        if (!external) {
+            data.put(payload);
+        }
+        data.position(0);
+        return data;
+    }
+
+    private Path externalPath(int index) {
+        return this.path.resolveSibling("c." + chunkX(index) + "." + chunkZ(index) + ".mcc");
+    }
+}
@@ -0,0 +1,162 @@
+package com.codinn.oxify.offline;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+import com.codinn.oxify.offline.nbt.NbtCompound;
+import com.codinn.oxify.offline.nbt.NbtIo;
+import com.codinn.oxify.offline.nbt.NbtList;
+
+class PalettedBlockStatesTest {
+
+    private static final UnaryOperator<String> WEATHER = Map.of(
+        "minecraft:copper_block", "minecraft:exposed_copper",
+        "minecraft:weathered_copper", "minecraft:oxidized_copper",
+        "minecraft:weathered_cut_copper_stairs", "minecraft:oxidized_cut_copper_stairs")::get;
+
+    private static NbtCompound entry(String name) {
+        NbtCompound entry = new NbtCompound();
+        entry.put("Name", name);
+        return entry;
+    }
+
+    private static NbtCompound blockStates(int[] values, int bits, NbtCompound... palette) {
+        NbtList list = new NbtList(NbtIo.COMPOUND);
+        list.addAll(List.of(palette));
+        NbtCompound blockStates = new NbtCompound();
+        blockStates.put("palette", list);
+        if (values != null) {
+            int perLong = Long.SIZE / bits;
+            long[] data = new long[(values.length + perLong - 1) / perLong];
+            for (int i = 0; i < values.length; i++) {
+                data[i / perLong] |= (long) values[i] << (i % perLong) * bits;
+            }
+            blockStates.put("data", data);
+        }
+        return blockStates;
+    }
+
+    private static int[] sectionOf(int paletteSize) {
+        int[] values = new int[PalettedBlockStates.SECTION_SIZE];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % paletteSize;
+        }
+        return values;
+    }
+
+    private static String nameAt(NbtCompound blockStates, int index) {
+        NbtList palette = blockStates.getList("palette");
+        long[] data = blockStates.getLongArray("data");
+        if (data == null) {
+            return palette.getCompound(0).getString("Name");
+        }
+        int bits = 1;
+        while ((PalettedBlockStates.SECTION_SIZE + Long.SIZE / bits - 1) / (Long.SIZE / bits) != data.length) {
+            bits++;
+        }
+        int perLong = Long.SIZE / bits;
+        int value = (int) (data[index / perLong] >>> (index % perLong) * bits & (1L << bits) - 1);
+        return palette.getCompound(value).getString("Name");
+    }
+
+    @Test
+    void renamesEntriesAndKeepsTheirProperties() {
+        NbtCompound stairs = entry("minecraft:weathered_cut_copper_stairs");
+        NbtCompound properties = new NbtCompound();
+        properties.put("facing", "north");
+        stairs.put("Properties", properties);
+        int[] values = new int[PalettedBlockStates.SECTION_SIZE];
+        for (int i = 0; i < 10; i++) {
+            values[i] = 1;
+        }
+        NbtCompound blockStates = blockStates(values, 4, entry("minecraft:air"), stairs);
+        long[] data = blockStates.getLongArray("data");
+
+        assertEquals(10, PalettedBlockStates.remap(blockStates, WEATHER));
+
+        NbtCompound renamed = blockStates.getList("palette").getCompound(1);
+        assertEquals("minecraft:oxidized_cut_copper_stairs", renamed.getString("Name"));
+        assertEquals(properties, renamed.getCompound("Properties"));
+        assertEquals("minecraft:weathered_cut_copper_stairs", stairs.getString("Name"));
+        assertSame(data, blockStates.getLongArray("data"));
+    }
+
+    @Test
+    void leavesSectionsWithoutCopperAlone() {
+        NbtCompound blockStates = blockStates(sectionOf(2), 4, entry("minecraft:air"), entry("minecraft:stone"));
+        NbtList palette = blockStates.getList("palette");
+
+        assertEquals(0, PalettedBlockStates.remap(blockStates, WEATHER));
+        assertSame(palette, blockStates.getList("palette"));
+    }
+
+    @Test
+    void repacksEntriesThatCollapse() {
+        NbtCompound blockStates = blockStates(sectionOf(4), 4, entry("minecraft:air"),
+            entry("minecraft:weathered_copper"), entry("minecraft:oxidized_copper"), entry("minecraft:stone"));
+
+        assertEquals(1024, PalettedBlockStates.remap(blockStates, WEATHER));
+
+        assertEquals(3, blockStates.getList("palette").size());
+        assertArrayEquals(new int[] {1024, 2048, 1024}, PalettedBlockStates.histogram(blockStates));
+        for (int i = 0; i < PalettedBlockStates.SECTION_SIZE; i++) {
+            String expected = switch (i % 4) {
+                case 0 -> "minecraft:air";
+                case 3 -> "minecraft:stone";
+                default -> "minecraft:oxidized_copper";
+            };
+            assertEquals(expected, nameAt(blockStates, i), "index " + i);
+        }
+    }
+
+    @Test
+    void narrowsTheDataWhenThePaletteShrinksBelowItsWidth() {
+        NbtCompound[] palette = new NbtCompound[17];
+        for (int i = 0; i < 15; i++) {
+            palette[i] = entry("minecraft:block_" + i);
+        }
+        palette[15] = entry("minecraft:weathered_copper");
+        palette[16] = entry("minecraft:oxidized_copper");
+        NbtCompound blockStates = blockStates(sectionOf(17), 5, palette);
+
+        PalettedBlockStates.remap(blockStates, WEATHER);
+
+        assertEquals(16, blockStates.getList("palette").size());
+        assertEquals(256, blockStates.getLongArray("data").length);
+        for (int i = 0; i < PalettedBlockStates.SECTION_SIZE; i++) {
+            String expected = i % 17 < 15 ? "minecraft:block_" + i % 17 : "minecraft:oxidized_copper";
+            assertEquals(expected, nameAt(blockStates, i), "index " + i);
+        }
+    }
+
+    @Test
+    void dropsTheDataWhenOneEntryRemains() {
+        NbtCompound blockStates = blockStates(sectionOf(2), 4, entry("minecraft:weathered_copper"),
+            entry("minecraft:oxidized_copper"));
+
+        assertEquals(2048, PalettedBlockStates.remap(blockStates, WEATHER));
+
+        assertEquals(1, blockStates.getList("palette").size());
+        assertFalse(blockStates.containsKey("data"));
+        assertEquals("minecraft:oxidized_copper", nameAt(blockStates, 0));
+    }
+
+    @Test
+    void countsTheWholeSectionForASingleEntryPalette() {
+        NbtCompound blockStates = blockStates(null, 0, entry("minecraft:copper_block"));
+
+        assertEquals(PalettedBlockStates.SECTION_SIZE, PalettedBlockStates.remap(blockStates, WEATHER));
+
+        assertEquals("minecraft:exposed_copper", nameAt(blockStates, 0));
+        assertNull(blockStates.getLongArray("data"));
+    }
+}
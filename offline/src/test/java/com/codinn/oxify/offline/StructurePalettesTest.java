@@ -0,0 +1,142 @@
+package com.codinn.oxify.offline;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import org.junit.jupiter.api.Test;
+
+import com.codinn.oxify.offline.nbt.NbtCompound;
+import com.codinn.oxify.offline.nbt.NbtIo;
+import com.codinn.oxify.offline.nbt.NbtList;
+
+class StructurePalettesTest {
+
+    private static final UnaryOperator<String> WEATHER = Map.of(
+        "minecraft:copper_door", "minecraft:exposed_copper_door",
+        "minecraft:weathered_copper", "minecraft:oxidized_copper")::get;
+
+    private static NbtCompound entry(String name) {
+        NbtCompound entry = new NbtCompound();
+        entry.put("Name", name);
+        return entry;
+    }
+
+    private static NbtList palette(String... names) {
+        NbtList palette = new NbtList(NbtIo.COMPOUND);
+        for (String name : names) {
+            palette.add(entry(name));
+        }
+        return palette;
+    }
+
+    private static NbtCompound spongePalette(String... states) {
+        NbtCompound palette = new NbtCompound();
+        for (int i = 0; i < states.length; i++) {
+            palette.put(states[i], i);
+        }
+        return palette;
+    }
+
+    @Test
+    void renamesTemplateEntriesInPlace() {
+        NbtCompound root = new NbtCompound();
+        root.put("palette", palette("minecraft:stone", "minecraft:weathered_copper", "minecraft:oxidized_copper"));
+
+        assertEquals(1, StructurePalettes.remap(root, WEATHER));
+
+        NbtList palette = root.getList("palette");
+        assertEquals(3, palette.size());
+        assertEquals("minecraft:oxidized_copper", palette.getCompound(1).getString("Name"));
+        assertEquals("minecraft:oxidized_copper", palette.getCompound(2).getString("Name"));
+    }
+
+    @Test
+    void renamesEveryTemplatePalette() {
+        NbtList palettes = new NbtList(NbtIo.LIST);
+        palettes.add(palette("minecraft:weathered_copper"));
+        palettes.add(palette("minecraft:copper_door", "minecraft:stone"));
+        NbtCompound root = new NbtCompound();
+        root.put("palettes", palettes);
+
+        assertEquals(2, StructurePalettes.remap(root, WEATHER));
+        assertEquals("minecraft:exposed_copper_door",
+            ((NbtList) palettes.get(1)).getCompound(0).getString("Name"));
+    }
+
+    @Test
+    void reindexesSpongeV2DataWhenEntriesCollapse() {
+        NbtCompound root = new NbtCompound();
+        root.put("Palette", spongePalette("minecraft:air", "minecraft:oxidized_copper", "minecraft:weathered_copper",
+            "minecraft:stone"));
+        root.put("PaletteMax", 4);
+        root.put("BlockData", new byte[] {0, 1, 2, 3, 2});
+
+        assertEquals(1, StructurePalettes.remap(root, WEATHER));
+
+        assertEquals(Map.of("minecraft:air", 0, "minecraft:oxidized_copper", 1, "minecraft:stone", 2),
+            root.getCompound("Palette"));
+        assertEquals(3, root.getInt("PaletteMax", 0));
+        assertArrayEquals(new byte[] {0, 1, 1, 2, 1}, (byte[]) root.get("BlockData"));
+    }
+
+    @Test
+    void keepsSpongeDataWhenNoEntriesCollapse() {
+        byte[] data = {0, 1, 0};
+        NbtCompound root = new NbtCompound();
+        root.put("Palette", spongePalette("minecraft:air", "minecraft:copper_door[facing=north,half=lower]"));
+        root.put("PaletteMax", 2);
+        root.put("BlockData", data);
+
+        assertEquals(1, StructurePalettes.remap(root, WEATHER));
+
+        assertEquals(List.of("minecraft:air", "minecraft:exposed_copper_door[facing=north,half=lower]"),
+            List.copyOf(root.getCompound("Palette").keySet()));
+        assertSame(data, root.get("BlockData"));
+    }
+
+    @Test
+    void reindexesSpongeV3VarintData() {
+        String[] states = new String[200];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = "minecraft:block_" + i;
+        }
+        states[0] = "minecraft:weathered_copper";
+        states[150] = "minecraft:oxidized_copper";
+        states[199] = "minecraft:copper_door[half=upper]";
+        NbtCompound blocks = new NbtCompound();
+        blocks.put("Palette", spongePalette(states));
+        // 150 and 199 take two bytes each as varints.
+        blocks.put("Data", new byte[] {0, (byte) 0x96, 0x01, (byte) 0xC7, 0x01, 5});
+        NbtCompound schematic = new NbtCompound();
+        schematic.put("Blocks", blocks);
+        NbtCompound root = new NbtCompound();
+        root.put("Schematic", schematic);
+
+        assertEquals(2, StructurePalettes.remap(root, WEATHER));
+
+        NbtCompound palette = blocks.getCompound("Palette");
+        assertEquals(199, palette.size());
+        assertEquals(0, palette.get("minecraft:oxidized_copper"));
+        assertEquals(198, palette.get("minecraft:exposed_copper_door[half=upper]"));
+        assertEquals(5, palette.get("minecraft:block_5"));
+        assertEquals(150, palette.get("minecraft:block_151"));
+        assertArrayEquals(new byte[] {0, 0, (byte) 0xC6, 0x01, 5}, (byte[]) blocks.get("Data"));
+    }
+
+    @Test
+    void rejectsUnknownFormats() {
+        assertEquals(-1, StructurePalettes.remap(new NbtCompound(), WEATHER));
+    }
+
+    @Test
+    void renamesOnlyTheIdOfAState() {
+        assertEquals("minecraft:exposed_copper_door[facing=east]",
+            StructurePalettes.renameState("minecraft:copper_door[facing=east]", WEATHER));
+        assertEquals("minecraft:stone[x=1]", StructurePalettes.renameState("minecraft:stone[x=1]", WEATHER));
+    }
+}
@@ -0,0 +1,119 @@
+package com.codinn.oxify.offline.region;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RegionFileTest {
+
+    private static final int ZLIB = 2;
+    private static final int LZ4 = 4;
+    private static final int EXTERNAL_SIZE = 255 * 4096;
+
+    @TempDir
+    Path directory;
+
+    private static byte[] payload(int length, long seed) {
+        byte[] payload = new byte[length];
+        new Random(seed).nextBytes(payload);
+        return payload;
+    }
+
+    private RegionFile write(RawChunk[] chunks) throws IOException {
+        RegionFile region = new RegionFile(this.directory.resolve("r.-1.2.mca"));
+        region.writeTemp(chunks);
+        region.commit();
+        return region;
+    }
+
+    @Test
+    void readsBackWhatWasWritten() throws IOException {
+        RawChunk[] chunks = new RawChunk[RegionFile.CHUNKS];
+        chunks[0] = new RawChunk(ZLIB, false, payload(100, 1), 11);
+        chunks[37] = new RawChunk(LZ4, false, payload(4091, 2), 22);
+        chunks[1023] = new RawChunk(ZLIB, false, payload(20_000, 3), 33);
+
+        RawChunk[] read = write(chunks).readAll();
+        for (int index = 0; index < RegionFile.CHUNKS; index++) {
+            if (chunks[index] == null) {
+                assertNull(read[index]);
+                continue;
+            }
+            assertEquals(chunks[index].compressionId(), read[index].compressionId());
+            assertEquals(chunks[index].timestamp(), read[index].timestamp());
+            assertFalse(read[index].external());
+            assertArrayEquals(chunks[index].payload(), read[index].payload());
+        }
+    }
+
+    @Test
+    void storesOversizedChunksExternally() throws IOException {
+        RawChunk[] chunks = new RawChunk[RegionFile.CHUNKS];
+        chunks[33] = new RawChunk(ZLIB, false, payload(EXTERNAL_SIZE, 4), 44);
+        RegionFile region = new RegionFile(this.directory.resolve("r.-1.2.mca"));
+        Path external = this.directory.resolve("c." + region.chunkX(33) + "." + region.chunkZ(33) + ".mcc");
+
+        region.writeTemp(chunks);
+        assertFalse(Files.exists(external));
+        region.commit();
+
+        assertTrue(Files.exists(external));
+        RawChunk read = region.readAll()[33];
+        assertTrue(read.external());
+        assertEquals(ZLIB, read.compressionId());
+        assertEquals(44, read.timestamp());
+        assertArrayEquals(chunks[33].payload(), read.payload());
+    }
+
+    @Test
+    void deletesExternalFilesOfChunksStoredInlineAgain() throws IOException {
+        RawChunk[] chunks = new RawChunk[RegionFile.CHUNKS];
+        chunks[5] = new RawChunk(ZLIB, false, payload(EXTERNAL_SIZE, 5), 55);
+        RegionFile region = write(chunks);
+        Path external = this.directory.resolve("c." + region.chunkX(5) + "." + region.chunkZ(5) + ".mcc");
+        assertTrue(Files.exists(external));
+
+        chunks[5] = chunks[5].withPayload(payload(64, 6), 66);
+        region.writeTemp(chunks);
+        assertTrue(Files.exists(external));
+        region.commit();
+
+        assertFalse(Files.exists(external));
+        RawChunk read = region.readAll()[5];
+        assertFalse(read.external());
+        assertArrayEquals(chunks[5].payload(), read.payload());
+    }
+
+    @Test
+    void discardingTheTempKeepsTheRegion() throws IOException {
+        RawChunk[] chunks = new RawChunk[RegionFile.CHUNKS];
+        chunks[1] = new RawChunk(ZLIB, false, payload(10, 7), 77);
+        RegionFile region = write(chunks);
+        byte[] committed = Files.readAllBytes(region.path());
+
+        RawChunk[] rewritten = Arrays.copyOf(chunks, chunks.length);
+        rewritten[1] = chunks[1].withPayload(payload(EXTERNAL_SIZE, 8), 88);
+        region.writeTemp(rewritten);
+        assertTrue(region.hasTemp());
+        region.discardTemp();
+
+        assertFalse(region.hasTemp());
+        assertArrayEquals(committed, Files.readAllBytes(region.path()));
+        try (Stream<Path> files = Files.list(this.directory)) {
+            assertEquals(1, files.count());
+        }
+        assertArrayEquals(chunks[1].payload(), region.readAll()[1].payload());
+    }
+}
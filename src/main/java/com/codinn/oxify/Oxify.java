@@ -1,9 +1,25 @@
 package com.codinn.oxify;
 
+import com.codinn.oxify.command.OxifyCommands;
+import com.codinn.oxify.item.custom.OxidizerDispenserBehavior;
+import com.codinn.oxify.network.OxifyNetworking;
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.chain.OxidationChainExport;
+import com.codinn.oxify.oxidation.index.SectionIndexes;
+import com.codinn.oxify.oxidation.job.OxidationScheduler;
+import com.codinn.oxify.oxidation.journal.OxidationJournal;
+import com.codinn.oxify.oxidation.undo.UndoHistory;
+import com.codinn.oxify.oxidation.wave.OxidationWaves;
+import com.codinn.oxify.oxidation.weathering.LazyAging;
+import com.codinn.oxify.recipe.OxidationRecipeIndex;
+
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.itemgroup.v1.FabricItemGroup;
 import net.fabricmc.fabric.api.itemgroup.v1.FabricItemGroupEntries;
 import net.fabricmc.fabric.api.itemgroup.v1.ItemGroupEvents;
+import net.minecraft.block.Block;
 import net.minecraft.enchantment.Enchantment;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemGroup;
@@ -28,6 +44,10 @@ public class Oxify implements ModInitializer {
 	public static final TagKey<Enchantment> OXIDIZER_ENCHANTMENTS_TAG = TagKey.of(
 		RegistryKeys.ENCHANTMENT, 
 		Identifier.of(MOD_ID, "oxidizer_enchantments"));
+
+	public static final TagKey<Block> OXIDIZER_IMMUNE_TAG = TagKey.of(
+		RegistryKeys.BLOCK, 
+		Identifier.of(MOD_ID, "oxidizer_immune"));
 	
 	public static final ItemGroup OXIFY_GROUP = registerItemGroup(
 		"oxify",  
@@ -37,6 +57,8 @@ public class Oxify implements ModInitializer {
 			.icon(() -> new ItemStack(OxifyItems.OXIDIZER))
 			.entries((displayContext, entries) -> {
 				entries.add(OxifyItems.OXIDIZER);
+				entries.add(OxifyBlocks.OXIDIZER_MACHINE);
+				entries.add(OxifyBlocks.OXIDATION_VAT);
 				entries.add(Items.AMETHYST_SHARD);
 				entries.add(Items.COPPER_INGOT);
 				entries.add(Items.STICK);
@@ -45,17 +67,40 @@ public class Oxify implements ModInitializer {
 
 	@Override
 	public void onInitialize() {
+		OxifyConfig.load();
 		registerItems();
+		OxifyAttachments.initialize();
+		registerOxidationTable();
+		SectionIndexes.initialize();
+		OxidationChainExport.initialize();
+		UndoHistory.initialize();
+		OxidationJournal.initialize();
+		LazyAging.initialize();
+		OxidationRecipeIndex.initialize();
+		OxifyNetworking.initialize();
+		OxidationScheduler.initialize();
+		OxidationWaves.initialize();
+		OxifyCommands.initialize();
 	}
 
 	private static void registerItems() {
 		LOGGER.info("Registering items");
+		OxifyComponents.initialize();
 		OxifyItems.initialize();
+		OxidizerDispenserBehavior.register(OxifyItems.OXIDIZER);
+		OxifyBlocks.initialize();
+		OxifyBlockEntities.initialize();
+		OxifyRecipes.initialize();
 		ItemGroupEvents
 			.modifyEntriesEvent(ItemGroups.TOOLS)
 			.register(Oxify::addItemsToGroup);
 	}
 
+	private static void registerOxidationTable() {
+		ServerLifecycleEvents.SERVER_STARTING.register(server -> OxidationTable.rebuild());
+		CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> OxidationTable.rebuild());
+	}
+
 	private static ItemGroup registerItemGroup(String path, ItemGroup group) {
 		Identifier id = Identifier.of(MOD_ID, path);
 		LOGGER.info("Registering item group: " + path + " with id: " + id.toString());
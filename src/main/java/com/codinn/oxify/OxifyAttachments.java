@@ -0,0 +1,37 @@
+package com.codinn.oxify;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codinn.oxify.oxidation.lock.ChunkLocks;
+import com.mojang.serialization.Codec;
+
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.minecraft.util.Identifier;
+
+public final class OxifyAttachments {
+
+    public static final Logger LOGGER = LoggerFactory.getLogger(Oxify.MOD_ID);
+
+    public OxifyAttachments() {}
+
+    public static void initialize() {
+    }
+
+    /**
+     * Ticks a chunk has been random-ticked since its copper was last aged.
+     */
+    public static final AttachmentType<Long> AGING_TICKS = register("aging_ticks", Codec.LONG);
+
+    /**
+     * Positions of a chunk excluded from natural weathering.
+     */
+    public static final AttachmentType<ChunkLocks> LOCKS = register("locks", ChunkLocks.CODEC);
+
+    public static <T> AttachmentType<T> register(String path, Codec<T> codec) {
+        Identifier id = Identifier.of(Oxify.MOD_ID, path);
+        LOGGER.info("Registering attachment: " + path + " with id: " + id.toString());
+        return AttachmentRegistry.<T>builder().persistent(codec).buildAndRegister(id);
+    }
+}
@@ -0,0 +1,40 @@
+package com.codinn.oxify;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codinn.oxify.block.entity.OxidationVatBlockEntity;
+import com.codinn.oxify.block.entity.OxidizerMachineBlockEntity;
+
+import net.fabricmc.fabric.api.object.builder.v1.block.entity.FabricBlockEntityTypeBuilder;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemStorage;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.util.Identifier;
+
+public final class OxifyBlockEntities {
+
+    public static final Logger LOGGER = LoggerFactory.getLogger(Oxify.MOD_ID);
+
+    public OxifyBlockEntities() {}
+
+    public static void initialize() {
+        ItemStorage.SIDED.registerForBlockEntity((vat, direction) -> vat.getStorage(), OXIDATION_VAT);
+    }
+
+    public static final BlockEntityType<OxidizerMachineBlockEntity> OXIDIZER_MACHINE = register(
+        "oxidizer_machine",
+        FabricBlockEntityTypeBuilder.create(OxidizerMachineBlockEntity::new, OxifyBlocks.OXIDIZER_MACHINE).build());
+
+    public static final BlockEntityType<OxidationVatBlockEntity> OXIDATION_VAT = register(
+        "oxidation_vat",
+        FabricBlockEntityTypeBuilder.create(OxidationVatBlockEntity::new, OxifyBlocks.OXIDATION_VAT).build());
+
+    public static <T extends BlockEntityType<?>> T register(String path, T type) {
+
+        Identifier id = Identifier.of(Oxify.MOD_ID, path);
+        LOGGER.info("Registering block entity: " + path + " with id: " + id.toString());
+        return Registry.register(Registries.BLOCK_ENTITY_TYPE, id, type);
+    }
+}
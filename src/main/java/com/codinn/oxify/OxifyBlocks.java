@@ -0,0 +1,59 @@
+package com.codinn.oxify;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codinn.oxify.block.custom.OxidationVatBlock;
+import com.codinn.oxify.block.custom.OxidizerMachineBlock;
+
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.MapColor;
+import net.minecraft.item.Items;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.sound.BlockSoundGroup;
+import net.minecraft.util.Identifier;
+import java.util.function.Function;
+
+public final class OxifyBlocks {
+
+    public static final Logger LOGGER = LoggerFactory.getLogger(Oxify.MOD_ID);
+
+    public OxifyBlocks() {}
+
+    public static void initialize() {
+    }
+
+    public static final Block OXIDIZER_MACHINE = register(
+        "oxidizer_machine",
+        OxidizerMachineBlock::new,
+        AbstractBlock.Settings.create()
+            .mapColor(MapColor.ORANGE)
+            .strength(3.0F, 6.0F)
+            .requiresTool()
+            .sounds(BlockSoundGroup.COPPER));
+
+    public static final Block OXIDATION_VAT = register(
+        "oxidation_vat",
+        OxidationVatBlock::new,
+        AbstractBlock.Settings.create()
+            .mapColor(MapColor.ORANGE)
+            .strength(3.0F, 6.0F)
+            .requiresTool()
+            .sounds(BlockSoundGroup.COPPER));
+
+    /**
+     * Registers a block together with its block item.
+     */
+    public static Block register(String path, Function<AbstractBlock.Settings, Block> factory, AbstractBlock.Settings settings) {
+
+        Identifier id = Identifier.of(Oxify.MOD_ID, path);
+        LOGGER.info("Registering block: " + path + " with id: " + id.toString());
+        final RegistryKey<Block> registryKey = RegistryKey.of(RegistryKeys.BLOCK, id);
+        Block block = Blocks.register(registryKey, factory, settings);
+        Items.register(block);
+        return block;
+    }
+}
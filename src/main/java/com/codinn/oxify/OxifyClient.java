@@ -1,9 +1,33 @@
 package com.codinn.oxify;
 
+import com.codinn.oxify.network.ScrapeParticlesPayload;
+
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.minecraft.client.world.ClientWorld;
+import net.minecraft.particle.ParticleTypes;
+import net.minecraft.particle.ParticleUtil;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.intprovider.UniformIntProvider;
 
 public class OxifyClient implements ClientModInitializer {
+
+	private static final UniformIntProvider SCRAPE_PARTICLE_COUNT = UniformIntProvider.create(3, 5);
+
 	@Override
 	public void onInitializeClient() {
+		ClientPlayNetworking.registerGlobalReceiver(ScrapeParticlesPayload.ID, (payload, context) -> {
+			ClientWorld world = context.client().world;
+			if (world != null) {
+				spawnScrapeParticles(world, payload);
+			}
+		});
+	}
+
+	private static void spawnScrapeParticles(ClientWorld world, ScrapeParticlesPayload payload) {
+		BlockPos.Mutable pos = new BlockPos.Mutable();
+		for (long position : payload.positions()) {
+			ParticleUtil.spawnParticle(world, pos.set(position), ParticleTypes.SCRAPE, SCRAPE_PARTICLE_COUNT);
+		}
 	}
-}
\ No newline at end of file
+}
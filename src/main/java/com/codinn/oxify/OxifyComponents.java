@@ -0,0 +1,35 @@
+package com.codinn.oxify;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codinn.oxify.oxidation.area.OxidizerArea;
+
+import net.minecraft.component.ComponentType;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.util.Identifier;
+import java.util.function.UnaryOperator;
+
+public final class OxifyComponents {
+
+    public static final Logger LOGGER = LoggerFactory.getLogger(Oxify.MOD_ID);
+
+    public OxifyComponents() {}
+
+    public static void initialize() {
+    }
+
+    public static final ComponentType<OxidizerArea> OXIDIZER_AREA = register(
+        "oxidizer_area",
+        builder -> builder
+            .codec(OxidizerArea.CODEC)
+            .packetCodec(OxidizerArea.PACKET_CODEC));
+
+    public static <T> ComponentType<T> register(String path, UnaryOperator<ComponentType.Builder<T>> builderOperator) {
+
+        Identifier id = Identifier.of(Oxify.MOD_ID, path);
+        LOGGER.info("Registering component: " + path + " with id: " + id.toString());
+        return Registry.register(Registries.DATA_COMPONENT_TYPE, id, builderOperator.apply(ComponentType.builder()).build());
+    }
+}
@@ -0,0 +1,114 @@
+package com.codinn.oxify;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import net.fabricmc.loader.api.FabricLoader;
+
+public final class OxifyConfig {
+
+    public static final Logger LOGGER = LoggerFactory.getLogger(Oxify.MOD_ID);
+
+    private static final Path PATH = FabricLoader.getInstance().getConfigDir().resolve(Oxify.MOD_ID + ".properties");
+
+    public static double jobBudgetMillis = 2.0;
+    public static boolean jobsAdaptive = true;
+    public static double jobsTargetMspt = 40.0;
+    public static double jobsMinBudgetMillis = 0.25;
+    public static double jobsMaxBudgetMillis = 10.0;
+    public static double jobsBudgetStepMillis = 0.25;
+    public static int plannerThreads = 0;
+    public static int undoMemoryEntries = 4;
+    public static int undoMaxEntries = 32;
+    public static boolean journalEnabled = true;
+    public static int journalCapacity = 1 << 20;
+    public static boolean agingLazy = false;
+    public static int agingSweepIntervalTicks = 6000;
+    public static int agingChunksPerTick = 4;
+    public static boolean agingIndexedNeighbors = true;
+    public static int machineRadius = 8;
+    public static int machinePositionsPerTick = 256;
+    public static int machineSleepTicks = 600;
+    public static int vatCapacity = 4096;
+
+    public OxifyConfig() {}
+
+    public static void load() {
+        Properties properties = new Properties();
+        if (Files.exists(PATH)) {
+            try (Reader reader = Files.newBufferedReader(PATH)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                LOGGER.error("Could not read config " + PATH, e);
+            }
+        }
+
+        jobBudgetMillis = getDouble(properties, "jobs.budget_millis", jobBudgetMillis);
+        jobsAdaptive = getBoolean(properties, "jobs.adaptive", jobsAdaptive);
+        jobsTargetMspt = getDouble(properties, "jobs.target_mspt", jobsTargetMspt);
+        jobsMinBudgetMillis = getDouble(properties, "jobs.min_budget_millis", jobsMinBudgetMillis);
+        jobsMaxBudgetMillis = getDouble(properties, "jobs.max_budget_millis", jobsMaxBudgetMillis);
+        jobsBudgetStepMillis = getDouble(properties, "jobs.budget_step_millis", jobsBudgetStepMillis);
+        plannerThreads = getInt(properties, "planner.threads", plannerThreads);
+        undoMemoryEntries = getInt(properties, "undo.memory_entries", undoMemoryEntries);
+        undoMaxEntries = getInt(properties, "undo.max_entries", undoMaxEntries);
+        journalEnabled = getBoolean(properties, "journal.enabled", journalEnabled);
+        journalCapacity = getInt(properties, "journal.capacity", journalCapacity);
+        agingLazy = getBoolean(properties, "aging.lazy", agingLazy);
+        agingSweepIntervalTicks = getInt(properties, "aging.sweep_interval_ticks", agingSweepIntervalTicks);
+        agingChunksPerTick = getInt(properties, "aging.chunks_per_tick", agingChunksPerTick);
+        agingIndexedNeighbors = getBoolean(properties, "aging.indexed_neighbors", agingIndexedNeighbors);
+        machineRadius = getInt(properties, "machine.radius", machineRadius);
+        machinePositionsPerTick = getInt(properties, "machine.positions_per_tick", machinePositionsPerTick);
+        machineSleepTicks = getInt(properties, "machine.sleep_ticks", machineSleepTicks);
+        vatCapacity = getInt(properties, "vat.capacity", vatCapacity);
+
+        try (Writer writer = Files.newBufferedWriter(PATH)) {
+            properties.store(writer, "Oxify configuration");
+        } catch (IOException e) {
+            LOGGER.error("Could not write config " + PATH, e);
+        }
+    }
+
+    private static boolean getBoolean(Properties properties, String key, boolean fallback) {
+        String value = properties.getProperty(key);
+        boolean result = value != null ? Boolean.parseBoolean(value.trim()) : fallback;
+        properties.setProperty(key, Boolean.toString(result));
+        return result;
+    }
+
+    private static int getInt(Properties properties, String key, int fallback) {
+        String value = properties.getProperty(key);
+        int result = fallback;
+        if (value != null) {
+            try {
+                result = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Invalid value for " + key + ": " + value);
+            }
+        }
+        properties.setProperty(key, Integer.toString(result));
+        return result;
+    }
+
+    private static double getDouble(Properties properties, String key, double fallback) {
+        String value = properties.getProperty(key);
+        double result = fallback;
+        if (value != null) {
+            try {
+                result = Double.parseDouble(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Invalid value for " + key + ": " + value);
+            }
+        }
+        properties.setProperty(key, Double.toString(result));
+        return result;
+    }
+}
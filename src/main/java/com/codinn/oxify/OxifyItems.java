@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.codinn.oxify.item.custom.OxidizerItem;
+import com.codinn.oxify.oxidation.area.OxidizerArea;
 
 import net.minecraft.component.DataComponentTypes;
 import net.minecraft.item.Item;
@@ -26,7 +27,8 @@ public final class OxifyItems {
 		"oxidizer", 
 		OxidizerItem::new,
         new Item.Settings()
-            .maxDamage(64));
+            .maxDamage(64)
+            .component(OxifyComponents.OXIDIZER_AREA, OxidizerArea.SINGLE));
 
     public static Item register(String path, Function<Item.Settings, Item> factory, Item.Settings settings) {
         
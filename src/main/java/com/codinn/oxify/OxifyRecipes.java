@@ -0,0 +1,48 @@
+package com.codinn.oxify;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codinn.oxify.recipe.OxidationRecipe;
+
+import net.minecraft.recipe.Recipe;
+import net.minecraft.recipe.RecipeSerializer;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.util.Identifier;
+
+public final class OxifyRecipes {
+
+    public static final Logger LOGGER = LoggerFactory.getLogger(Oxify.MOD_ID);
+
+    public OxifyRecipes() {}
+
+    public static void initialize() {
+    }
+
+    public static final RecipeType<OxidationRecipe> OXIDATION = registerType("oxidation");
+
+    public static final RecipeSerializer<OxidationRecipe> OXIDATION_SERIALIZER = registerSerializer(
+        "oxidation",
+        new OxidationRecipe.Serializer());
+
+    public static <T extends Recipe<?>> RecipeType<T> registerType(String path) {
+
+        Identifier id = Identifier.of(Oxify.MOD_ID, path);
+        LOGGER.info("Registering recipe type: " + path + " with id: " + id.toString());
+        return Registry.register(Registries.RECIPE_TYPE, id, new RecipeType<T>() {
+            @Override
+            public String toString() {
+                return id.toString();
+            }
+        });
+    }
+
+    public static <T extends RecipeSerializer<?>> T registerSerializer(String path, T serializer) {
+
+        Identifier id = Identifier.of(Oxify.MOD_ID, path);
+        LOGGER.info("Registering recipe serializer: " + path + " with id: " + id.toString());
+        return Registry.register(Registries.RECIPE_SERIALIZER, id, serializer);
+    }
+}
@@ -0,0 +1,74 @@
+package com.codinn.oxify.block.custom;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.OxifyBlockEntities;
+import com.codinn.oxify.block.entity.OxidationVatBlockEntity;
+import com.mojang.serialization.MapCodec;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockRenderType;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.BlockWithEntity;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityTicker;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.state.StateManager;
+import net.minecraft.state.property.BooleanProperty;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Block that weathers copper items piped into it. Its block entity only ticks while
+ * {@link #ACTIVE}, which is set when items arrive or output space frees up, and cleared
+ * once the vat has sat idle for a short while.
+ */
+public class OxidationVatBlock extends BlockWithEntity {
+
+    public static final MapCodec<OxidationVatBlock> CODEC = createCodec(OxidationVatBlock::new);
+    public static final BooleanProperty ACTIVE = OxidizerMachineBlock.ACTIVE;
+
+    public OxidationVatBlock(Settings settings) {
+        super(settings);
+        setDefaultState(getDefaultState().with(ACTIVE, false));
+    }
+
+    @Override
+    protected MapCodec<? extends BlockWithEntity> getCodec() {
+        return CODEC;
+    }
+
+    @Override
+    protected void appendProperties(StateManager.Builder<Block, BlockState> builder) {
+        builder.add(ACTIVE);
+    }
+
+    @Override
+    protected BlockRenderType getRenderType(BlockState state) {
+        return BlockRenderType.MODEL;
+    }
+
+    @Override
+    protected void onStateReplaced(BlockState state, World world, BlockPos pos, BlockState newState, boolean moved) {
+        if (!state.isOf(newState.getBlock()) && world.getBlockEntity(pos) instanceof OxidationVatBlockEntity vat) {
+            vat.dropContents(world, pos);
+        }
+        super.onStateReplaced(state, world, pos, newState, moved);
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity createBlockEntity(BlockPos pos, BlockState state) {
+        return new OxidationVatBlockEntity(pos, state);
+    }
+
+    @Nullable
+    @Override
+    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(World world, BlockState state,
+            BlockEntityType<T> type) {
+        if (world.isClient || !state.get(ACTIVE)) {
+            return null;
+        }
+        return validateTicker(type, OxifyBlockEntities.OXIDATION_VAT, OxidationVatBlockEntity::tick);
+    }
+}
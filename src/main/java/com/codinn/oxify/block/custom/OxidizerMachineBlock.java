@@ -0,0 +1,98 @@
+package com.codinn.oxify.block.custom;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.OxifyBlockEntities;
+import com.codinn.oxify.block.entity.OxidizerMachineBlockEntity;
+import com.mojang.serialization.MapCodec;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockRenderType;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.BlockWithEntity;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityTicker;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.item.ItemPlacementContext;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.state.StateManager;
+import net.minecraft.state.property.BooleanProperty;
+import net.minecraft.state.property.Properties;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
+import net.minecraft.world.World;
+import net.minecraft.world.block.WireOrientation;
+
+/**
+ * Redstone-powered block that steadily oxidizes the copper around it. While powered and
+ * {@link #ACTIVE} its block entity ticks; once a full pass over its area changes nothing it
+ * clears {@link #ACTIVE}, which removes the ticker, and checks back after a while through a
+ * scheduled tick.
+ */
+public class OxidizerMachineBlock extends BlockWithEntity {
+
+    public static final MapCodec<OxidizerMachineBlock> CODEC = createCodec(OxidizerMachineBlock::new);
+    public static final BooleanProperty ACTIVE = BooleanProperty.of("active");
+    public static final BooleanProperty POWERED = Properties.POWERED;
+
+    public OxidizerMachineBlock(Settings settings) {
+        super(settings);
+        setDefaultState(getDefaultState().with(ACTIVE, false).with(POWERED, false));
+    }
+
+    @Override
+    protected MapCodec<? extends BlockWithEntity> getCodec() {
+        return CODEC;
+    }
+
+    @Override
+    protected void appendProperties(StateManager.Builder<Block, BlockState> builder) {
+        builder.add(ACTIVE, POWERED);
+    }
+
+    @Override
+    public BlockState getPlacementState(ItemPlacementContext context) {
+        boolean powered = context.getWorld().isReceivingRedstonePower(context.getBlockPos());
+        return getDefaultState().with(POWERED, powered).with(ACTIVE, powered);
+    }
+
+    @Override
+    protected BlockRenderType getRenderType(BlockState state) {
+        return BlockRenderType.MODEL;
+    }
+
+    @Override
+    protected void neighborUpdate(BlockState state, World world, BlockPos pos, Block sourceBlock,
+            @Nullable WireOrientation wireOrientation, boolean notify) {
+        if (world.isClient) {
+            return;
+        }
+        boolean powered = world.isReceivingRedstonePower(pos);
+        if (powered != state.get(POWERED)) {
+            world.setBlockState(pos, state.with(POWERED, powered).with(ACTIVE, powered), Block.NOTIFY_LISTENERS);
+        }
+    }
+
+    @Override
+    protected void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
+        if (state.get(POWERED) && !state.get(ACTIVE)) {
+            world.setBlockState(pos, state.with(ACTIVE, true), Block.NOTIFY_LISTENERS);
+        }
+    }
+
+    @Nullable
+    @Override
+    public BlockEntity createBlockEntity(BlockPos pos, BlockState state) {
+        return new OxidizerMachineBlockEntity(pos, state);
+    }
+
+    @Nullable
+    @Override
+    public <T extends BlockEntity> BlockEntityTicker<T> getTicker(World world, BlockState state,
+            BlockEntityType<T> type) {
+        if (world.isClient || !state.get(ACTIVE)) {
+            return null;
+        }
+        return validateTicker(type, OxifyBlockEntities.OXIDIZER_MACHINE, OxidizerMachineBlockEntity::tick);
+    }
+}
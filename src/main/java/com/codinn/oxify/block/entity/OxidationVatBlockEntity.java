@@ -0,0 +1,219 @@
+package com.codinn.oxify.block.entity;
+
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.OxifyBlockEntities;
+import com.codinn.oxify.OxifyConfig;
+import com.codinn.oxify.block.custom.OxidationVatBlock;
+import com.codinn.oxify.recipe.OxidationRecipeIndex;
+
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleVariantStorage;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.item.Item;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.registry.RegistryOps;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.util.ItemScatterer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Holds an insert-only input and an extract-only output of {@code vat.capacity} items each,
+ * exposed together as one Transfer API {@link Storage}. Every tick the whole input is
+ * weathered into the output in a single step, as far as the output has room.
+ * Results come from the {@link OxidationRecipeIndex}. Input that no longer has a result, for
+ * instance after a data pack reload, can be extracted again.
+ * <p>
+ * The vat only goes inactive after {@link #IDLE_TICKS} ticks without converting anything, so
+ * a hopper feeding it does not flip its block state on every transfer.
+ */
+public class OxidationVatBlockEntity extends BlockEntity {
+
+    /**
+     * Longer than the 8 tick transfer cooldown of a hopper.
+     */
+    private static final int IDLE_TICKS = 40;
+
+    private final SingleVariantStorage<ItemVariant> input = new SingleVariantStorage<>() {
+        @Override
+        protected ItemVariant getBlankVariant() {
+            return ItemVariant.blank();
+        }
+
+        @Override
+        protected long getCapacity(ItemVariant variant) {
+            return capacity();
+        }
+
+        @Override
+        protected boolean canInsert(ItemVariant variant) {
+            return resultOf(variant) != null;
+        }
+
+        @Override
+        protected boolean canExtract(ItemVariant variant) {
+            return resultOf(variant) == null;
+        }
+
+        @Override
+        protected void onFinalCommit() {
+            markDirty();
+            activate();
+        }
+    };
+
+    private final SingleVariantStorage<ItemVariant> output = new SingleVariantStorage<>() {
+        @Override
+        protected ItemVariant getBlankVariant() {
+            return ItemVariant.blank();
+        }
+
+        @Override
+        protected long getCapacity(ItemVariant variant) {
+            return capacity();
+        }
+
+        @Override
+        protected boolean canInsert(ItemVariant variant) {
+            return false;
+        }
+
+        @Override
+        protected void onFinalCommit() {
+            markDirty();
+            if (!OxidationVatBlockEntity.this.input.isResourceBlank()) {
+                activate();
+            }
+        }
+    };
+
+    private final Storage<ItemVariant> storage = new CombinedStorage<>(List.of(this.input, this.output));
+    private int idleTicks;
+
+    public OxidationVatBlockEntity(BlockPos pos, BlockState state) {
+        super(OxifyBlockEntities.OXIDATION_VAT, pos, state);
+    }
+
+    public Storage<ItemVariant> getStorage() {
+        return this.storage;
+    }
+
+    public static void tick(World world, BlockPos pos, BlockState state, OxidationVatBlockEntity vat) {
+        if (vat.convert()) {
+            vat.idleTicks = 0;
+        } else if (++vat.idleTicks >= IDLE_TICKS) {
+            vat.idleTicks = 0;
+            world.setBlockState(pos, state.with(OxidationVatBlock.ACTIVE, false), Block.NOTIFY_LISTENERS);
+        }
+    }
+
+    /**
+     * Moves as much of the input as the output has room for, as one operation.
+     *
+     * @return whether anything was converted
+     */
+    private boolean convert() {
+        if (this.input.isResourceBlank() || this.input.amount <= 0) {
+            return false;
+        }
+        ItemVariant result = resultOf(this.input.variant);
+        if (result == null || !this.output.isResourceBlank() && !this.output.variant.equals(result)) {
+            return false;
+        }
+
+        long moved = Math.min(this.input.amount, capacity() - this.output.amount);
+        if (moved <= 0) {
+            return false;
+        }
+        this.output.variant = result;
+        this.output.amount += moved;
+        this.input.amount -= moved;
+        if (this.input.amount == 0) {
+            this.input.variant = ItemVariant.blank();
+        }
+        markDirty();
+        return true;
+    }
+
+    private void activate() {
+        this.idleTicks = 0;
+        BlockState state = getCachedState();
+        if (this.world != null && !this.world.isClient && state.contains(OxidationVatBlock.ACTIVE)
+                && !state.get(OxidationVatBlock.ACTIVE)) {
+            this.world.setBlockState(this.pos, state.with(OxidationVatBlock.ACTIVE, true), Block.NOTIFY_LISTENERS);
+        }
+    }
+
+    public void dropContents(World world, BlockPos pos) {
+        drop(world, pos, this.input);
+        drop(world, pos, this.output);
+    }
+
+    private static void drop(World world, BlockPos pos, SingleVariantStorage<ItemVariant> slot) {
+        if (slot.isResourceBlank()) {
+            return;
+        }
+        int maxCount = Math.max(1, slot.variant.getItem().getMaxCount());
+        for (long left = slot.amount; left > 0; left -= maxCount) {
+            ItemScatterer.spawn(world, pos.getX(), pos.getY(), pos.getZ(),
+                slot.variant.toStack((int) Math.min(left, maxCount)));
+        }
+        slot.variant = ItemVariant.blank();
+        slot.amount = 0;
+    }
+
+    private static long capacity() {
+        return Math.max(1, OxifyConfig.vatCapacity);
+    }
+
+    /**
+     * The item the given one weathers into according to the oxidation recipes, keeping its
+     * components.
+     */
+    @Nullable
+    private static ItemVariant resultOf(ItemVariant variant) {
+        Item item = OxidationRecipeIndex.resultOf(variant.getItem());
+        return item == null ? null : ItemVariant.of(item, variant.getComponents());
+    }
+
+    @Override
+    protected void writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registries) {
+        super.writeNbt(nbt, registries);
+        RegistryOps<NbtElement> ops = registries.getOps(NbtOps.INSTANCE);
+        writeSlot(nbt, "Input", this.input, ops);
+        writeSlot(nbt, "Output", this.output, ops);
+    }
+
+    @Override
+    protected void readNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registries) {
+        super.readNbt(nbt, registries);
+        RegistryOps<NbtElement> ops = registries.getOps(NbtOps.INSTANCE);
+        readSlot(nbt, "Input", this.input, ops);
+        readSlot(nbt, "Output", this.output, ops);
+    }
+
+    private static void writeSlot(NbtCompound nbt, String key, SingleVariantStorage<ItemVariant> slot,
+            RegistryOps<NbtElement> ops) {
+        if (!slot.isResourceBlank()) {
+            ItemVariant.CODEC.encodeStart(ops, slot.variant).ifSuccess(variant -> nbt.put(key, variant));
+            nbt.putLong(key + "Amount", slot.amount);
+        }
+    }
+
+    private static void readSlot(NbtCompound nbt, String key, SingleVariantStorage<ItemVariant> slot,
+            RegistryOps<NbtElement> ops) {
+        slot.variant = nbt.contains(key)
+            ? ItemVariant.CODEC.parse(ops, nbt.get(key)).result().orElse(ItemVariant.blank())
+            : ItemVariant.blank();
+        slot.amount = slot.variant.isBlank() ? 0 : nbt.getLong(key + "Amount");
+    }
+}
@@ -0,0 +1,148 @@
+package com.codinn.oxify.block.entity;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.OxifyBlockEntities;
+import com.codinn.oxify.OxifyConfig;
+import com.codinn.oxify.block.custom.OxidizerMachineBlock;
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.bulk.BulkOxidizer;
+import com.codinn.oxify.oxidation.bulk.OxidationBatch;
+import com.codinn.oxify.oxidation.bulk.SectionCursor;
+import com.codinn.oxify.oxidation.bulk.SectionScanner;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryWrapper;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Walks the cube of {@code machine.radius} around the machine with a persistent cursor,
+ * visiting at most {@code machine.positions_per_tick} positions per tick and advancing the
+ * copper it meets by one stage, following the same {@link OxidationTable} rules as the
+ * Oxidizer. The cube is walked one chunk section at a time, and sections whose palette holds
+ * nothing that can advance are skipped without reading a block.
+ */
+public class OxidizerMachineBlockEntity extends BlockEntity {
+
+    private static final int SKIPPED_SECTION_COST = 16;
+
+    private int sectionOrdinal;
+    private int offset;
+    private boolean changedThisPass;
+    @Nullable
+    private BulkOxidizer oxidizer;
+
+    public OxidizerMachineBlockEntity(BlockPos pos, BlockState state) {
+        super(OxifyBlockEntities.OXIDIZER_MACHINE, pos, state);
+    }
+
+    public static void tick(World world, BlockPos pos, BlockState state, OxidizerMachineBlockEntity machine) {
+        if (world instanceof ServerWorld serverWorld) {
+            machine.tick(serverWorld, pos, state);
+        }
+    }
+
+    private void tick(ServerWorld world, BlockPos pos, BlockState state) {
+        if (this.oxidizer == null || this.oxidizer.cursor().world() != world) {
+            this.oxidizer = new BulkOxidizer(new SectionCursor(world), OxidationBatch.natural(world));
+        }
+        this.oxidizer.cursor().invalidate();
+
+        OxidationTable table = OxidationTable.get();
+        int radius = Math.max(0, OxifyConfig.machineRadius);
+        int minX = pos.getX() - radius;
+        int minY = Math.max(pos.getY() - radius, world.getBottomY());
+        int minZ = pos.getZ() - radius;
+        int maxX = pos.getX() + radius;
+        int maxY = Math.min(pos.getY() + radius, world.getTopYInclusive());
+        int maxZ = pos.getZ() + radius;
+        int sectionsX = (maxX >> 4) - (minX >> 4) + 1;
+        int sectionsY = (maxY >> 4) - (minY >> 4) + 1;
+        int sectionsZ = (maxZ >> 4) - (minZ >> 4) + 1;
+        int sectionCount = sectionsX * sectionsY * sectionsZ;
+
+        int budget = Math.max(1, OxifyConfig.machinePositionsPerTick);
+        while (budget > 0) {
+            if (this.sectionOrdinal >= sectionCount) {
+                this.sectionOrdinal = 0;
+                this.offset = 0;
+                boolean changed = this.changedThisPass;
+                this.changedThisPass = false;
+                this.oxidizer = null;
+                markDirty();
+                if (!changed) {
+                    sleep(world, pos, state);
+                }
+                return;
+            }
+
+            int sectionX = (minX >> 4) + this.sectionOrdinal % sectionsX;
+            int sectionZ = (minZ >> 4) + this.sectionOrdinal / sectionsX % sectionsZ;
+            int sectionY = (minY >> 4) + this.sectionOrdinal / (sectionsX * sectionsZ);
+            if (this.offset == 0 && !mayAdvance(world, sectionX, sectionY, sectionZ, table)) {
+                this.sectionOrdinal++;
+                budget -= SKIPPED_SECTION_COST;
+                continue;
+            }
+
+            int fromX = Math.max(minX, sectionX << 4);
+            int fromY = Math.max(minY, sectionY << 4);
+            int fromZ = Math.max(minZ, sectionZ << 4);
+            int width = Math.min(maxX, (sectionX << 4) + 15) - fromX + 1;
+            int depth = Math.min(maxZ, (sectionZ << 4) + 15) - fromZ + 1;
+            int height = Math.min(maxY, (sectionY << 4) + 15) - fromY + 1;
+            int total = width * depth * height;
+            for (; this.offset < total && budget > 0; this.offset++, budget--) {
+                int x = fromX + this.offset % width;
+                int z = fromZ + this.offset / width % depth;
+                int y = fromY + this.offset / (width * depth);
+                if (this.oxidizer.oxidize(BlockPos.asLong(x, y, z))) {
+                    this.changedThisPass = true;
+                }
+            }
+            if (this.offset >= total) {
+                this.sectionOrdinal++;
+                this.offset = 0;
+            }
+        }
+        this.oxidizer.batch().flush();
+        markDirty();
+    }
+
+    /**
+     * Goes idle until the scheduled tick wakes the machine up again.
+     */
+    private static void sleep(ServerWorld world, BlockPos pos, BlockState state) {
+        world.setBlockState(pos, state.with(OxidizerMachineBlock.ACTIVE, false), Block.NOTIFY_LISTENERS);
+        world.scheduleBlockTick(pos, state.getBlock(), Math.max(1, OxifyConfig.machineSleepTicks));
+    }
+
+    private static boolean mayAdvance(ServerWorld world, int sectionX, int sectionY, int sectionZ,
+            OxidationTable table) {
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(sectionX, sectionZ);
+        return chunk != null
+            && SectionScanner.mayContain(chunk.getSection(world.sectionCoordToIndex(sectionY)), table::canAdvance);
+    }
+
+    @Override
+    protected void writeNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registries) {
+        super.writeNbt(nbt, registries);
+        nbt.putInt("SectionOrdinal", this.sectionOrdinal);
+        nbt.putInt("Offset", this.offset);
+        nbt.putBoolean("ChangedThisPass", this.changedThisPass);
+    }
+
+    @Override
+    protected void readNbt(NbtCompound nbt, RegistryWrapper.WrapperLookup registries) {
+        super.readNbt(nbt, registries);
+        this.sectionOrdinal = nbt.getInt("SectionOrdinal");
+        this.offset = nbt.getInt("Offset");
+        this.changedThisPass = nbt.getBoolean("ChangedThisPass");
+    }
+}
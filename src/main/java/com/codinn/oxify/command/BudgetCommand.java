@@ -0,0 +1,43 @@
+package com.codinn.oxify.command;
+
+import com.codinn.oxify.OxifyConfig;
+import com.codinn.oxify.oxidation.job.OxidationBudgetController;
+import com.codinn.oxify.oxidation.job.OxidationScheduler;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+
+/**
+ * {@code /oxify budget}: current oxidation job budget and backlog.
+ */
+final class BudgetCommand {
+
+    private BudgetCommand() {}
+
+    static LiteralArgumentBuilder<ServerCommandSource> build() {
+        return CommandManager.literal("budget").executes(BudgetCommand::execute);
+    }
+
+    private static int execute(CommandContext<ServerCommandSource> context) {
+        ServerCommandSource source = context.getSource();
+        source.sendFeedback(() -> Text.translatable("oxify.command.budget",
+            format(OxidationBudgetController.budgetMillis()),
+            format(OxidationBudgetController.lastGrantedMillis()),
+            format(OxidationBudgetController.msptMillis()),
+            format(OxifyConfig.jobsTargetMspt),
+            format(OxidationBudgetController.averageWorkMillis())), false);
+
+        int pending = OxidationScheduler.pendingJobs();
+        source.sendFeedback(() -> Text.translatable("oxify.command.budget.backlog", pending), false);
+        OxidationScheduler.pendingJobsByWorld().forEach((world, jobs) -> source.sendFeedback(
+            () -> Text.translatable("oxify.command.budget.world", world.getValue().toString(), jobs), false));
+        return pending;
+    }
+
+    private static String format(double millis) {
+        return String.format("%.2f", millis);
+    }
+}
@@ -0,0 +1,77 @@
+package com.codinn.oxify.command;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.index.CopperCensus;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import net.minecraft.block.Oxidizable;
+import net.minecraft.command.argument.BlockPosArgumentType;
+import net.minecraft.command.argument.DimensionArgumentType;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockBox;
+
+/**
+ * {@code /oxify census}: copper per oxidation stage in the current dimension, a named
+ * dimension, every loaded world or a selection, answered from the section indexes.
+ */
+final class CensusCommand {
+
+    private CensusCommand() {}
+
+    static LiteralArgumentBuilder<ServerCommandSource> build() {
+        return CommandManager.literal("census")
+            .executes(context -> executeWorld(context, context.getSource().getWorld()))
+            .then(CommandManager.literal("all").executes(CensusCommand::executeAll))
+            .then(CommandManager.literal("dimension")
+                .then(CommandManager.argument("dimension", DimensionArgumentType.dimension())
+                    .executes(context -> executeWorld(context,
+                        DimensionArgumentType.getDimensionArgument(context, "dimension")))))
+            .then(CommandManager.argument("from", BlockPosArgumentType.blockPos())
+                .then(CommandManager.argument("to", BlockPosArgumentType.blockPos())
+                    .executes(CensusCommand::executeBox)));
+    }
+
+    private static int executeWorld(CommandContext<ServerCommandSource> context, ServerWorld world) {
+        CopperCensus census = new CopperCensus();
+        census.addWorld(world);
+        return report(context.getSource(), Text.literal(world.getRegistryKey().getValue().toString()), census);
+    }
+
+    private static int executeAll(CommandContext<ServerCommandSource> context) {
+        CopperCensus census = new CopperCensus();
+        for (ServerWorld world : context.getSource().getServer().getWorlds()) {
+            census.addWorld(world);
+        }
+        return report(context.getSource(), Text.translatable("oxify.command.census.all"), census);
+    }
+
+    private static int executeBox(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        BlockBox box = BlockBox.create(BlockPosArgumentType.getBlockPos(context, "from"),
+            BlockPosArgumentType.getBlockPos(context, "to"));
+        CopperCensus census = new CopperCensus();
+        census.addBox(context.getSource().getWorld(), box);
+        return report(context.getSource(), Text.translatable("oxify.command.census.selection",
+            box.getBlockCountX(), box.getBlockCountY(), box.getBlockCountZ()), census);
+    }
+
+    private static int report(ServerCommandSource source, Text scope, CopperCensus census) {
+        source.sendFeedback(() -> Text.translatable("oxify.command.census", scope, census.total(), census.sections()),
+            false);
+        for (int stage = 0; stage < OxidationTable.STAGE_COUNT; stage++) {
+            Text name = Text.translatable("oxify.stage." + Oxidizable.OxidationLevel.values()[stage].asString());
+            long unwaxed = census.count(stage);
+            long waxed = census.waxedCount(stage);
+            source.sendFeedback(() -> Text.translatable("oxify.command.census.stage", name, unwaxed, waxed), false);
+        }
+        if (census.pendingSections() > 0) {
+            source.sendFeedback(() -> Text.translatable("oxify.command.census.pending", census.pendingSections()),
+                false);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, census.total());
+    }
+}
@@ -0,0 +1,72 @@
+package com.codinn.oxify.command;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.codinn.oxify.oxidation.bulk.BulkOxidizer;
+import com.codinn.oxify.oxidation.bulk.OxidationBatch;
+import com.codinn.oxify.oxidation.bulk.SectionCursor;
+import com.codinn.oxify.oxidation.job.OxidationScheduler;
+import com.codinn.oxify.oxidation.job.PlannedOxidationJob;
+import com.codinn.oxify.oxidation.plan.OxidationPlan;
+import com.codinn.oxify.oxidation.weathering.FastForward;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import net.minecraft.command.argument.BlockPosArgumentType;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockBox;
+
+/**
+ * {@code /oxify fastforward <from> <to> <days>}: weathers a selection as if the given number
+ * of in-game days had passed with the current random tick speed.
+ */
+final class FastForwardCommand {
+
+    private static final long TICKS_PER_DAY = 24000L;
+    private static final int MAX_DAYS = 36500;
+    private static final int MAX_CHUNKS = 4096;
+
+    private FastForwardCommand() {}
+
+    static LiteralArgumentBuilder<ServerCommandSource> build() {
+        return CommandManager.literal("fastforward")
+            .then(CommandManager.argument("from", BlockPosArgumentType.blockPos())
+                .then(CommandManager.argument("to", BlockPosArgumentType.blockPos())
+                    .then(CommandManager.argument("days", IntegerArgumentType.integer(1, MAX_DAYS))
+                        .executes(FastForwardCommand::execute))));
+    }
+
+    private static int execute(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        ServerWorld world = source.getWorld();
+        BlockBox box = BlockBox.create(BlockPosArgumentType.getLoadedBlockPos(context, "from"),
+            BlockPosArgumentType.getLoadedBlockPos(context, "to"));
+        int days = IntegerArgumentType.getInteger(context, "days");
+
+        long chunks = (long) ((box.getMaxX() >> 4) - (box.getMinX() >> 4) + 1)
+            * ((box.getMaxZ() >> 4) - (box.getMinZ() >> 4) + 1);
+        if (chunks > MAX_CHUNKS) {
+            source.sendError(Text.translatable("oxify.command.fastforward.too_large", chunks, MAX_CHUNKS));
+            return 0;
+        }
+
+        CompletableFuture<OxidationPlan> future = FastForward.plan(world, box, days * TICKS_PER_DAY);
+        if (future == null) {
+            source.sendError(Text.translatable("oxify.command.fastforward.no_random_ticks"));
+            return 0;
+        }
+
+        OxidationScheduler.submit(new PlannedOxidationJob(
+            new BulkOxidizer(new SectionCursor(world), OxidationBatch.natural(world)), future));
+        future.thenAcceptAsync(plan -> source.sendFeedback(
+            () -> Text.translatable("oxify.command.fastforward.planned", plan.size()), false), source.getServer());
+        source.sendFeedback(() -> Text.translatable("oxify.command.fastforward", days, box.getBlockCountX(),
+            box.getBlockCountY(), box.getBlockCountZ()), false);
+        return 1;
+    }
+}
@@ -0,0 +1,48 @@
+package com.codinn.oxify.command;
+
+import com.codinn.oxify.oxidation.lock.OxidationLocks;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import net.minecraft.command.argument.BlockPosArgumentType;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockBox;
+
+/**
+ * {@code /oxify lock <from> <to>} and {@code /oxify unlock <from> <to>}: excludes a
+ * selection from natural weathering, or includes it again.
+ */
+final class LockCommand {
+
+    private static final int MAX_CHUNKS = 4096;
+
+    private LockCommand() {}
+
+    static LiteralArgumentBuilder<ServerCommandSource> build(boolean lock) {
+        return CommandManager.literal(lock ? "lock" : "unlock")
+            .then(CommandManager.argument("from", BlockPosArgumentType.blockPos())
+                .then(CommandManager.argument("to", BlockPosArgumentType.blockPos())
+                    .executes(context -> execute(context, lock))));
+    }
+
+    private static int execute(CommandContext<ServerCommandSource> context, boolean lock)
+            throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        BlockBox box = BlockBox.create(BlockPosArgumentType.getLoadedBlockPos(context, "from"),
+            BlockPosArgumentType.getLoadedBlockPos(context, "to"));
+        long chunks = (long) ((box.getMaxX() >> 4) - (box.getMinX() >> 4) + 1)
+            * ((box.getMaxZ() >> 4) - (box.getMinZ() >> 4) + 1);
+        if (chunks > MAX_CHUNKS) {
+            source.sendError(Text.translatable("oxify.command.lock.too_large", chunks, MAX_CHUNKS));
+            return 0;
+        }
+
+        int changed = OxidationLocks.set(source.getWorld(), box, lock);
+        source.sendFeedback(() -> Text.translatable(lock ? "oxify.lock.locked" : "oxify.lock.unlocked", changed),
+            true);
+        return changed;
+    }
+}
@@ -0,0 +1,36 @@
+package com.codinn.oxify.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.command.CommandRegistryAccess;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+
+public final class OxifyCommands {
+
+    private OxifyCommands() {}
+
+    public static void initialize() {
+        CommandRegistrationCallback.EVENT.register(OxifyCommands::register);
+    }
+
+    /**
+     * Requirement of the subcommands meant for operators.
+     */
+    static boolean isAdmin(ServerCommandSource source) {
+        return source.hasPermissionLevel(2);
+    }
+
+    private static void register(CommandDispatcher<ServerCommandSource> dispatcher, CommandRegistryAccess registryAccess,
+            CommandManager.RegistrationEnvironment environment) {
+        dispatcher.register(CommandManager.literal("oxify")
+            .then(BudgetCommand.build().requires(OxifyCommands::isAdmin))
+            .then(CensusCommand.build().requires(OxifyCommands::isAdmin))
+            .then(FastForwardCommand.build().requires(OxifyCommands::isAdmin))
+            .then(LockCommand.build(true).requires(OxifyCommands::isAdmin))
+            .then(LockCommand.build(false).requires(OxifyCommands::isAdmin))
+            .then(UndoCommand.build())
+            .then(WhoCommand.build().requires(OxifyCommands::isAdmin)));
+    }
+}
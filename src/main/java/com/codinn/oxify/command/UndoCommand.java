@@ -0,0 +1,55 @@
+package com.codinn.oxify.command;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.oxidation.job.OxidationScheduler;
+import com.codinn.oxify.oxidation.job.UndoJob;
+import com.codinn.oxify.oxidation.undo.UndoEntry;
+import com.codinn.oxify.oxidation.undo.UndoHistory;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+
+/**
+ * {@code /oxify undo}: reverts the player's most recent oxidizer area operation. Players only
+ * ever undo their own operations, and only where they may still modify the world.
+ */
+final class UndoCommand {
+
+    private UndoCommand() {}
+
+    static LiteralArgumentBuilder<ServerCommandSource> build() {
+        return CommandManager.literal("undo").executes(UndoCommand::execute);
+    }
+
+    private static int execute(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        ServerPlayerEntity player = source.getPlayerOrThrow();
+        UndoHistory.pop(source.getServer(), player.getUuid())
+            .thenAcceptAsync(entry -> undo(source, player, entry), source.getServer());
+        return 1;
+    }
+
+    private static void undo(ServerCommandSource source, ServerPlayerEntity player, @Nullable UndoEntry entry) {
+        if (entry == null) {
+            source.sendError(Text.translatable("oxify.command.undo.empty"));
+            return;
+        }
+
+        ServerWorld world = source.getServer().getWorld(entry.world());
+        if (world == null) {
+            source.sendError(Text.translatable("oxify.command.undo.missing_world", entry.world().getValue().toString()));
+            return;
+        }
+
+        OxidationScheduler.submit(new UndoJob(world, player, entry, restored -> source.sendFeedback(
+            () -> Text.translatable("oxify.command.undo.done", restored, entry.changed()), false)));
+        source.sendFeedback(() -> Text.translatable("oxify.command.undo", entry.changed()), false);
+    }
+}
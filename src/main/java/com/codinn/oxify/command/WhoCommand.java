@@ -0,0 +1,125 @@
+package com.codinn.oxify.command;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.journal.JournalRecord;
+import com.codinn.oxify.oxidation.journal.OxidationJournal;
+import com.mojang.authlib.GameProfile;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.command.argument.BlockPosArgumentType;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.UserCache;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * {@code /oxify who}: who oxidized a block or a selection, answered from the
+ * {@link OxidationJournal}.
+ */
+final class WhoCommand {
+
+    private static final int POSITION_RECORDS = 10;
+    private static final int MAX_BOX_RECORDS = 1_000_000;
+    private static final int MAX_BOX_CHUNKS = 4096;
+
+    private WhoCommand() {}
+
+    static LiteralArgumentBuilder<ServerCommandSource> build() {
+        return CommandManager.literal("who")
+            .then(CommandManager.argument("pos", BlockPosArgumentType.blockPos())
+                .executes(WhoCommand::executePos)
+                .then(CommandManager.argument("to", BlockPosArgumentType.blockPos())
+                    .executes(WhoCommand::executeBox)));
+    }
+
+    private static int executePos(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        if (!OxidationJournal.isEnabled()) {
+            source.sendError(Text.translatable("oxify.command.who.disabled"));
+            return 0;
+        }
+
+        ServerWorld world = source.getWorld();
+        BlockPos pos = BlockPosArgumentType.getBlockPos(context, "pos");
+        OxidationJournal.query(world, new BlockBox(pos), POSITION_RECORDS)
+            .thenAcceptAsync(records -> reportPos(source, world, records), source.getServer());
+        return 1;
+    }
+
+    private static void reportPos(ServerCommandSource source, ServerWorld world, List<JournalRecord> records) {
+        if (records.isEmpty()) {
+            source.sendFeedback(() -> Text.translatable("oxify.command.who.none"), false);
+            return;
+        }
+
+        for (JournalRecord record : records) {
+            Text name = playerName(source, record.player());
+            Text from = blockName(record.oldId());
+            Text to = blockName(record.newId());
+            long seconds = Math.max(0, world.getTime() - record.tick()) / 20;
+            source.sendFeedback(() -> Text.translatable("oxify.command.who.entry", name, from, to, seconds), false);
+        }
+    }
+
+    private static int executeBox(CommandContext<ServerCommandSource> context) throws CommandSyntaxException {
+        ServerCommandSource source = context.getSource();
+        if (!OxidationJournal.isEnabled()) {
+            source.sendError(Text.translatable("oxify.command.who.disabled"));
+            return 0;
+        }
+
+        BlockBox box = BlockBox.create(BlockPosArgumentType.getBlockPos(context, "pos"),
+            BlockPosArgumentType.getBlockPos(context, "to"));
+        long chunks = (long) ((box.getMaxX() >> 4) - (box.getMinX() >> 4) + 1)
+            * ((box.getMaxZ() >> 4) - (box.getMinZ() >> 4) + 1);
+        if (chunks > MAX_BOX_CHUNKS) {
+            source.sendError(Text.translatable("oxify.command.who.too_large", chunks, MAX_BOX_CHUNKS));
+            return 0;
+        }
+
+        OxidationJournal.query(source.getWorld(), box, MAX_BOX_RECORDS)
+            .thenAcceptAsync(records -> reportBox(source, box, records), source.getServer());
+        return 1;
+    }
+
+    private static void reportBox(ServerCommandSource source, BlockBox box, List<JournalRecord> records) {
+        Object2IntLinkedOpenHashMap<UUID> perPlayer = new Object2IntLinkedOpenHashMap<>();
+        for (JournalRecord record : records) {
+            perPlayer.addTo(record.player(), 1);
+        }
+
+        int total = records.size();
+        source.sendFeedback(() -> Text.translatable("oxify.command.who.selection", total, box.getBlockCountX(),
+            box.getBlockCountY(), box.getBlockCountZ()), false);
+        for (Map.Entry<UUID, Integer> entry : perPlayer.entrySet()) {
+            Text name = playerName(source, entry.getKey());
+            int count = entry.getValue();
+            source.sendFeedback(() -> Text.translatable("oxify.command.who.player", name, count), false);
+        }
+    }
+
+    private static Text playerName(ServerCommandSource source, UUID uuid) {
+        if (OxidationJournal.NO_PLAYER.equals(uuid)) {
+            return Text.translatable("oxify.command.who.nobody");
+        }
+        UserCache cache = source.getServer().getUserCache();
+        String name = cache != null ? cache.getByUuid(uuid).map(GameProfile::getName).orElse(null) : null;
+        return Text.literal(name != null ? name : uuid.toString());
+    }
+
+    private static Text blockName(int rawId) {
+        BlockState state = OxidationTable.state(rawId);
+        return state != null ? state.getBlock().getName() : Text.literal("?");
+    }
+}
@@ -0,0 +1,136 @@
+package com.codinn.oxify.item.custom;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.journal.OxidationJournal;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.DispenserBlock;
+import net.minecraft.block.dispenser.FallibleItemDispenserBehavior;
+import net.minecraft.item.ItemConvertible;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.util.math.BlockPointer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldEvents;
+import net.minecraft.world.event.GameEvent;
+
+/**
+ * Lets dispensers use the Oxidizer on the block in front of them, advancing copper by one
+ * stage like {@link OxidizerItem#useOnBlock}, with the same block update flags. Meant for
+ * clocked farms, so the block is read through one reused mutable position, and the dispenser
+ * click, particles, scrape sound and block-change game event are emitted at most once every
+ * {@link #EFFECT_INTERVAL_TICKS} per dispenser, the game event through one cached emitter per
+ * resulting state.
+ */
+public final class OxidizerDispenserBehavior extends FallibleItemDispenserBehavior {
+
+    private static final int EFFECT_INTERVAL_TICKS = 10;
+    private static final int PRUNE_THRESHOLD = 4096;
+
+    private static final Map<RegistryKey<World>, Long2LongOpenHashMap> LAST_EFFECTS = new HashMap<>();
+
+    private final BlockPos.Mutable target = new BlockPos.Mutable();
+    private final Int2ObjectOpenHashMap<GameEvent.Emitter> emitters = new Int2ObjectOpenHashMap<>();
+    private boolean effects;
+
+    private OxidizerDispenserBehavior() {}
+
+    public static void register(ItemConvertible item) {
+        DispenserBlock.registerBehavior(item, new OxidizerDispenserBehavior());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> LAST_EFFECTS.clear());
+    }
+
+    @Override
+    protected ItemStack dispenseSilently(BlockPointer pointer, ItemStack stack) {
+        ServerWorld world = pointer.world();
+        BlockPos dispenser = pointer.pos();
+        Direction facing = pointer.state().get(DispenserBlock.FACING);
+        this.target.set(dispenser.getX() + facing.getOffsetX(), dispenser.getY() + facing.getOffsetY(),
+            dispenser.getZ() + facing.getOffsetZ());
+        this.effects = allowEffects(world, dispenser.asLong());
+
+        OxidationTable table = OxidationTable.get();
+        BlockState state = world.getBlockState(this.target);
+        int stateId = OxidationTable.rawId(state);
+        int nextId = table.next(stateId);
+        setSuccess(table.isOxidizable(stateId) && nextId != OxidationTable.NONE);
+        if (!isSuccess()) {
+            return stack;
+        }
+
+        // Neighbor updates may be queued with the position, so it must not be the mutable one.
+        BlockPos target = this.target.toImmutable();
+        world.setBlockState(target, OxidationTable.state(nextId), Block.NOTIFY_ALL_AND_REDRAW);
+        OxidationJournal.record(world, target.asLong(), stateId, nextId, null);
+
+        if (this.effects) {
+            world.playSound(null, target, SoundEvents.ITEM_AXE_SCRAPE, SoundCategory.BLOCKS, 1.0F, 1.0F);
+            world.syncWorldEvent(WorldEvents.BLOCK_SCRAPED, target, 0);
+            world.emitGameEvent(GameEvent.BLOCK_CHANGE, target, this.emitters.computeIfAbsent(nextId,
+                id -> GameEvent.Emitter.of(OxidationTable.state(id))));
+        }
+        stack.damage(1, world, null, item -> {});
+        return stack;
+    }
+
+    @Override
+    protected void playSound(BlockPointer pointer) {
+        if (this.effects) {
+            super.playSound(pointer);
+        }
+    }
+
+    @Override
+    protected void spawnParticles(BlockPointer pointer, Direction side) {
+        if (this.effects) {
+            super.spawnParticles(pointer, side);
+        }
+    }
+
+    /**
+     * Whether the dispenser at the packed position may play effects this tick, recording it
+     * if so.
+     */
+    private static boolean allowEffects(ServerWorld world, long dispenser) {
+        Long2LongOpenHashMap lastEffects = LAST_EFFECTS.get(world.getRegistryKey());
+        if (lastEffects == null) {
+            lastEffects = new Long2LongOpenHashMap();
+            lastEffects.defaultReturnValue(Long.MIN_VALUE);
+            LAST_EFFECTS.put(world.getRegistryKey(), lastEffects);
+        }
+
+        long now = world.getTime();
+        long last = lastEffects.get(dispenser);
+        if (last != Long.MIN_VALUE && now - last < EFFECT_INTERVAL_TICKS && now >= last) {
+            return false;
+        }
+        if (lastEffects.size() >= PRUNE_THRESHOLD) {
+            prune(lastEffects, now);
+        }
+        lastEffects.put(dispenser, now);
+        return true;
+    }
+
+    private static void prune(Long2LongOpenHashMap lastEffects, long now) {
+        ObjectIterator<Long2LongMap.Entry> iterator = lastEffects.long2LongEntrySet().fastIterator();
+        while (iterator.hasNext()) {
+            if (now - iterator.next().getLongValue() >= EFFECT_INTERVAL_TICKS) {
+                iterator.remove();
+            }
+        }
+    }
+}
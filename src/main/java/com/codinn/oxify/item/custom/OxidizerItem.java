@@ -1,25 +1,48 @@
 package com.codinn.oxify.item.custom;
 
-import java.util.Optional;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.jetbrains.annotations.Nullable;
 
+import com.codinn.oxify.OxifyComponents;
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.area.AreaShape;
+import com.codinn.oxify.oxidation.area.AreaWalker;
+import com.codinn.oxify.oxidation.area.OxidizerArea;
+import com.codinn.oxify.oxidation.bulk.BulkOxidizer;
+import com.codinn.oxify.oxidation.bulk.OxidationBatch;
+import com.codinn.oxify.oxidation.bulk.SectionCursor;
+import com.codinn.oxify.oxidation.job.AreaOxidationJob;
+import com.codinn.oxify.oxidation.job.OxidationScheduler;
+import com.codinn.oxify.oxidation.job.PlannedOxidationJob;
+import com.codinn.oxify.oxidation.journal.OxidationJournal;
+import com.codinn.oxify.oxidation.lock.OxidationLocks;
+import com.codinn.oxify.oxidation.plan.OxidationPlan;
+import com.codinn.oxify.oxidation.plan.OxidationPlanner;
+import com.codinn.oxify.oxidation.plan.SectionSnapshots;
+import com.codinn.oxify.oxidation.wave.OxidationWaves;
+
 import net.fabricmc.fabric.api.item.v1.EnchantingContext;
 import net.minecraft.advancement.criterion.Criteria;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Oxidizable;
 import net.minecraft.enchantment.Enchantment;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.ItemUsageContext;
+import net.minecraft.item.tooltip.TooltipType;
 import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.sound.SoundEvents;
+import net.minecraft.text.Text;
 import net.minecraft.util.ActionResult;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.Hand;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldEvents;
@@ -37,16 +60,45 @@ public class OxidizerItem extends Item {
         return false;
     }
 
+    @Override
+    public ActionResult use(World world, PlayerEntity user, Hand hand) {
+        if (!user.isSneaking()) {
+            return ActionResult.PASS;
+        }
+
+        if (!world.isClient) {
+            ItemStack itemStack = user.getStackInHand(hand);
+            OxidizerArea area = getArea(itemStack).cycle();
+            itemStack.set(OxifyComponents.OXIDIZER_AREA, area);
+            user.sendMessage(Text.translatable("oxify.area.selected", area.describe()), true);
+        }
+
+        return ActionResult.SUCCESS;
+    }
+
+    @Override
+    public void appendTooltip(ItemStack stack, TooltipContext context, List<Text> tooltip, TooltipType type) {
+        tooltip.add(Text.translatable("oxify.area.tooltip", getArea(stack).describe()).formatted(Formatting.GRAY));
+    }
+
     @Override
     public ActionResult useOnBlock(ItemUsageContext context) {
+        OxidizerArea area = getArea(context.getStack());
+        if (context.getPlayer() != null && context.getPlayer().isSneaking()) {
+            return toggleLocks(context, area);
+        }
+        if (!area.isSingle()) {
+            return useOnArea(context, area);
+        }
+
         World world = context.getWorld();
         BlockPos blockPosition = context.getBlockPos();
         PlayerEntity player = context.getPlayer();
         BlockState blockState = world.getBlockState(blockPosition);
 
-        Optional<BlockState> degradationState = tryDegrade(world, blockPosition, player, blockState);
+        BlockState degradationState = tryDegrade(world, blockPosition, player, blockState);
 
-        if (!degradationState.isPresent()) {
+        if (degradationState == null) {
             return ActionResult.PASS;
         }
 
@@ -55,8 +107,12 @@ public class OxidizerItem extends Item {
             Criteria.ITEM_USED_ON_BLOCK.trigger(serverPlayer, blockPosition, itemStack);
         }
 
-        world.setBlockState(blockPosition, degradationState.get(), Block.NOTIFY_ALL_AND_REDRAW);
-        world.emitGameEvent(GameEvent.BLOCK_CHANGE, blockPosition, GameEvent.Emitter.of(player, degradationState.get()));
+        world.setBlockState(blockPosition, degradationState, Block.NOTIFY_ALL_AND_REDRAW);
+        if (world instanceof ServerWorld serverWorld) {
+            OxidationJournal.record(serverWorld, blockPosition.asLong(), OxidationTable.rawId(blockState),
+                OxidationTable.rawId(degradationState), player != null ? player.getUuid() : null);
+        }
+        world.emitGameEvent(GameEvent.BLOCK_CHANGE, blockPosition, GameEvent.Emitter.of(player, degradationState));
 
         if (player != null) {
             itemStack.damage(1, player, LivingEntity.getSlotForHand(context.getHand()));
@@ -65,14 +121,81 @@ public class OxidizerItem extends Item {
         return ActionResult.SUCCESS;
     }
 
-    private Optional<BlockState> tryDegrade(World world, BlockPos pos, @Nullable PlayerEntity player, BlockState state) {
-        if (state.getBlock() instanceof Oxidizable block) {
-            Optional<BlockState> degradedState = block.getDegradationResult(state);
-            world.playSound(player, pos, SoundEvents.ITEM_AXE_SCRAPE, SoundCategory.BLOCKS, 1.0F, 1.0F);
-            world.syncWorldEvent(player, WorldEvents.BLOCK_SCRAPED, pos, 0);
-            return degradedState;
+    public static OxidizerArea getArea(ItemStack stack) {
+        return stack.getOrDefault(OxifyComponents.OXIDIZER_AREA, OxidizerArea.SINGLE);
+    }
+
+    private ActionResult useOnArea(ItemUsageContext context, OxidizerArea area) {
+        if (!(context.getWorld() instanceof ServerWorld world)) {
+            return ActionResult.SUCCESS;
+        }
+
+        ServerPlayerEntity player = context.getPlayer() instanceof ServerPlayerEntity serverPlayer ? serverPlayer : null;
+        SectionCursor cursor = new SectionCursor(world);
+        OxidationBatch batch = new OxidationBatch(world, player, context.getStack(),
+            LivingEntity.getSlotForHand(context.getHand()));
+        BulkOxidizer oxidizer = new BulkOxidizer(cursor, batch);
+
+        if (area.shape() == AreaShape.WAVE) {
+            OxidationWaves.start(oxidizer, context.getBlockPos(), area.radius());
+        } else if (area.shape() == AreaShape.CONNECTED) {
+            OxidationScheduler.submit(new PlannedOxidationJob(oxidizer, planConnected(world, context.getBlockPos(), area,
+                batch.remainingChanges())));
+        } else {
+            OxidationScheduler.submit(new AreaOxidationJob(oxidizer, AreaWalker.create(area, context.getBlockPos(), cursor)));
+        }
+        return ActionResult.SUCCESS;
+    }
+
+    /**
+     * Locks the area against natural weathering, or unlocks it if the clicked block is
+     * already locked. Only positions the player may modify are touched, and only their own
+     * locks are lifted unless they are an operator.
+     */
+    private ActionResult toggleLocks(ItemUsageContext context, OxidizerArea area) {
+        if (!(context.getWorld() instanceof ServerWorld world)
+                || !(context.getPlayer() instanceof ServerPlayerEntity player)) {
+            return ActionResult.SUCCESS;
+        }
+
+        BlockPos origin = context.getBlockPos();
+        boolean lock = !OxidationLocks.isLocked(world, origin);
+        int changed = OxidationLocks.set(world, AreaWalker.create(area, origin, new SectionCursor(world)), lock,
+            player);
+        if (!lock && changed == 0) {
+            player.sendMessage(Text.translatable("oxify.lock.not_owner"), true);
+        } else {
+            player.sendMessage(Text.translatable(lock ? "oxify.lock.locked" : "oxify.lock.unlocked", changed), true);
+        }
+        return ActionResult.SUCCESS;
+    }
+
+    /**
+     * Snapshots the copper sections around the origin here on the server thread and walks
+     * the fill on the planner pool.
+     */
+    private static CompletableFuture<OxidationPlan> planConnected(ServerWorld world, BlockPos origin,
+            OxidizerArea area, long maxChanges) {
+        OxidationTable table = OxidationTable.get();
+        int radius = area.radius();
+        SectionSnapshots snapshots = SectionSnapshots.capture(world, origin.getX() - radius, origin.getY() - radius,
+            origin.getZ() - radius, origin.getX() + radius, origin.getY() + radius, origin.getZ() + radius,
+            table::isCopper);
+        BlockPos start = origin.toImmutable();
+        return OxidationPlanner.submit(() -> OxidationPlanner.planConnected(snapshots, table, start, radius,
+            OxidizerArea.MAX_CONNECTED_BLOCKS, maxChanges));
+    }
+
+    @Nullable
+    private BlockState tryDegrade(World world, BlockPos pos, @Nullable PlayerEntity player, BlockState state) {
+        OxidationTable table = OxidationTable.get();
+        int stateId = OxidationTable.rawId(state);
+        if (!table.isOxidizable(stateId)) {
+            return null;
         }
 
-        return Optional.empty();
+        world.playSound(player, pos, SoundEvents.ITEM_AXE_SCRAPE, SoundCategory.BLOCKS, 1.0F, 1.0F);
+        world.syncWorldEvent(player, WorldEvents.BLOCK_SCRAPED, pos, 0);
+        return OxidationTable.state(table.next(stateId));
     }
 }
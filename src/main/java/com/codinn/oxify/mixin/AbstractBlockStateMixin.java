@@ -0,0 +1,29 @@
+package com.codinn.oxify.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import com.codinn.oxify.oxidation.lock.OxidationLocks;
+import com.codinn.oxify.oxidation.weathering.LazyAging;
+import com.codinn.oxify.oxidation.weathering.RandomTickOxidation;
+
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
+
+@Mixin(AbstractBlock.AbstractBlockState.class)
+public abstract class AbstractBlockStateMixin {
+
+    @Inject(method = "randomTick", at = @At("HEAD"), cancellable = true)
+    private void oxify$randomTick(ServerWorld world, BlockPos pos, Random random, CallbackInfo ci) {
+        BlockState state = (BlockState) (Object) this;
+        if (OxidationLocks.skipsRandomTick(state, world, pos) || LazyAging.skipsRandomTick(state)
+                || RandomTickOxidation.randomTick(state, world, pos, random)) {
+            ci.cancel();
+        }
+    }
+}
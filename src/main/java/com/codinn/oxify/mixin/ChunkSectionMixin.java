@@ -0,0 +1,71 @@
+package com.codinn.oxify.mixin;
+
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import com.codinn.oxify.oxidation.index.IndexedSection;
+import com.codinn.oxify.oxidation.index.SectionIndex;
+import com.codinn.oxify.oxidation.index.SectionIndexes;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.world.chunk.ChunkSection;
+
+@Mixin(ChunkSection.class)
+public abstract class ChunkSectionMixin implements IndexedSection {
+
+    @Unique
+    @Nullable
+    private SectionIndex oxify$index;
+    @Unique
+    private boolean oxify$tracked;
+    @Unique
+    private volatile int oxify$version;
+
+    @Inject(method = "setBlockState(IIILnet/minecraft/block/BlockState;Z)Lnet/minecraft/block/BlockState;", at = @At("RETURN"))
+    private void oxify$updateIndex(int x, int y, int z, BlockState state, boolean lock,
+            CallbackInfoReturnable<BlockState> cir) {
+        if (!this.oxify$tracked) {
+            return;
+        }
+        BlockState oldState = cir.getReturnValue();
+        if (oldState != state) {
+            SectionIndexes.onBlockChanged(this, x, y, z, oldState, state);
+        }
+    }
+
+    @Override
+    @Nullable
+    public SectionIndex oxify$getIndex() {
+        return this.oxify$index;
+    }
+
+    @Override
+    public void oxify$setIndex(@Nullable SectionIndex index) {
+        this.oxify$index = index;
+    }
+
+    @Override
+    public boolean oxify$isTracked() {
+        return this.oxify$tracked;
+    }
+
+    @Override
+    public void oxify$setTracked(boolean tracked) {
+        this.oxify$tracked = tracked;
+    }
+
+    @Override
+    public int oxify$getVersion() {
+        return this.oxify$version;
+    }
+
+    @Override
+    public void oxify$bumpVersion() {
+        // Only bumped on the server thread, so the non-atomic increment is safe.
+        this.oxify$version++;
+    }
+}
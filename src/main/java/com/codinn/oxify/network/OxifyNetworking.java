@@ -0,0 +1,12 @@
+package com.codinn.oxify.network;
+
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
+
+public final class OxifyNetworking {
+
+    private OxifyNetworking() {}
+
+    public static void initialize() {
+        PayloadTypeRegistry.playS2C().register(ScrapeParticlesPayload.ID, ScrapeParticlesPayload.CODEC);
+    }
+}
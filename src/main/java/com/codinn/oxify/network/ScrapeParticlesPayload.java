@@ -0,0 +1,58 @@
+package com.codinn.oxify.network;
+
+import java.util.Arrays;
+
+import com.codinn.oxify.Oxify;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.packet.CustomPayload;
+import net.minecraft.util.Identifier;
+
+/**
+ * Positions that should show scrape particles, sorted and sent as var-long deltas of their
+ * packed {@link net.minecraft.util.math.BlockPos} values.
+ */
+public record ScrapeParticlesPayload(long[] positions) implements CustomPayload {
+
+    public static final CustomPayload.Id<ScrapeParticlesPayload> ID = new CustomPayload.Id<>(
+        Identifier.of(Oxify.MOD_ID, "scrape_particles"));
+    public static final PacketCodec<PacketByteBuf, ScrapeParticlesPayload> CODEC = PacketCodec.of(
+        ScrapeParticlesPayload::write, ScrapeParticlesPayload::read);
+
+    public static final int MAX_POSITIONS = 4096;
+
+    public static ScrapeParticlesPayload sorted(long[] positions, int count) {
+        long[] sorted = Arrays.copyOf(positions, count);
+        Arrays.sort(sorted);
+        return new ScrapeParticlesPayload(sorted);
+    }
+
+    private void write(PacketByteBuf buf) {
+        buf.writeVarInt(this.positions.length);
+        long previous = 0L;
+        for (long position : this.positions) {
+            buf.writeVarLong(position - previous);
+            previous = position;
+        }
+    }
+
+    private static ScrapeParticlesPayload read(PacketByteBuf buf) {
+        int count = buf.readVarInt();
+        if (count < 0 || count > MAX_POSITIONS) {
+            throw new IllegalArgumentException("Too many scrape particle positions: " + count);
+        }
+        long[] positions = new long[count];
+        long previous = 0L;
+        for (int i = 0; i < count; i++) {
+            previous += buf.readVarLong();
+            positions[i] = previous;
+        }
+        return new ScrapeParticlesPayload(positions);
+    }
+
+    @Override
+    public Id<? extends CustomPayload> getId() {
+        return ID;
+    }
+}
@@ -0,0 +1,60 @@
+package com.codinn.oxify.oxidation;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.codinn.oxify.OxifyConfig;
+
+/**
+ * Shared daemon pool for work that only reads snapshots, such as planning and index builds.
+ * Sized by {@code planner.threads}, or half the available cores when that is 0. File access
+ * goes to a separate single IO thread, so it runs in submission order and never holds up
+ * the workers.
+ */
+public final class BackgroundWorkers {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static volatile ExecutorService executor;
+    private static volatile ExecutorService io;
+
+    private BackgroundWorkers() {}
+
+    public static ExecutorService executor() {
+        ExecutorService current = executor;
+        if (current == null) {
+            synchronized (BackgroundWorkers.class) {
+                current = executor;
+                if (current == null) {
+                    int threads = OxifyConfig.plannerThreads > 0 ? OxifyConfig.plannerThreads
+                        : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+                    current = Executors.newFixedThreadPool(threads, runnable -> {
+                        Thread thread = new Thread(runnable, "Oxify Worker #" + THREAD_COUNTER.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public static ExecutorService io() {
+        ExecutorService current = io;
+        if (current == null) {
+            synchronized (BackgroundWorkers.class) {
+                current = io;
+                if (current == null) {
+                    current = Executors.newSingleThreadExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "Oxify IO");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    io = current;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,219 @@
+package com.codinn.oxify.oxidation;
+
+import java.util.Arrays;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codinn.oxify.Oxify;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Oxidizable;
+import net.minecraft.block.enums.DoubleBlockHalf;
+import net.minecraft.item.HoneycombItem;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.state.property.Properties;
+import net.minecraft.util.Identifier;
+
+/**
+ * Dense lookup table of copper degradation data indexed by raw {@link BlockState} id.
+ * Built once the block registry is frozen and rebuilt whenever tags are reloaded. Building
+ * it does not initialize {@link Oxify}, whose registrations would fail outside the game.
+ */
+public final class OxidationTable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Oxify.MOD_ID);
+    /**
+     * Same tag as {@link Oxify#OXIDIZER_IMMUNE_TAG}.
+     */
+    private static final TagKey<Block> IMMUNE_TAG = TagKey.of(RegistryKeys.BLOCK,
+        Identifier.of(Oxify.MOD_ID, "oxidizer_immune"));
+
+    public static final int NONE = -1;
+    public static final int STAGE_COUNT = Oxidizable.OxidationLevel.values().length;
+
+    private static final byte FLAG_COPPER = 1;
+    private static final byte FLAG_WAXED = 1 << 1;
+    private static final byte FLAG_VANILLA = 1 << 2;
+
+    private static volatile OxidationTable current;
+
+    private final int[] next;
+    private final int[] previous;
+    private final int[] fullyOxidized;
+    private final int[] waxedCounterpart;
+    private final byte[] stage;
+    private final byte[] flags;
+    private final byte[] partnerOffset;
+
+    private OxidationTable(int size) {
+        this.next = filled(size);
+        this.previous = filled(size);
+        this.fullyOxidized = filled(size);
+        this.waxedCounterpart = filled(size);
+        this.stage = new byte[size];
+        this.flags = new byte[size];
+        this.partnerOffset = new byte[size];
+    }
+
+    public static OxidationTable get() {
+        OxidationTable table = current;
+        return table != null ? table : rebuild();
+    }
+
+    public static synchronized OxidationTable rebuild() {
+        OxidationTable table = build();
+        current = table;
+        return table;
+    }
+
+    public static int rawId(BlockState state) {
+        return Block.getRawIdFromState(state);
+    }
+
+    @Nullable
+    public static BlockState state(int rawId) {
+        return rawId == NONE ? null : Block.getStateFromRawId(rawId);
+    }
+
+    public int size() {
+        return this.flags.length;
+    }
+
+    public boolean isCopper(int rawId) {
+        return inRange(rawId) && (this.flags[rawId] & FLAG_COPPER) != 0;
+    }
+
+    public boolean isWaxed(int rawId) {
+        return inRange(rawId) && (this.flags[rawId] & FLAG_WAXED) != 0;
+    }
+
+    /**
+     * Unwaxed copper, i.e. what vanilla treats as {@link Oxidizable}.
+     */
+    public boolean isOxidizable(int rawId) {
+        return inRange(rawId) && (this.flags[rawId] & (FLAG_COPPER | FLAG_WAXED)) == FLAG_COPPER;
+    }
+
+    /**
+     * Whether the state's block is a vanilla one, whose random tick does nothing but
+     * {@code Degradable#tickDegradation}.
+     */
+    public boolean isVanilla(int rawId) {
+        return inRange(rawId) && (this.flags[rawId] & FLAG_VANILLA) != 0;
+    }
+
+    /**
+     * Whether the state has a further oxidation stage to advance to.
+     */
+    public boolean canAdvance(int rawId) {
+        return inRange(rawId) && this.next[rawId] != NONE;
+    }
+
+    public int stage(int rawId) {
+        return isCopper(rawId) ? this.stage[rawId] : NONE;
+    }
+
+    public int next(int rawId) {
+        return inRange(rawId) ? this.next[rawId] : NONE;
+    }
+
+    public int previous(int rawId) {
+        return inRange(rawId) ? this.previous[rawId] : NONE;
+    }
+
+    public int fullyOxidized(int rawId) {
+        return inRange(rawId) ? this.fullyOxidized[rawId] : NONE;
+    }
+
+    public int waxedCounterpart(int rawId) {
+        return inRange(rawId) ? this.waxedCounterpart[rawId] : NONE;
+    }
+
+    /**
+     * Vertical offset of the other half of a copper door, or 0. Bulk changes skip neighbor
+     * updates, so both halves have to be oxidized together.
+     */
+    public int partnerOffset(int rawId) {
+        return inRange(rawId) ? this.partnerOffset[rawId] : 0;
+    }
+
+    @Nullable
+    public BlockState next(BlockState state) {
+        return state(next(rawId(state)));
+    }
+
+    private boolean inRange(int rawId) {
+        return rawId >= 0 && rawId < this.flags.length;
+    }
+
+    private static OxidationTable build() {
+        int size = Block.STATE_IDS.size();
+        OxidationTable table = new OxidationTable(size);
+        int copperStates = 0;
+
+        for (int id = 0; id < size; id++) {
+            BlockState state = Block.STATE_IDS.get(id);
+            if (state == null) {
+                continue;
+            }
+
+            Block block = state.getBlock();
+            Block unwaxed = HoneycombItem.WAXED_TO_UNWAXED_BLOCKS.get().get(block);
+            boolean waxed = unwaxed != null;
+            if (!((waxed ? unwaxed : block) instanceof Oxidizable oxidizable)) {
+                continue;
+            }
+
+            copperStates++;
+            table.stage[id] = (byte) oxidizable.getDegradationLevel().ordinal();
+            table.flags[id] = waxed ? (byte) (FLAG_COPPER | FLAG_WAXED) : FLAG_COPPER;
+            if (Registries.BLOCK.getId(block).getNamespace().equals(Identifier.DEFAULT_NAMESPACE)) {
+                table.flags[id] |= FLAG_VANILLA;
+            }
+            if (state.contains(Properties.DOUBLE_BLOCK_HALF)) {
+                table.partnerOffset[id] = (byte) (state.get(Properties.DOUBLE_BLOCK_HALF) == DoubleBlockHalf.LOWER ? 1 : -1);
+            }
+
+            Block counterpart = waxed ? unwaxed : HoneycombItem.UNWAXED_TO_WAXED_BLOCKS.get().get(block);
+            if (counterpart != null) {
+                table.waxedCounterpart[id] = rawId(counterpart.getStateWithProperties(state));
+            }
+
+            if (waxed || state.isIn(IMMUNE_TAG)) {
+                continue;
+            }
+
+            Block increased = Oxidizable.getIncreasedOxidationBlock(block).orElse(null);
+            if (increased != null) {
+                table.next[id] = rawId(increased.getStateWithProperties(state));
+            }
+
+            Block decreased = Oxidizable.getDecreasedOxidationBlock(block).orElse(null);
+            if (decreased != null) {
+                table.previous[id] = rawId(decreased.getStateWithProperties(state));
+            }
+        }
+
+        for (int id = 0; id < size; id++) {
+            int target = table.next[id];
+            while (target != NONE && table.next[target] != NONE) {
+                target = table.next[target];
+            }
+            table.fullyOxidized[id] = target;
+        }
+
+        LOGGER.info("Built oxidation table with " + copperStates + " copper states");
+        return table;
+    }
+
+    private static int[] filled(int size) {
+        int[] array = new int[size];
+        Arrays.fill(array, NONE);
+        return array;
+    }
+}
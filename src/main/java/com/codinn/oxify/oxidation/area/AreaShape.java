@@ -0,0 +1,33 @@
+package com.codinn.oxify.oxidation.area;
+
+import com.mojang.serialization.Codec;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.util.StringIdentifiable;
+import net.minecraft.util.function.ValueLists;
+
+public enum AreaShape implements StringIdentifiable {
+    SINGLE("single"),
+    CUBE("cube"),
+    SPHERE("sphere"),
+    CONNECTED("connected"),
+    WAVE("wave");
+
+    public static final Codec<AreaShape> CODEC = StringIdentifiable.createCodec(AreaShape::values);
+    public static final PacketCodec<ByteBuf, AreaShape> PACKET_CODEC = PacketCodecs.indexed(
+        ValueLists.createIdToValueFunction(AreaShape::ordinal, values(), ValueLists.OutOfBoundsHandling.ZERO),
+        AreaShape::ordinal);
+
+    private final String name;
+
+    AreaShape(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String asString() {
+        return this.name;
+    }
+}
@@ -0,0 +1,43 @@
+package com.codinn.oxify.oxidation.area;
+
+import com.codinn.oxify.oxidation.bulk.SectionCursor;
+
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Iterates the positions of an area as packed {@link BlockPos#asLong} values, so walking
+ * large areas does not allocate a {@link BlockPos} per block.
+ */
+public interface AreaWalker {
+
+    long NO_SECTION = Long.MAX_VALUE;
+
+    boolean hasNext();
+
+    long next();
+
+    /**
+     * Section about to be walked when it lies entirely inside the area and none of its
+     * positions have been returned yet, as a {@link net.minecraft.util.math.ChunkSectionPos}
+     * long, or {@link #NO_SECTION}. Callers may then handle the whole section at once and
+     * {@link #skipSection()} it.
+     */
+    default long pendingWholeSection() {
+        return NO_SECTION;
+    }
+
+    /**
+     * Moves past the section last returned by {@link #pendingWholeSection()}. Walkers that
+     * never report a pending section have nothing to skip.
+     */
+    void skipSection();
+
+    static AreaWalker create(OxidizerArea area, BlockPos origin, SectionCursor cursor) {
+        return switch (area.shape()) {
+            case SINGLE -> new BoxWalker(origin, 0, false, cursor.world());
+            case CUBE -> new BoxWalker(origin, area.radius(), false, cursor.world());
+            case SPHERE -> new BoxWalker(origin, area.radius(), true, cursor.world());
+            case CONNECTED, WAVE -> new FloodFillWalker(origin, area.radius(), OxidizerArea.MAX_CONNECTED_BLOCKS, cursor);
+        };
+    }
+}
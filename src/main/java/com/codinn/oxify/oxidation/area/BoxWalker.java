@@ -0,0 +1,167 @@
+package com.codinn.oxify.oxidation.area;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.HeightLimitView;
+
+/**
+ * Walks a cube or sphere around an origin one chunk section at a time, clipped to the
+ * world height. Sections that lie entirely inside the shape are offered whole through
+ * {@link #pendingWholeSection()}.
+ */
+public final class BoxWalker implements AreaWalker {
+
+    private final int originX;
+    private final int originY;
+    private final int originZ;
+    private final int radiusSquared;
+    private final boolean sphere;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int maxX;
+    private final int maxY;
+    private final int maxZ;
+
+    private int sectionX;
+    private int sectionY;
+    private int sectionZ;
+    private int startX;
+    private int startY;
+    private int startZ;
+    private int endX;
+    private int endY;
+    private int endZ;
+    private int x;
+    private int y;
+    private int z;
+    private boolean sectionStarted;
+    private boolean found;
+    private boolean done;
+
+    public BoxWalker(BlockPos origin, int radius, boolean sphere, HeightLimitView world) {
+        this.originX = origin.getX();
+        this.originY = origin.getY();
+        this.originZ = origin.getZ();
+        this.radiusSquared = radius * radius + radius;
+        this.sphere = sphere;
+        this.minX = this.originX - radius;
+        this.minY = Math.max(this.originY - radius, world.getBottomY());
+        this.minZ = this.originZ - radius;
+        this.maxX = this.originX + radius;
+        this.maxY = Math.min(this.originY + radius, world.getBottomY() + world.getHeight() - 1);
+        this.maxZ = this.originZ + radius;
+
+        this.done = this.minY > this.maxY;
+        if (!this.done) {
+            this.sectionX = this.minX >> 4;
+            this.sectionY = this.minY >> 4;
+            this.sectionZ = this.minZ >> 4;
+            enterSection();
+        }
+    }
+
+    public boolean contains(int x, int y, int z) {
+        if (x < this.minX || x > this.maxX || y < this.minY || y > this.maxY || z < this.minZ || z > this.maxZ) {
+            return false;
+        }
+        if (!this.sphere) {
+            return true;
+        }
+        int dx = x - this.originX;
+        int dy = y - this.originY;
+        int dz = z - this.originZ;
+        return dx * dx + dy * dy + dz * dz <= this.radiusSquared;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.found && !this.done) {
+            if (contains(this.x, this.y, this.z)) {
+                this.found = true;
+            } else {
+                advance();
+            }
+        }
+        return this.found;
+    }
+
+    @Override
+    public long next() {
+        hasNext();
+        long pos = BlockPos.asLong(this.x, this.y, this.z);
+        this.found = false;
+        this.sectionStarted = true;
+        advance();
+        return pos;
+    }
+
+    @Override
+    public long pendingWholeSection() {
+        if (this.done || this.sectionStarted || !containsWholeSection()) {
+            return NO_SECTION;
+        }
+        return ChunkSectionPos.asLong(this.sectionX, this.sectionY, this.sectionZ);
+    }
+
+    @Override
+    public void skipSection() {
+        this.found = false;
+        nextSection();
+    }
+
+    private boolean containsWholeSection() {
+        int x0 = this.sectionX << 4;
+        int y0 = this.sectionY << 4;
+        int z0 = this.sectionZ << 4;
+        for (int corner = 0; corner < 8; corner++) {
+            if (!contains(x0 + ((corner & 1) != 0 ? 15 : 0), y0 + ((corner & 2) != 0 ? 15 : 0),
+                    z0 + ((corner & 4) != 0 ? 15 : 0))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void advance() {
+        if (++this.x <= this.endX) {
+            return;
+        }
+        this.x = this.startX;
+        if (++this.z <= this.endZ) {
+            return;
+        }
+        this.z = this.startZ;
+        if (++this.y <= this.endY) {
+            return;
+        }
+        nextSection();
+    }
+
+    private void nextSection() {
+        if (++this.sectionX > this.maxX >> 4) {
+            this.sectionX = this.minX >> 4;
+            if (++this.sectionZ > this.maxZ >> 4) {
+                this.sectionZ = this.minZ >> 4;
+                if (++this.sectionY > this.maxY >> 4) {
+                    this.done = true;
+                    return;
+                }
+            }
+        }
+        enterSection();
+    }
+
+    private void enterSection() {
+        this.startX = Math.max(this.minX, this.sectionX << 4);
+        this.startY = Math.max(this.minY, this.sectionY << 4);
+        this.startZ = Math.max(this.minZ, this.sectionZ << 4);
+        this.endX = Math.min(this.maxX, (this.sectionX << 4) + 15);
+        this.endY = Math.min(this.maxY, (this.sectionY << 4) + 15);
+        this.endZ = Math.min(this.maxZ, (this.sectionZ << 4) + 15);
+        this.x = this.startX;
+        this.y = this.startY;
+        this.z = this.startZ;
+        this.sectionStarted = false;
+    }
+}
@@ -0,0 +1,106 @@
+package com.codinn.oxify.oxidation.area;
+
+import com.codinn.oxify.oxidation.bulk.SectionBitSet;
+import com.codinn.oxify.oxidation.bulk.SectionCursor;
+import com.codinn.oxify.oxidation.bulk.SectionMask;
+
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Breadth-first walk over copper connected to the origin, including diagonal neighbours so
+ * stepped roofs are followed. Any copper block conducts the fill, whatever its stage.
+ */
+public final class FloodFillWalker implements AreaWalker {
+
+    private final LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+    private final SectionBitSet visited = new SectionBitSet();
+    private final Conductor copper;
+    private final int originX;
+    private final int originY;
+    private final int originZ;
+    private final int radius;
+    private final int limit;
+
+    private int yielded;
+    private long pending;
+    private boolean hasPending;
+
+    public FloodFillWalker(BlockPos origin, int radius, int limit, SectionCursor cursor) {
+        this(origin, radius, limit, SectionMask.copper(cursor)::test);
+    }
+
+    public FloodFillWalker(BlockPos origin, int radius, int limit, Conductor copper) {
+        this.copper = copper;
+        this.originX = origin.getX();
+        this.originY = origin.getY();
+        this.originZ = origin.getZ();
+        this.radius = radius;
+        this.limit = limit;
+        this.visited.add(this.originX, this.originY, this.originZ);
+        this.queue.enqueue(origin.asLong());
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!this.hasPending && !this.queue.isEmpty() && this.yielded < this.limit) {
+            long pos = this.queue.dequeueLong();
+            int x = BlockPos.unpackLongX(pos);
+            int y = BlockPos.unpackLongY(pos);
+            int z = BlockPos.unpackLongZ(pos);
+            if (!this.copper.conducts(x, y, z)) {
+                continue;
+            }
+
+            enqueueNeighbours(x, y, z);
+            this.pending = pos;
+            this.hasPending = true;
+            this.yielded++;
+        }
+        return this.hasPending;
+    }
+
+    @Override
+    public long next() {
+        hasNext();
+        this.hasPending = false;
+        return this.pending;
+    }
+
+    @Override
+    public void skipSection() {
+        // The fill never reports whole sections.
+    }
+
+    private void enqueueNeighbours(int x, int y, int z) {
+        for (int dy = -1; dy <= 1; dy++) {
+            int ny = y + dy;
+            if (Math.abs(ny - this.originY) > this.radius) {
+                continue;
+            }
+            for (int dz = -1; dz <= 1; dz++) {
+                int nz = z + dz;
+                if (Math.abs(nz - this.originZ) > this.radius) {
+                    continue;
+                }
+                for (int dx = -1; dx <= 1; dx++) {
+                    int nx = x + dx;
+                    if (Math.abs(nx - this.originX) > this.radius) {
+                        continue;
+                    }
+                    if (this.visited.add(nx, ny, nz)) {
+                        this.queue.enqueue(BlockPos.asLong(nx, ny, nz));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Decides which positions the fill may spread through.
+     */
+    @FunctionalInterface
+    public interface Conductor {
+        boolean conducts(int x, int y, int z);
+    }
+}
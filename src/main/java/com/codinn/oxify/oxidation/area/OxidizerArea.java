@@ -0,0 +1,63 @@
+package com.codinn.oxify.oxidation.area;
+
+import java.util.List;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.PacketCodec;
+import net.minecraft.network.codec.PacketCodecs;
+import net.minecraft.text.Text;
+
+/**
+ * Area selection stored on an Oxidizer stack. For {@link AreaShape#CONNECTED} and
+ * {@link AreaShape#WAVE} the radius bounds how far the fill may travel from the clicked block.
+ */
+public record OxidizerArea(AreaShape shape, int radius) {
+
+    public static final int MAX_RADIUS = 64;
+    public static final int MAX_CONNECTED_BLOCKS = 32768;
+
+    public static final OxidizerArea SINGLE = new OxidizerArea(AreaShape.SINGLE, 0);
+
+    public static final List<OxidizerArea> PRESETS = List.of(
+        SINGLE,
+        new OxidizerArea(AreaShape.CUBE, 1),
+        new OxidizerArea(AreaShape.CUBE, 2),
+        new OxidizerArea(AreaShape.SPHERE, 3),
+        new OxidizerArea(AreaShape.SPHERE, 5),
+        new OxidizerArea(AreaShape.CONNECTED, 16),
+        new OxidizerArea(AreaShape.CONNECTED, 48),
+        new OxidizerArea(AreaShape.WAVE, 16),
+        new OxidizerArea(AreaShape.WAVE, 32));
+
+    public static final Codec<OxidizerArea> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            AreaShape.CODEC.fieldOf("shape").forGetter(OxidizerArea::shape),
+            Codec.intRange(0, MAX_RADIUS).fieldOf("radius").forGetter(OxidizerArea::radius))
+        .apply(instance, OxidizerArea::new));
+
+    public static final PacketCodec<ByteBuf, OxidizerArea> PACKET_CODEC = PacketCodec.tuple(
+        AreaShape.PACKET_CODEC, OxidizerArea::shape,
+        PacketCodecs.VAR_INT, OxidizerArea::radius,
+        OxidizerArea::new);
+
+    public boolean isSingle() {
+        return this.shape == AreaShape.SINGLE;
+    }
+
+    public OxidizerArea cycle() {
+        int index = PRESETS.indexOf(this);
+        return PRESETS.get((index + 1) % PRESETS.size());
+    }
+
+    public Text describe() {
+        return switch (this.shape) {
+            case SINGLE -> Text.translatable("oxify.area.single");
+            case CUBE -> Text.translatable("oxify.area.cube", this.radius * 2 + 1);
+            case SPHERE -> Text.translatable("oxify.area.sphere", this.radius);
+            case CONNECTED -> Text.translatable("oxify.area.connected", this.radius);
+            case WAVE -> Text.translatable("oxify.area.wave", this.radius);
+        };
+    }
+}
@@ -0,0 +1,207 @@
+package com.codinn.oxify.oxidation.bulk;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.area.AreaWalker;
+import com.codinn.oxify.oxidation.sync.SectionUpdateBroadcaster;
+
+import net.minecraft.block.Block;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Advances copper by one stage over the positions of an {@link AreaWalker}, reading states
+ * through a {@link SectionCursor} and reporting every change to an {@link OxidationBatch}.
+ * Clients are updated through the {@link SectionUpdateBroadcaster} rather than per block,
+ * and sections entirely inside the area go through the {@link SectionPaletteRemapper}.
+ * <p>
+ * When the batch has a player, only positions the player may modify are changed. The
+ * answers are kept per section, so a section that falls back from its palette to the block
+ * by block path is not asked about twice.
+ */
+public final class BulkOxidizer {
+
+    public static final int FLAGS = Block.FORCE_STATE;
+
+    private final OxidationTable table;
+    private final SectionCursor cursor;
+    private final OxidationBatch batch;
+    private final SectionMask advanceable;
+    private final SectionBitSet handled = new SectionBitSet();
+    private final SectionBitSet modifiable = new SectionBitSet();
+    private final SectionBitSet protectedPositions = new SectionBitSet();
+    private final BlockPos.Mutable mutable = new BlockPos.Mutable();
+
+    public BulkOxidizer(SectionCursor cursor, OxidationBatch batch) {
+        this.table = OxidationTable.get();
+        this.cursor = cursor;
+        this.batch = batch;
+        this.advanceable = new SectionMask(cursor, this.table::canAdvance);
+    }
+
+    public SectionCursor cursor() {
+        return this.cursor;
+    }
+
+    public OxidationBatch batch() {
+        return this.batch;
+    }
+
+    /**
+     * Visits at most {@code maxPositions} positions of the walker.
+     *
+     * @return the number of positions visited
+     */
+    public int run(AreaWalker walker, int maxPositions) {
+        int visited = 0;
+        while (visited < maxPositions && this.batch.canChange() && walker.hasNext()) {
+            long section = walker.pendingWholeSection();
+            if (section != AreaWalker.NO_SECTION && remapSection(section)) {
+                walker.skipSection();
+                visited += SectionPaletteRemapper.SECTION_SIZE;
+                continue;
+            }
+
+            oxidize(walker.next());
+            visited++;
+        }
+        return visited;
+    }
+
+    /**
+     * Oxidizes a section lying entirely inside the area through its palette.
+     *
+     * @return false if the section has to be walked block by block instead
+     */
+    public boolean remapSection(long sectionKey) {
+        if (this.batch.remainingChanges() < SectionPaletteRemapper.SECTION_SIZE) {
+            return false;
+        }
+
+        int sectionX = ChunkSectionPos.unpackX(sectionKey);
+        int sectionY = ChunkSectionPos.unpackY(sectionKey);
+        int sectionZ = ChunkSectionPos.unpackZ(sectionKey);
+        ServerWorld world = this.cursor.world();
+        WorldChunk chunk = this.cursor.chunkAt(sectionX << 4, sectionY << 4, sectionZ << 4);
+        if (chunk == null) {
+            return true;
+        }
+        if (this.batch.player() != null && !mayModifySection(sectionX << 4, sectionY << 4, sectionZ << 4)) {
+            return false;
+        }
+
+        SectionRemap remap = SectionPaletteRemapper.remap(chunk, world.sectionCoordToIndex(sectionY), this.table);
+        if (remap == null) {
+            return false;
+        }
+        if (remap.changed() > 0) {
+            SectionUpdateBroadcaster.markChunkRewritten(world, sectionX, sectionZ);
+            this.batch.onSectionRemapped(sectionX, sectionY, sectionZ, remap);
+        }
+        return true;
+    }
+
+    public boolean oxidize(long pos) {
+        int x = BlockPos.unpackLongX(pos);
+        int y = BlockPos.unpackLongY(pos);
+        int z = BlockPos.unpackLongZ(pos);
+        if (!this.advanceable.test(x, y, z) || this.handled.contains(x, y, z)) {
+            return false;
+        }
+
+        int stateId = this.cursor.rawIdAt(x, y, z);
+        int nextId = this.table.next(stateId);
+        if (nextId == OxidationTable.NONE || !canChange(x, y, z, stateId)) {
+            return false;
+        }
+
+        apply(x, y, z, stateId, nextId);
+
+        int partnerOffset = this.table.partnerOffset(stateId);
+        if (partnerOffset != 0) {
+            int partnerY = y + partnerOffset;
+            int partnerId = this.cursor.rawIdAt(x, partnerY, z);
+            int partnerNextId = this.table.next(partnerId);
+            if (partnerNextId != OxidationTable.NONE && this.handled.add(x, partnerY, z)) {
+                apply(x, partnerY, z, partnerId, partnerNextId);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Applies a planned change if the position still holds the state it was planned from,
+     * otherwise re-plans it from the live state through {@link #oxidize(long)}.
+     */
+    public boolean commit(long pos, int fromId, int toId) {
+        int x = BlockPos.unpackLongX(pos);
+        int y = BlockPos.unpackLongY(pos);
+        int z = BlockPos.unpackLongZ(pos);
+        if (this.handled.contains(x, y, z)) {
+            return false;
+        }
+        if (this.cursor.rawIdAt(x, y, z) != fromId) {
+            return oxidize(pos);
+        }
+        if (!canChange(x, y, z, fromId)) {
+            return false;
+        }
+
+        this.handled.add(x, y, z);
+        apply(x, y, z, fromId, toId);
+        return true;
+    }
+
+    /**
+     * Whether the position may be modified and the batch has room for the change. For a door
+     * half whose other half will change as well, both have to qualify, so a door never ends up
+     * with mismatched halves.
+     */
+    private boolean canChange(int x, int y, int z, int stateId) {
+        int partnerOffset = this.table.partnerOffset(stateId);
+        boolean pair = partnerOffset != 0 && !this.handled.contains(x, y + partnerOffset, z)
+            && this.table.next(this.cursor.rawIdAt(x, y + partnerOffset, z)) != OxidationTable.NONE;
+        if (!mayModify(x, y, z) || pair && !mayModify(x, y + partnerOffset, z)) {
+            return false;
+        }
+        return this.batch.remainingChanges() >= (pair ? 2 : 1);
+    }
+
+    /**
+     * Whether every copper block the remap would change lies where the player may modify.
+     */
+    private boolean mayModifySection(int baseX, int baseY, int baseZ) {
+        for (int index = 0; index < SectionPaletteRemapper.SECTION_SIZE; index++) {
+            int x = baseX + (index & 15);
+            int y = baseY + (index >>> 8);
+            int z = baseZ + (index >>> 4 & 15);
+            if (this.advanceable.test(x, y, z) && !mayModify(x, y, z)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean mayModify(int x, int y, int z) {
+        ServerPlayerEntity player = this.batch.player();
+        if (player == null || this.modifiable.contains(x, y, z)) {
+            return true;
+        }
+        if (this.protectedPositions.contains(x, y, z)) {
+            return false;
+        }
+        boolean allowed = player.canModifyAt(this.cursor.world(), this.mutable.set(x, y, z));
+        (allowed ? this.modifiable : this.protectedPositions).add(x, y, z);
+        return allowed;
+    }
+
+    private void apply(int x, int y, int z, int stateId, int nextId) {
+        this.mutable.set(x, y, z);
+        if (this.cursor.world().setBlockState(this.mutable, OxidationTable.state(nextId), FLAGS)) {
+            SectionUpdateBroadcaster.markChanged(this.cursor.world(), x, y, z);
+            this.batch.onChanged(x, y, z, stateId, nextId);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.codinn.oxify.oxidation.bulk;
+
+import java.util.UUID;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.effect.ScrapeEffects;
+import com.codinn.oxify.oxidation.journal.OxidationJournal;
+import com.codinn.oxify.oxidation.undo.UndoEntry;
+import com.codinn.oxify.oxidation.undo.UndoHistory;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.advancement.criterion.Criteria;
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.EquipmentSlot;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.event.GameEvent;
+
+/**
+ * Collects the block changes of one bulk operation and applies their side effects in
+ * aggregate: one block-change game event per affected section, one advancement trigger
+ * per operation and one durability charge for the whole batch, of one point per block as
+ * single uses cost.
+ */
+public class OxidationBatch {
+
+    private static final int PARTICLES_PER_SECTION = 64;
+
+    private final ServerWorld world;
+    @Nullable
+    private final ServerPlayerEntity player;
+    private final ItemStack stack;
+    private final EquipmentSlot slot;
+    private final ScrapeEffects effects = new ScrapeEffects();
+    private final LongSet signalledSections = new LongOpenHashSet();
+    private final LongArrayList pendingEventPositions = new LongArrayList();
+    private final IntArrayList pendingEventStates = new IntArrayList();
+    @Nullable
+    private final UndoEntry undo;
+    private final long maxChanges;
+    private final boolean natural;
+    private long firstChanged;
+    private int changed;
+    private boolean finished;
+
+    public OxidationBatch(ServerWorld world, @Nullable ServerPlayerEntity player, ItemStack stack, EquipmentSlot slot) {
+        this(world, player, stack, slot, false);
+    }
+
+    private OxidationBatch(ServerWorld world, @Nullable ServerPlayerEntity player, ItemStack stack, EquipmentSlot slot,
+            boolean natural) {
+        this.world = world;
+        this.player = player;
+        this.stack = stack;
+        this.slot = slot;
+        this.natural = natural;
+        this.maxChanges = computeMaxChanges(player, stack);
+        this.undo = player != null ? new UndoEntry(world.getRegistryKey(), world.getTime()) : null;
+    }
+
+    /**
+     * A batch for weathering that happens on its own, like vanilla random-tick oxidation:
+     * no effects, game events or journal records, and no item to charge.
+     */
+    public static OxidationBatch natural(ServerWorld world) {
+        return new OxidationBatch(world, null, ItemStack.EMPTY, EquipmentSlot.MAINHAND, true);
+    }
+
+    public ServerWorld world() {
+        return this.world;
+    }
+
+    @Nullable
+    public ServerPlayerEntity player() {
+        return this.player;
+    }
+
+    public ItemStack stack() {
+        return this.stack;
+    }
+
+    public int changed() {
+        return this.changed;
+    }
+
+    /**
+     * Whether the stack has durability left for another change.
+     */
+    public boolean canChange() {
+        return this.changed < this.maxChanges;
+    }
+
+    public long remainingChanges() {
+        return this.maxChanges - this.changed;
+    }
+
+    /**
+     * Records a single block change. Positions are only kept packed, so nothing is allocated
+     * per block.
+     */
+    public void onChanged(int x, int y, int z, int oldId, int newId) {
+        long packed = BlockPos.asLong(x, y, z);
+        if (this.changed++ == 0) {
+            this.firstChanged = packed;
+        }
+        if (this.natural) {
+            return;
+        }
+        this.effects.add(x, y, z);
+        if (this.undo != null) {
+            this.undo.record(x, y, z, oldId, newId);
+        }
+        OxidationJournal.record(this.world, packed, oldId, newId, this.player != null ? this.player.getUuid() : null);
+
+        long sectionKey = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+        if (this.signalledSections.add(sectionKey)) {
+            this.pendingEventPositions.add(packed);
+            this.pendingEventStates.add(newId);
+        }
+    }
+
+    public void onSectionRemapped(int sectionX, int sectionY, int sectionZ, SectionRemap remap) {
+        int baseX = sectionX << 4;
+        int baseY = sectionY << 4;
+        int baseZ = sectionZ << 4;
+        long firstPos = BlockPos.asLong(baseX + (remap.firstIndex() & 15), baseY + (remap.firstIndex() >>> 8 & 15),
+            baseZ + (remap.firstIndex() >>> 4 & 15));
+        if (this.changed == 0) {
+            this.firstChanged = firstPos;
+        }
+        this.changed += remap.changed();
+        if (this.natural) {
+            return;
+        }
+        if (this.undo != null) {
+            this.undo.recordSection(sectionX, sectionY, sectionZ, remap);
+        }
+        if (OxidationJournal.isEnabled()) {
+            journalSection(sectionX, sectionY, sectionZ, remap);
+        }
+
+        int stride = Math.max(1, remap.changed() / PARTICLES_PER_SECTION);
+        int seen = 0;
+        long[] mask = remap.changedMask();
+        for (int index = 0; index < SectionPaletteRemapper.SECTION_SIZE; index++) {
+            if ((mask[index >>> 6] & 1L << index) != 0 && seen++ % stride == 0) {
+                this.effects.add(baseX + (index & 15), baseY + (index >>> 8 & 15), baseZ + (index >>> 4 & 15), stride);
+            }
+        }
+
+        if (this.signalledSections.add(ChunkSectionPos.asLong(sectionX, sectionY, sectionZ))) {
+            this.pendingEventPositions.add(firstPos);
+            this.pendingEventStates.add(remap.firstNewId());
+        }
+    }
+
+    /**
+     * Journals every block of a remapped section. The remap is injective, so each new state
+     * id maps back to exactly one of the replaced ids.
+     */
+    private void journalSection(int sectionX, int sectionY, int sectionZ, SectionRemap remap) {
+        ChunkSection section = this.world.getChunk(sectionX, sectionZ)
+            .getSection(this.world.sectionCoordToIndex(sectionY));
+        UUID uuid = this.player != null ? this.player.getUuid() : null;
+        int[] fromIds = remap.fromIds();
+        int[] toIds = remap.toIds();
+        long[] mask = remap.changedMask();
+        for (int index = 0; index < SectionPaletteRemapper.SECTION_SIZE; index++) {
+            if ((mask[index >>> 6] & 1L << index) == 0) {
+                continue;
+            }
+            int x = index & 15;
+            int y = index >>> 8 & 15;
+            int z = index >>> 4 & 15;
+            int newId = OxidationTable.rawId(section.getBlockState(x, y, z));
+            int oldId = OxidationTable.NONE;
+            for (int i = 0; i < toIds.length; i++) {
+                if (toIds[i] == newId) {
+                    oldId = fromIds[i];
+                    break;
+                }
+            }
+            OxidationJournal.record(this.world, BlockPos.asLong((sectionX << 4) + x, (sectionY << 4) + y,
+                (sectionZ << 4) + z), oldId, newId, uuid);
+        }
+    }
+
+    /**
+     * Sends the aggregated sound, particles and game events of the changes made since the
+     * last flush.
+     */
+    public void flush() {
+        this.effects.flush(this.world);
+
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+        for (int i = 0; i < this.pendingEventPositions.size(); i++) {
+            BlockState state = OxidationTable.state(this.pendingEventStates.getInt(i));
+            pos.set(this.pendingEventPositions.getLong(i));
+            this.world.emitGameEvent(GameEvent.BLOCK_CHANGE, pos, GameEvent.Emitter.of(this.player, state));
+        }
+        this.pendingEventPositions.clear();
+        this.pendingEventStates.clear();
+    }
+
+    /**
+     * Completes the operation once its job has run out of positions. The advancement
+     * trigger and durability are charged here, once for everything the batch changed, and
+     * the operation is added to the player's undo history. Both go to the stack now in the
+     * slot, and only if it is still an oxidizer: the player may have moved or swapped the
+     * item while the job ran.
+     */
+    public void finish() {
+        if (this.finished) {
+            return;
+        }
+        this.finished = true;
+        flush();
+
+        if (this.changed == 0 || this.player == null) {
+            return;
+        }
+        if (this.undo != null) {
+            UndoHistory.push(this.world.getServer(), this.player.getUuid(), this.undo);
+        }
+        if (this.player.isRemoved()) {
+            return;
+        }
+
+        ItemStack current = this.player.getEquippedStack(this.slot);
+        if (current.isEmpty() || !current.isOf(this.stack.getItem())) {
+            return;
+        }
+        Criteria.ITEM_USED_ON_BLOCK.trigger(this.player, BlockPos.fromLong(this.firstChanged), current);
+        current.damage(this.changed, this.player, this.slot);
+    }
+
+    private static long computeMaxChanges(@Nullable ServerPlayerEntity player, ItemStack stack) {
+        if (player == null || player.getAbilities().creativeMode || !stack.isDamageable()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(1L, stack.getMaxDamage() - stack.getDamage());
+    }
+}
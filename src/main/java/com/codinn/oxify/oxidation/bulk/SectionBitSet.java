@@ -0,0 +1,68 @@
+package com.codinn.oxify.oxidation.bulk;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkSectionPos;
+
+/**
+ * Sparse set of block positions stored as one 4096-bit array per chunk section.
+ */
+public final class SectionBitSet {
+
+    public static final int WORDS_PER_SECTION = 4096 / Long.SIZE;
+
+    private final Long2ObjectOpenHashMap<long[]> sections = new Long2ObjectOpenHashMap<>();
+    private long lastKey = Long.MIN_VALUE;
+    private long[] lastBits;
+
+    public static int localIndex(int x, int y, int z) {
+        return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+    }
+
+    public boolean add(int x, int y, int z) {
+        long[] bits = bits(x, y, z, true);
+        int index = localIndex(x, y, z);
+        long mask = 1L << index;
+        if ((bits[index >>> 6] & mask) != 0) {
+            return false;
+        }
+        bits[index >>> 6] |= mask;
+        return true;
+    }
+
+    public boolean contains(int x, int y, int z) {
+        long[] bits = bits(x, y, z, false);
+        if (bits == null) {
+            return false;
+        }
+        int index = localIndex(x, y, z);
+        return (bits[index >>> 6] & 1L << index) != 0;
+    }
+
+    public boolean isEmpty() {
+        return this.sections.isEmpty();
+    }
+
+    public void clear() {
+        this.sections.clear();
+        this.lastKey = Long.MIN_VALUE;
+        this.lastBits = null;
+    }
+
+    private long[] bits(int x, int y, int z, boolean create) {
+        long key = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+        if (key == this.lastKey) {
+            return this.lastBits;
+        }
+        long[] bits = this.sections.get(key);
+        if (bits == null) {
+            if (!create) {
+                return null;
+            }
+            bits = new long[WORDS_PER_SECTION];
+            this.sections.put(key, bits);
+        }
+        this.lastKey = key;
+        this.lastBits = bits;
+        return bits;
+    }
+}
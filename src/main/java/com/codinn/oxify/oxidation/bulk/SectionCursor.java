@@ -0,0 +1,87 @@
+package com.codinn.oxify.oxidation.bulk;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Reads block states straight from loaded chunk sections, caching the last section so
+ * neighbouring lookups skip the chunk map. Unloaded chunks are never loaded and read as
+ * {@link OxidationTable#NONE}.
+ */
+public final class SectionCursor {
+
+    private final ServerWorld world;
+    private long sectionKey = Long.MIN_VALUE;
+    private int generation;
+    @Nullable
+    private ChunkSection section;
+    @Nullable
+    private WorldChunk chunk;
+
+    public SectionCursor(ServerWorld world) {
+        this.world = world;
+    }
+
+    public ServerWorld world() {
+        return this.world;
+    }
+
+    /**
+     * Drops the cached section, e.g. before resuming work on a later tick when the chunk
+     * may have been unloaded in between.
+     */
+    public void invalidate() {
+        this.generation++;
+        this.sectionKey = Long.MIN_VALUE;
+        this.section = null;
+        this.chunk = null;
+    }
+
+    /**
+     * Incremented on every {@link #invalidate()}, so derived caches know to rebuild.
+     */
+    public int generation() {
+        return this.generation;
+    }
+
+    public int rawIdAt(int x, int y, int z) {
+        BlockState state = stateAt(x, y, z);
+        return state == null ? OxidationTable.NONE : OxidationTable.rawId(state);
+    }
+
+    @Nullable
+    public BlockState stateAt(int x, int y, int z) {
+        ChunkSection section = sectionAt(x, y, z);
+        return section == null ? null : section.getBlockState(x & 15, y & 15, z & 15);
+    }
+
+    @Nullable
+    public ChunkSection sectionAt(int x, int y, int z) {
+        long key = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+        if (key != this.sectionKey) {
+            this.sectionKey = key;
+            this.section = null;
+            this.chunk = null;
+            if (!this.world.isOutOfHeightLimit(y)) {
+                this.chunk = this.world.getChunkManager().getWorldChunk(x >> 4, z >> 4);
+                if (this.chunk != null) {
+                    this.section = this.chunk.getSection(this.world.getSectionIndex(y));
+                }
+            }
+        }
+        return this.section;
+    }
+
+    @Nullable
+    public WorldChunk chunkAt(int x, int y, int z) {
+        sectionAt(x, y, z);
+        return this.chunk;
+    }
+}
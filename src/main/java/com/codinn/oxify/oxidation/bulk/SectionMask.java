@@ -0,0 +1,107 @@
+package com.codinn.oxify.oxidation.bulk;
+
+import java.util.ArrayDeque;
+import java.util.function.IntPredicate;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.index.SectionIndex;
+import com.codinn.oxify.oxidation.index.SectionIndexes;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.ChunkSection;
+
+/**
+ * Per-section membership test backed by {@link SectionScanner} masks. Each section is
+ * scanned once and its mask kept until the cursor is invalidated, so lookups alternating
+ * between neighbouring sections, as flood fills and area borders do, never scan a section
+ * twice. A mask reflects the section as it was when first entered, which is all a single
+ * pass over an area needs.
+ */
+public final class SectionMask {
+
+    private static final int MAX_CACHED_SECTIONS = 1024;
+    private static final long[] EMPTY = new long[SectionBitSet.WORDS_PER_SECTION];
+
+    private final SectionCursor cursor;
+    private final IntPredicate matcher;
+    private final boolean copper;
+    private final Long2ObjectOpenHashMap<long[]> masks = new Long2ObjectOpenHashMap<>();
+    private final ArrayDeque<long[]> spare = new ArrayDeque<>();
+    private long sectionKey = Long.MIN_VALUE;
+    private long[] mask = EMPTY;
+    private int generation = -1;
+
+    public SectionMask(SectionCursor cursor, IntPredicate matcher) {
+        this(cursor, matcher, false);
+    }
+
+    private SectionMask(SectionCursor cursor, IntPredicate matcher, boolean copper) {
+        this.cursor = cursor;
+        this.matcher = matcher;
+        this.copper = copper;
+    }
+
+    /**
+     * Mask of every copper block, copied from the section's {@link SectionIndex} when it has
+     * one instead of scanning.
+     */
+    public static SectionMask copper(SectionCursor cursor) {
+        return new SectionMask(cursor, OxidationTable.get()::isCopper, true);
+    }
+
+    public boolean test(int x, int y, int z) {
+        if (this.generation != this.cursor.generation()) {
+            this.generation = this.cursor.generation();
+            clear();
+        }
+        long key = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+        if (key != this.sectionKey) {
+            this.mask = lookup(key, x, y, z);
+            this.sectionKey = key;
+        }
+        if (this.mask == EMPTY) {
+            return false;
+        }
+        int index = SectionBitSet.localIndex(x, y, z);
+        return (this.mask[index >>> 6] & 1L << index) != 0;
+    }
+
+    private long[] lookup(long key, int x, int y, int z) {
+        long[] cached = this.masks.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (this.masks.size() >= MAX_CACHED_SECTIONS) {
+            clear();
+        }
+        long[] built = this.spare.isEmpty() ? new long[SectionBitSet.WORDS_PER_SECTION] : this.spare.pop();
+        if (rebuild(this.cursor.sectionAt(x, y, z), built) == 0) {
+            this.spare.push(built);
+            built = EMPTY;
+        }
+        this.masks.put(key, built);
+        return built;
+    }
+
+    private void clear() {
+        for (long[] mask : this.masks.values()) {
+            if (mask != EMPTY) {
+                this.spare.push(mask);
+            }
+        }
+        this.masks.clear();
+        this.sectionKey = Long.MIN_VALUE;
+        this.mask = EMPTY;
+    }
+
+    private int rebuild(@Nullable ChunkSection section, long[] mask) {
+        if (section == null) {
+            return 0;
+        }
+        SectionIndex index = this.copper ? SectionIndexes.get(section) : null;
+        return index != null ? index.copyCopper(mask) : SectionScanner.scan(section, this.matcher, mask);
+    }
+}
@@ -0,0 +1,222 @@
+package com.codinn.oxify.oxidation.bulk;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.index.SectionIndexes;
+
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.block.BlockState;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.collection.PaletteStorage;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.IdListPalette;
+import net.minecraft.world.chunk.Palette;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.SingularPalette;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Oxidizes every block of a chunk section at once by rewriting the entries of its block
+ * state palette. The packed indices are only touched when two entries collapse into the
+ * same state, or when the section uses the global palette and stores raw ids directly.
+ * <p>
+ * Sections holding copper doors or states whose light emission changes are left to the
+ * per-block path, since those need neighbor and light updates.
+ */
+public final class SectionPaletteRemapper {
+
+    public static final int SECTION_SIZE = 4096;
+
+    private SectionPaletteRemapper() {}
+
+    /**
+     * @return the remap outcome, or null if the section has to be oxidized block by block
+     */
+    @Nullable
+    public static SectionRemap remap(WorldChunk chunk, int sectionIndex, OxidationTable table) {
+        ChunkSection section = chunk.getSection(sectionIndex);
+        if (section.isEmpty()) {
+            return SectionRemap.unchanged();
+        }
+
+        SectionRemap remap = remap(section.getBlockStateContainer(), table);
+        if (remap != null && remap.changed() > 0) {
+            section.calculateCounts();
+            SectionIndexes.onRemapped(section, remap.changedMask());
+            chunk.markNeedsSaving();
+        }
+        return remap;
+    }
+
+    /**
+     * Remaps the container alone, leaving the section's counts and indexes to the caller.
+     */
+    @Nullable
+    static SectionRemap remap(PalettedContainer<BlockState> container, OxidationTable table) {
+        container.lock();
+        try {
+            PalettedContainer.Data<BlockState> data = container.data;
+            return data.palette() instanceof IdListPalette<BlockState>
+                ? remapGlobal(data.storage(), table)
+                : remapPalette(data.palette(), data.storage(), table);
+        } finally {
+            container.unlock();
+        }
+    }
+
+    @Nullable
+    private static SectionRemap remapPalette(Palette<BlockState> palette, PaletteStorage storage, OxidationTable table) {
+        int size = palette.getSize();
+        int[] mapped = new int[size];
+        boolean[] changedIndex = new boolean[size];
+        IntArrayList fromIds = new IntArrayList();
+        IntArrayList toIds = new IntArrayList();
+
+        for (int i = 0; i < size; i++) {
+            int id = OxidationTable.rawId(palette.get(i));
+            int next = table.next(id);
+            if (next == OxidationTable.NONE) {
+                mapped[i] = id;
+                continue;
+            }
+            if (!canRemap(table, id, next)) {
+                return null;
+            }
+            mapped[i] = next;
+            changedIndex[i] = true;
+            fromIds.add(id);
+            toIds.add(next);
+        }
+        if (fromIds.isEmpty()) {
+            return SectionRemap.unchanged();
+        }
+
+        long[] mask = new long[SectionBitSet.WORDS_PER_SECTION];
+        int[] first = {-1, -1};
+        int changed = SectionScanner.scanIndices(storage, changedIndex, mask, first);
+        int firstNewId = first[0] >= 0 ? mapped[first[1]] : OxidationTable.NONE;
+
+        int[] unique = new int[size];
+        int[] newIndex = new int[size];
+        int uniqueCount = 0;
+        boolean collapsed = false;
+        for (int i = 0; i < size; i++) {
+            int existing = indexOf(unique, uniqueCount, mapped[i]);
+            if (existing >= 0) {
+                newIndex[i] = existing;
+                collapsed = true;
+            } else {
+                unique[uniqueCount] = mapped[i];
+                newIndex[i] = uniqueCount++;
+            }
+        }
+
+        if (collapsed) {
+            rewriteIndices(storage, newIndex);
+        }
+        writePalette(palette, unique, uniqueCount);
+
+        return new SectionRemap(changed, mask, fromIds.toIntArray(), toIds.toIntArray(), first[0], firstNewId);
+    }
+
+    @Nullable
+    private static SectionRemap remapGlobal(PaletteStorage storage, OxidationTable table) {
+        int size = storage.getSize();
+        long[] mask = new long[SectionBitSet.WORDS_PER_SECTION];
+        IntArrayList fromIds = new IntArrayList();
+        IntArrayList toIds = new IntArrayList();
+        int changed = 0;
+        int firstIndex = -1;
+        int firstNewId = OxidationTable.NONE;
+
+        for (int i = 0; i < size; i++) {
+            int id = storage.get(i);
+            int next = table.next(id);
+            if (next == OxidationTable.NONE) {
+                continue;
+            }
+            if (!fromIds.contains(id)) {
+                if (!canRemap(table, id, next)) {
+                    return null;
+                }
+                fromIds.add(id);
+                toIds.add(next);
+            }
+            if (firstIndex < 0) {
+                firstIndex = i;
+                firstNewId = next;
+            }
+            mask[i >>> 6] |= 1L << i;
+            changed++;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if ((mask[i >>> 6] & 1L << i) != 0) {
+                storage.set(i, table.next(storage.get(i)));
+            }
+        }
+
+        return new SectionRemap(changed, mask, fromIds.toIntArray(), toIds.toIntArray(), firstIndex, firstNewId);
+    }
+
+    private static boolean canRemap(OxidationTable table, int id, int next) {
+        if (table.partnerOffset(id) != 0) {
+            return false;
+        }
+        return OxidationTable.state(id).getLuminance() == OxidationTable.state(next).getLuminance();
+    }
+
+    private static void rewriteIndices(PaletteStorage storage, int[] newIndex) {
+        int size = storage.getSize();
+        int bits = storage.getElementBits();
+        if (bits == 0) {
+            return;
+        }
+
+        long[] words = storage.getData();
+        int perWord = Long.SIZE / bits;
+        long valueMask = (1L << bits) - 1;
+        int index = 0;
+        for (int w = 0; w < words.length && index < size; w++) {
+            long word = words[w];
+            long rewritten = word;
+            for (int k = 0; k < perWord && index < size; k++, index++) {
+                int shift = k * bits;
+                int value = (int) (word >>> shift & valueMask);
+                int replacement = value < newIndex.length ? newIndex[value] : value;
+                rewritten = rewritten & ~(valueMask << shift) | (long) replacement << shift;
+            }
+            words[w] = rewritten;
+        }
+    }
+
+    /**
+     * Replaces the palette entries in place through the palette's own packet reader, which
+     * every palette implementation supports.
+     */
+    private static void writePalette(Palette<BlockState> palette, int[] ids, int count) {
+        PacketByteBuf buf = new PacketByteBuf(Unpooled.buffer());
+        try {
+            if (!(palette instanceof SingularPalette<BlockState>)) {
+                buf.writeVarInt(count);
+            }
+            for (int i = 0; i < count; i++) {
+                buf.writeVarInt(ids[i]);
+            }
+            palette.readPacket(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static int indexOf(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
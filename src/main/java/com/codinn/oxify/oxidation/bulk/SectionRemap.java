@@ -0,0 +1,22 @@
+package com.codinn.oxify.oxidation.bulk;
+
+/**
+ * Outcome of rewriting a whole chunk section through {@link SectionPaletteRemapper}.
+ *
+ * @param changed     number of blocks whose state changed
+ * @param changedMask 4096-bit mask of the changed positions, in section index order
+ * @param fromIds     raw state ids that were replaced
+ * @param toIds       raw state ids they were replaced with, pairwise with {@code fromIds}
+ * @param firstIndex  section index of the first changed block, or -1
+ * @param firstNewId  new raw state id of that block
+ */
+public record SectionRemap(int changed, long[] changedMask, int[] fromIds, int[] toIds, int firstIndex, int firstNewId) {
+
+    /**
+     * A remap that changed nothing. Each call returns its own mask, since callers may write
+     * to it.
+     */
+    public static SectionRemap unchanged() {
+        return new SectionRemap(0, new long[SectionBitSet.WORDS_PER_SECTION], new int[0], new int[0], -1, -1);
+    }
+}
@@ -0,0 +1,132 @@
+package com.codinn.oxify.oxidation.bulk;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.collection.PaletteStorage;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.IdListPalette;
+import net.minecraft.world.chunk.Palette;
+import net.minecraft.world.chunk.PalettedContainer;
+
+/**
+ * Finds the positions of a chunk section whose raw state id matches a predicate without
+ * decoding a {@link BlockState} per block. The palette is checked first, so sections
+ * without a single matching entry are rejected after a handful of lookups; otherwise the
+ * packed storage is scanned for the matching palette indices a word at a time.
+ */
+public final class SectionScanner {
+
+    private SectionScanner() {}
+
+    /**
+     * Whether the section's palette has any entry matching the predicate. Always true for
+     * sections on the global palette.
+     */
+    public static boolean mayContain(ChunkSection section, IntPredicate matcher) {
+        if (section.isEmpty()) {
+            return false;
+        }
+        Palette<BlockState> palette = section.getBlockStateContainer().data.palette();
+        if (palette instanceof IdListPalette<BlockState>) {
+            return true;
+        }
+        for (int i = 0; i < palette.getSize(); i++) {
+            if (matcher.test(OxidationTable.rawId(palette.get(i)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sets the bit of every matching position in {@code mask}, in section index order.
+     *
+     * @return the number of matching positions
+     */
+    public static int scan(ChunkSection section, IntPredicate matcher, long[] mask) {
+        Arrays.fill(mask, 0L);
+        if (section.isEmpty()) {
+            return 0;
+        }
+        return scan(section.getBlockStateContainer(), matcher, mask);
+    }
+
+    public static int scan(PalettedContainer<BlockState> container, IntPredicate matcher, long[] mask) {
+        Arrays.fill(mask, 0L);
+        PalettedContainer.Data<BlockState> data = container.data;
+        Palette<BlockState> palette = data.palette();
+        PaletteStorage storage = data.storage();
+
+        if (palette instanceof IdListPalette<BlockState>) {
+            int matches = 0;
+            for (int i = 0; i < storage.getSize(); i++) {
+                if (matcher.test(storage.get(i))) {
+                    mask[i >>> 6] |= 1L << i;
+                    matches++;
+                }
+            }
+            return matches;
+        }
+
+        int size = palette.getSize();
+        boolean[] matching = new boolean[size];
+        boolean any = false;
+        for (int i = 0; i < size; i++) {
+            if (matcher.test(OxidationTable.rawId(palette.get(i)))) {
+                matching[i] = true;
+                any = true;
+            }
+        }
+        return any ? scanIndices(storage, matching, mask, null) : 0;
+    }
+
+    /**
+     * Marks the positions whose palette index is flagged in {@code matching}.
+     *
+     * @param first if not null, receives the section index and palette index of the first
+     *              matching position
+     */
+    static int scanIndices(PaletteStorage storage, boolean[] matching, long[] mask, int[] first) {
+        int size = storage.getSize();
+        int bits = storage.getElementBits();
+        if (bits == 0) {
+            if (!matching[0]) {
+                return 0;
+            }
+            Arrays.fill(mask, -1L);
+            if (first != null) {
+                first[0] = 0;
+                first[1] = 0;
+            }
+            return size;
+        }
+
+        long[] words = storage.getData();
+        int perWord = Long.SIZE / bits;
+        long valueMask = (1L << bits) - 1;
+        int matches = 0;
+        int index = 0;
+        for (int w = 0; w < words.length && index < size; w++) {
+            long word = words[w];
+            if (word == 0L && !matching[0]) {
+                index += perWord;
+                continue;
+            }
+            for (int k = 0; k < perWord && index < size; k++, index++) {
+                int value = (int) (word >>> k * bits & valueMask);
+                if (value < matching.length && matching[value]) {
+                    mask[index >>> 6] |= 1L << index;
+                    if (matches++ == 0 && first != null) {
+                        first[0] = index;
+                        first[1] = value;
+                    }
+                }
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,50 @@
+package com.codinn.oxify.oxidation.chain;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.codinn.oxify.Oxify;
+import com.codinn.oxify.oxidation.OxidationTable;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.block.Block;
+import net.minecraft.registry.Registries;
+
+/**
+ * Writes the chains of the live {@link OxidationTable} to {@code config/oxify-chains.txt}
+ * once the server has started, for the offline tools to read.
+ */
+public final class OxidationChainExport {
+
+    public static final Path PATH = FabricLoader.getInstance().getConfigDir().resolve(Oxify.MOD_ID + "-chains.txt");
+
+    private OxidationChainExport() {}
+
+    public static void initialize() {
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> export());
+    }
+
+    public static void export() {
+        OxidationTable table = OxidationTable.get();
+        OxidationChains chains = new OxidationChains();
+        for (Block block : Registries.BLOCK) {
+            int id = OxidationTable.rawId(block.getDefaultState());
+            if (!table.isOxidizable(id)) {
+                continue;
+            }
+            chains.add(blockId(id), table.stage(id), blockId(table.next(id)), blockId(table.waxedCounterpart(id)));
+        }
+
+        try {
+            chains.write(PATH);
+        } catch (IOException e) {
+            Oxify.LOGGER.error("Could not export oxidation chains to " + PATH, e);
+        }
+    }
+
+    private static String blockId(int rawId) {
+        return rawId == OxidationTable.NONE ? null
+            : Registries.BLOCK.getId(OxidationTable.state(rawId).getBlock()).toString();
+    }
+}
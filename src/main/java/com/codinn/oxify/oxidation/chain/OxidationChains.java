@@ -0,0 +1,165 @@
+package com.codinn.oxify.oxidation.chain;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Copper oxidation chains by block id, free of game classes so the offline tools can share
+ * it. The mod exports the chains of its live {@code OxidationTable} through
+ * {@link #write(Path)}, modded copper and {@code oxify:oxidizer_immune} included; the
+ * vanilla chains are built in for when no export is available.
+ * <p>
+ * The file holds one line per unwaxed copper block: its id, stage, next block id and waxed
+ * counterpart id, with {@code -} where there is none.
+ */
+public final class OxidationChains {
+
+    public static final int NONE = -1;
+    public static final int STAGE_COUNT = 4;
+
+    private static final String MISSING = "-";
+    private static final String[] FAMILIES = {"copper_block", "cut_copper", "cut_copper_stairs", "cut_copper_slab",
+        "chiseled_copper", "copper_door", "copper_trapdoor", "copper_grate", "copper_bulb"};
+    private static final String[] STAGE_PREFIXES = {"", "exposed_", "weathered_", "oxidized_"};
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final Map<String, String> waxedToUnwaxed = new LinkedHashMap<>();
+
+    private record Entry(int stage, String next, String waxed) {}
+
+    /**
+     * Adds an unwaxed copper block.
+     *
+     * @param next  the block it oxidizes into, or null
+     * @param waxed  its waxed counterpart, or null
+     */
+    public void add(String id, int stage, String next, String waxed) {
+        this.entries.put(id, new Entry(stage, next, waxed));
+        if (waxed != null) {
+            this.waxedToUnwaxed.put(waxed, id);
+        }
+    }
+
+    public static OxidationChains vanilla() {
+        OxidationChains chains = new OxidationChains();
+        for (String family : FAMILIES) {
+            for (int stage = 0; stage < STAGE_COUNT; stage++) {
+                String id = vanillaId(family, stage);
+                String next = stage + 1 < STAGE_COUNT ? vanillaId(family, stage + 1) : null;
+                chains.add(id, stage, next, "minecraft:waxed_" + id.substring("minecraft:".length()));
+            }
+        }
+        return chains;
+    }
+
+    private static String vanillaId(String family, int stage) {
+        if (stage > 0 && family.equals("copper_block")) {
+            return "minecraft:" + STAGE_PREFIXES[stage] + "copper";
+        }
+        return "minecraft:" + STAGE_PREFIXES[stage] + family;
+    }
+
+    public static OxidationChains read(Path path) throws IOException {
+        OxidationChains chains = new OxidationChains();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                if (parts.length != 4) {
+                    throw new IOException("Malformed oxidation chain line: " + line);
+                }
+                chains.add(parts[0], Integer.parseInt(parts[1]), orNull(parts[2]), orNull(parts[3]));
+            }
+        }
+        return chains;
+    }
+
+    public void write(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("# Oxify oxidation chains: block stage next waxed");
+            writer.newLine();
+            for (Map.Entry<String, Entry> entry : this.entries.entrySet()) {
+                Entry value = entry.getValue();
+                writer.write(entry.getKey() + " " + value.stage() + " " + orMissing(value.next()) + " "
+                    + orMissing(value.waxed()));
+                writer.newLine();
+            }
+        }
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public boolean isCopper(String id) {
+        return this.entries.containsKey(id) || this.waxedToUnwaxed.containsKey(id);
+    }
+
+    public boolean isWaxed(String id) {
+        return this.waxedToUnwaxed.containsKey(id);
+    }
+
+    /**
+     * Stage of an unwaxed or waxed copper block, or {@link #NONE}.
+     */
+    public int stage(String id) {
+        Entry entry = this.entries.get(id);
+        if (entry == null) {
+            String unwaxed = this.waxedToUnwaxed.get(id);
+            entry = unwaxed != null ? this.entries.get(unwaxed) : null;
+        }
+        return entry != null ? entry.stage() : NONE;
+    }
+
+    /**
+     * The block an unwaxed copper block oxidizes into, or null.
+     */
+    public String next(String id) {
+        Entry entry = this.entries.get(id);
+        return entry != null ? entry.next() : null;
+    }
+
+    /**
+     * Follows the chain for up to {@code stages} steps. Returns {@code id} itself for waxed
+     * copper, fully oxidized copper and anything that is not copper.
+     */
+    public String advance(String id, int stages) {
+        String current = id;
+        for (int i = 0; i < stages; i++) {
+            String next = next(current);
+            if (next == null) {
+                break;
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    /**
+     * Advances unwaxed copper until it reaches {@code stage}. Copper that is already at or
+     * past it, or whose chain ends earlier, stops where it is.
+     */
+    public String toStage(String id, int stage) {
+        int current = this.entries.containsKey(id) ? stage(id) : NONE;
+        return current == NONE || current >= stage ? id : advance(id, stage - current);
+    }
+
+    private static String orNull(String value) {
+        return value.equals(MISSING) ? null : value;
+    }
+
+    private static String orMissing(String value) {
+        return value != null ? value : MISSING;
+    }
+}
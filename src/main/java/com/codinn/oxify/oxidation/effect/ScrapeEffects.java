@@ -0,0 +1,87 @@
+package com.codinn.oxify.oxidation.effect;
+
+import com.codinn.oxify.network.ScrapeParticlesPayload;
+
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Aggregates the scrape feedback of a bulk operation: one sound at the centroid of the
+ * blocks changed before the first flush, and one {@link ScrapeParticlesPayload} per flush,
+ * instead of a sound and a world event per block. An operation that flushes every tick
+ * therefore does not restart the sound each tick.
+ */
+public final class ScrapeEffects {
+
+    private static final double PARTICLE_RANGE = 64.0;
+
+    private final long[] positions = new long[ScrapeParticlesPayload.MAX_POSITIONS];
+    private int positionCount;
+    private long count;
+    private double sumX;
+    private double sumY;
+    private double sumZ;
+    private int minX = Integer.MAX_VALUE;
+    private int minZ = Integer.MAX_VALUE;
+    private int maxX = Integer.MIN_VALUE;
+    private int maxZ = Integer.MIN_VALUE;
+    private boolean soundPlayed;
+
+    public void add(int x, int y, int z) {
+        add(x, y, z, 1);
+    }
+
+    /**
+     * Adds {@code weight} changed blocks represented by one position, e.g. a whole section
+     * that changed at once.
+     */
+    public void add(int x, int y, int z, int weight) {
+        this.count += weight;
+        this.sumX += (double) x * weight;
+        this.sumY += (double) y * weight;
+        this.sumZ += (double) z * weight;
+        this.minX = Math.min(this.minX, x);
+        this.minZ = Math.min(this.minZ, z);
+        this.maxX = Math.max(this.maxX, x);
+        this.maxZ = Math.max(this.maxZ, z);
+        if (this.positionCount < this.positions.length) {
+            this.positions[this.positionCount++] = BlockPos.asLong(x, y, z);
+        }
+    }
+
+    public void flush(ServerWorld world) {
+        if (this.count == 0) {
+            return;
+        }
+
+        Vec3d centroid = new Vec3d(this.sumX / this.count + 0.5, this.sumY / this.count + 0.5, this.sumZ / this.count + 0.5);
+        if (!this.soundPlayed) {
+            this.soundPlayed = true;
+            world.playSound(null, centroid.x, centroid.y, centroid.z, SoundEvents.ITEM_AXE_SCRAPE, SoundCategory.BLOCKS, 1.0F, 1.0F);
+        }
+
+        double spread = Math.max(this.maxX - this.minX, this.maxZ - this.minZ) / 2.0;
+        ScrapeParticlesPayload payload = ScrapeParticlesPayload.sorted(this.positions, this.positionCount);
+        for (ServerPlayerEntity player : PlayerLookup.around(world, centroid, PARTICLE_RANGE + spread)) {
+            if (ServerPlayNetworking.canSend(player, ScrapeParticlesPayload.ID)) {
+                ServerPlayNetworking.send(player, payload);
+            }
+        }
+
+        this.positionCount = 0;
+        this.count = 0;
+        this.sumX = 0;
+        this.sumY = 0;
+        this.sumZ = 0;
+        this.minX = Integer.MAX_VALUE;
+        this.minZ = Integer.MAX_VALUE;
+        this.maxX = Integer.MIN_VALUE;
+        this.maxZ = Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,86 @@
+package com.codinn.oxify.oxidation.index;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Copper block counts per oxidation stage, summed from the {@link SectionIndex} of loaded
+ * sections without reading any block. Sections whose index is still being built are counted
+ * as pending rather than scanned.
+ */
+public final class CopperCensus {
+
+    private final long[] counts = new long[OxidationTable.STAGE_COUNT];
+    private final long[] waxedCounts = new long[OxidationTable.STAGE_COUNT];
+    private int sections;
+    private int pendingSections;
+
+    public void addWorld(ServerWorld world) {
+        for (WorldChunk chunk : SectionIndexes.loadedChunks(world).values()) {
+            for (ChunkSection section : chunk.getSectionArray()) {
+                add(section);
+            }
+        }
+    }
+
+    /**
+     * Adds the loaded sections intersecting the box, so the box is effectively rounded out
+     * to whole sections.
+     */
+    public void addBox(ServerWorld world, BlockBox box) {
+        int minSectionY = Math.max(box.getMinY(), world.getBottomY()) >> 4;
+        int maxSectionY = Math.min(box.getMaxY(), world.getTopYInclusive()) >> 4;
+        for (int chunkX = box.getMinX() >> 4; chunkX <= box.getMaxX() >> 4; chunkX++) {
+            for (int chunkZ = box.getMinZ() >> 4; chunkZ <= box.getMaxZ() >> 4; chunkZ++) {
+                WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+                if (chunk == null) {
+                    continue;
+                }
+                for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                    add(chunk.getSection(world.sectionCoordToIndex(sectionY)));
+                }
+            }
+        }
+    }
+
+    private void add(ChunkSection section) {
+        this.sections++;
+        SectionIndex index = SectionIndexes.get(section);
+        if (index == null) {
+            this.pendingSections++;
+            return;
+        }
+        for (int stage = 0; stage < OxidationTable.STAGE_COUNT; stage++) {
+            this.counts[stage] += index.count(stage);
+            this.waxedCounts[stage] += index.waxedCount(stage);
+        }
+    }
+
+    public long count(int stage) {
+        return this.counts[stage];
+    }
+
+    public long waxedCount(int stage) {
+        return this.waxedCounts[stage];
+    }
+
+    public long total() {
+        long total = 0;
+        for (int stage = 0; stage < OxidationTable.STAGE_COUNT; stage++) {
+            total += this.counts[stage] + this.waxedCounts[stage];
+        }
+        return total;
+    }
+
+    public int sections() {
+        return this.sections;
+    }
+
+    public int pendingSections() {
+        return this.pendingSections;
+    }
+}
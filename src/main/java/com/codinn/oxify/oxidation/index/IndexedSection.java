@@ -0,0 +1,31 @@
+package com.codinn.oxify.oxidation.index;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Implemented on {@link net.minecraft.world.chunk.ChunkSection} by a mixin to carry its
+ * {@link SectionIndex}.
+ */
+public interface IndexedSection {
+
+    @Nullable
+    SectionIndex oxify$getIndex();
+
+    void oxify$setIndex(@Nullable SectionIndex index);
+
+    /**
+     * Whether the section belongs to a loaded server chunk. Block changes of other sections,
+     * such as client or world generation ones, are not followed.
+     */
+    boolean oxify$isTracked();
+
+    void oxify$setTracked(boolean tracked);
+
+    /**
+     * Incremented on every copper change, installed index or not, so an index built from an
+     * older snapshot can be detected as stale.
+     */
+    int oxify$getVersion();
+
+    void oxify$bumpVersion();
+}
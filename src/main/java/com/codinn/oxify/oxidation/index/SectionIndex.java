@@ -0,0 +1,160 @@
+package com.codinn.oxify.oxidation.index;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.bulk.SectionBitSet;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.world.chunk.PalettedContainer;
+
+/**
+ * Copper positions of one chunk section: a bitset per oxidation stage for unwaxed copper,
+ * one for waxed copper, and block counts per stage for both. Bitsets are allocated on first
+ * use, so sections without copper cost a few bytes.
+ * <p>
+ * Only touched on the server thread once installed on a section.
+ */
+public final class SectionIndex {
+
+    private static final int WORDS = SectionBitSet.WORDS_PER_SECTION;
+
+    private final long[][] stages = new long[OxidationTable.STAGE_COUNT][];
+    private final int[] counts = new int[OxidationTable.STAGE_COUNT];
+    private final int[] waxedCounts = new int[OxidationTable.STAGE_COUNT];
+    private long[] waxed;
+
+    /**
+     * Builds the index of a section's block states; safe to call on a copied container from
+     * any thread.
+     */
+    public static SectionIndex build(PalettedContainer<BlockState> container, OxidationTable table) {
+        SectionIndex index = new SectionIndex();
+        for (int i = 0; i < 4096; i++) {
+            int rawId = OxidationTable.rawId(container.get(i & 15, i >>> 8 & 15, i >>> 4 & 15));
+            if (table.isCopper(rawId)) {
+                index.add(i, rawId, table);
+            }
+        }
+        return index;
+    }
+
+    public int count(int stage) {
+        return this.counts[stage];
+    }
+
+    public int waxedCount(int stage) {
+        return this.waxedCounts[stage];
+    }
+
+    public int total() {
+        int total = 0;
+        for (int stage = 0; stage < OxidationTable.STAGE_COUNT; stage++) {
+            total += this.counts[stage] + this.waxedCounts[stage];
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return total() == 0;
+    }
+
+    /**
+     * Bits of the unwaxed copper at the given stage, or null if there is none. Must not be
+     * modified.
+     */
+    public long[] stageBits(int stage) {
+        return this.stages[stage];
+    }
+
+    /**
+     * Whether the position holds unwaxed copper at the given stage.
+     */
+    public boolean hasStage(int stage, int localIndex) {
+        long[] bits = this.stages[stage];
+        return bits != null && (bits[localIndex >>> 6] & 1L << localIndex) != 0;
+    }
+
+    /**
+     * Writes the bits of every copper position, waxed or not, into {@code mask}.
+     *
+     * @return the number of copper positions
+     */
+    public int copyCopper(long[] mask) {
+        for (int w = 0; w < WORDS; w++) {
+            long word = this.waxed != null ? this.waxed[w] : 0L;
+            for (long[] bits : this.stages) {
+                if (bits != null) {
+                    word |= bits[w];
+                }
+            }
+            mask[w] = word;
+        }
+        return total();
+    }
+
+    void add(int localIndex, int rawId, OxidationTable table) {
+        int stage = table.stage(rawId);
+        if (stage == OxidationTable.NONE) {
+            return;
+        }
+        if (table.isWaxed(rawId)) {
+            if (this.waxed == null) {
+                this.waxed = new long[WORDS];
+            }
+            this.waxed[localIndex >>> 6] |= 1L << localIndex;
+            this.waxedCounts[stage]++;
+        } else {
+            if (this.stages[stage] == null) {
+                this.stages[stage] = new long[WORDS];
+            }
+            this.stages[stage][localIndex >>> 6] |= 1L << localIndex;
+            this.counts[stage]++;
+        }
+    }
+
+    void remove(int localIndex, int rawId, OxidationTable table) {
+        int stage = table.stage(rawId);
+        if (stage == OxidationTable.NONE) {
+            return;
+        }
+        long bit = 1L << localIndex;
+        if (table.isWaxed(rawId)) {
+            if (this.waxed != null && (this.waxed[localIndex >>> 6] & bit) != 0) {
+                this.waxed[localIndex >>> 6] &= ~bit;
+                this.waxedCounts[stage]--;
+            }
+        } else {
+            long[] bits = this.stages[stage];
+            if (bits != null && (bits[localIndex >>> 6] & bit) != 0) {
+                bits[localIndex >>> 6] &= ~bit;
+                this.counts[stage]--;
+            }
+        }
+    }
+
+    /**
+     * Moves the masked positions up one unwaxed stage, after a palette remap advanced all of
+     * them at once. Stages are shifted from the top down so no position moves twice.
+     */
+    void advance(long[] mask) {
+        for (int stage = OxidationTable.STAGE_COUNT - 2; stage >= 0; stage--) {
+            long[] from = this.stages[stage];
+            if (from == null) {
+                continue;
+            }
+            for (int w = 0; w < WORDS; w++) {
+                long moved = from[w] & mask[w];
+                if (moved == 0L) {
+                    continue;
+                }
+                if (this.stages[stage + 1] == null) {
+                    this.stages[stage + 1] = new long[WORDS];
+                }
+                from[w] &= ~moved;
+                this.stages[stage + 1][w] |= moved;
+                int bits = Long.bitCount(moved);
+                this.counts[stage] -= bits;
+                this.counts[stage + 1] += bits;
+            }
+        }
+    }
+}
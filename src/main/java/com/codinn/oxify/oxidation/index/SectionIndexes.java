@@ -0,0 +1,159 @@
+package com.codinn.oxify.oxidation.index;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.Oxify;
+import com.codinn.oxify.oxidation.BackgroundWorkers;
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.bulk.SectionBitSet;
+import com.codinn.oxify.oxidation.bulk.SectionScanner;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Keeps a {@link SectionIndex} on every section of the loaded chunks. Indexes are built on
+ * the worker pool from copies taken when a chunk loads and installed back on the server
+ * thread, unless the section changed in between, in which case the build is retried. A
+ * section that keeps changing is indexed synchronously after {@link #MAX_BUILD_ATTEMPTS}
+ * stale builds. Once installed, the index follows every block change through the chunk
+ * section mixin.
+ */
+public final class SectionIndexes {
+
+    private static final int MAX_BUILD_ATTEMPTS = 3;
+
+    private static final Map<RegistryKey<World>, Long2ObjectOpenHashMap<WorldChunk>> LOADED = new HashMap<>();
+
+    private SectionIndexes() {}
+
+    public static void initialize() {
+        ServerChunkEvents.CHUNK_LOAD.register(SectionIndexes::onChunkLoad);
+        ServerChunkEvents.CHUNK_UNLOAD.register(SectionIndexes::onChunkUnload);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> LOADED.clear());
+    }
+
+    /**
+     * The chunks of the world whose sections are indexed, keyed by {@link ChunkPos#toLong}.
+     * Must not be modified.
+     */
+    public static Long2ObjectMap<WorldChunk> loadedChunks(ServerWorld world) {
+        Long2ObjectOpenHashMap<WorldChunk> chunks = LOADED.get(world.getRegistryKey());
+        return chunks != null ? chunks : Long2ObjectMaps.emptyMap();
+    }
+
+    /**
+     * The section's index, or null while it is still being built.
+     */
+    @Nullable
+    public static SectionIndex get(@Nullable ChunkSection section) {
+        return section == null ? null : ((IndexedSection) section).oxify$getIndex();
+    }
+
+    /**
+     * Called by the mixin after {@link ChunkSection#setBlockState} replaced a state.
+     */
+    public static void onBlockChanged(IndexedSection section, int x, int y, int z, BlockState oldState,
+            BlockState newState) {
+        OxidationTable table = OxidationTable.get();
+        int oldId = OxidationTable.rawId(oldState);
+        int newId = OxidationTable.rawId(newState);
+        boolean oldCopper = table.isCopper(oldId);
+        boolean newCopper = table.isCopper(newId);
+        if (!oldCopper && !newCopper) {
+            return;
+        }
+
+        section.oxify$bumpVersion();
+        SectionIndex index = section.oxify$getIndex();
+        if (index == null) {
+            return;
+        }
+        int localIndex = SectionBitSet.localIndex(x, y, z);
+        if (oldCopper) {
+            index.remove(localIndex, oldId, table);
+        }
+        if (newCopper) {
+            index.add(localIndex, newId, table);
+        }
+    }
+
+    /**
+     * Called after the palette remapper advanced the masked positions of a section by one
+     * stage without going through {@link ChunkSection#setBlockState}.
+     */
+    public static void onRemapped(ChunkSection section, long[] changedMask) {
+        IndexedSection indexed = (IndexedSection) section;
+        indexed.oxify$bumpVersion();
+        SectionIndex index = indexed.oxify$getIndex();
+        if (index != null) {
+            index.advance(changedMask);
+        }
+    }
+
+    private static void onChunkLoad(ServerWorld world, WorldChunk chunk) {
+        LOADED.computeIfAbsent(world.getRegistryKey(), key -> new Long2ObjectOpenHashMap<>())
+            .put(chunk.getPos().toLong(), chunk);
+        OxidationTable table = OxidationTable.get();
+        for (ChunkSection section : chunk.getSectionArray()) {
+            IndexedSection indexed = (IndexedSection) section;
+            indexed.oxify$setTracked(true);
+            if (SectionScanner.mayContain(section, table::isCopper)) {
+                indexed.oxify$setIndex(null);
+                scheduleBuild(world, section, table, 1);
+            } else {
+                indexed.oxify$setIndex(new SectionIndex());
+            }
+        }
+    }
+
+    private static void onChunkUnload(ServerWorld world, WorldChunk chunk) {
+        Long2ObjectOpenHashMap<WorldChunk> chunks = LOADED.get(world.getRegistryKey());
+        if (chunks != null) {
+            chunks.remove(chunk.getPos().toLong(), chunk);
+        }
+        for (ChunkSection section : chunk.getSectionArray()) {
+            IndexedSection indexed = (IndexedSection) section;
+            indexed.oxify$setTracked(false);
+            indexed.oxify$setIndex(null);
+        }
+    }
+
+    private static void scheduleBuild(ServerWorld world, ChunkSection section, OxidationTable table, int attempt) {
+        IndexedSection indexed = (IndexedSection) section;
+        int version = indexed.oxify$getVersion();
+        PalettedContainer<BlockState> copy = section.getBlockStateContainer().copy();
+        CompletableFuture.supplyAsync(() -> SectionIndex.build(copy, table), BackgroundWorkers.executor())
+            .thenAcceptAsync(index -> {
+                if (!indexed.oxify$isTracked()) {
+                    return;
+                }
+                if (indexed.oxify$getVersion() == version) {
+                    indexed.oxify$setIndex(index);
+                } else if (attempt < MAX_BUILD_ATTEMPTS) {
+                    scheduleBuild(world, section, OxidationTable.get(), attempt + 1);
+                } else {
+                    indexed.oxify$setIndex(SectionIndex.build(section.getBlockStateContainer(), OxidationTable.get()));
+                }
+            }, world.getServer())
+            .exceptionally(e -> {
+                Oxify.LOGGER.error("Failed to index chunk section", e);
+                return null;
+            });
+    }
+}
@@ -0,0 +1,45 @@
+package com.codinn.oxify.oxidation.job;
+
+import com.codinn.oxify.oxidation.area.AreaWalker;
+import com.codinn.oxify.oxidation.bulk.BulkOxidizer;
+
+import net.minecraft.server.world.ServerWorld;
+
+/**
+ * Runs a {@link BulkOxidizer} over an {@link AreaWalker} across as many ticks as needed.
+ */
+public class AreaOxidationJob implements OxidationJob {
+
+    private static final int SLICE = 256;
+
+    private final BulkOxidizer oxidizer;
+    private final AreaWalker walker;
+
+    public AreaOxidationJob(BulkOxidizer oxidizer, AreaWalker walker) {
+        this.oxidizer = oxidizer;
+        this.walker = walker;
+    }
+
+    @Override
+    public ServerWorld world() {
+        return this.oxidizer.cursor().world();
+    }
+
+    @Override
+    public boolean tick(long deadlineNanos) {
+        this.oxidizer.cursor().invalidate();
+        while (System.nanoTime() < deadlineNanos) {
+            if (this.oxidizer.run(this.walker, SLICE) < SLICE) {
+                this.oxidizer.batch().finish();
+                return true;
+            }
+        }
+        this.oxidizer.batch().flush();
+        return false;
+    }
+
+    @Override
+    public void cancel() {
+        this.oxidizer.batch().finish();
+    }
+}
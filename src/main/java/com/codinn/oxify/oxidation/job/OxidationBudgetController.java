@@ -0,0 +1,90 @@
+package com.codinn.oxify.oxidation.job;
+
+import com.codinn.oxify.OxifyConfig;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * Adjusts the oxidation job budget from the server's recent tick times. The budget grows
+ * additively while the server is below the target MSPT and halves when it goes above it.
+ * Independently of that, a single tick is never allowed to run past 50 ms.
+ */
+public final class OxidationBudgetController {
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long TICK_NANOS = 50L * NANOS_PER_MILLI;
+    private static final long SAFETY_NANOS = NANOS_PER_MILLI;
+    private static final double SMOOTHING = 0.2;
+
+    private static long tickStartNanos;
+    private static double budgetNanos = -1;
+    private static double averageWorkNanos;
+    private static double lastMspt;
+    private static long lastGrantedNanos;
+
+    private OxidationBudgetController() {}
+
+    public static void initialize() {
+        ServerTickEvents.START_SERVER_TICK.register(server -> tickStartNanos = System.nanoTime());
+    }
+
+    public static double budgetMillis() {
+        return currentBudgetNanos() / NANOS_PER_MILLI;
+    }
+
+    public static double lastGrantedMillis() {
+        return (double) lastGrantedNanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Recent tick time as seen by the server plus the oxidation work done after it was
+     * recorded, in milliseconds.
+     */
+    public static double msptMillis() {
+        return lastMspt;
+    }
+
+    public static double averageWorkMillis() {
+        return averageWorkNanos / NANOS_PER_MILLI;
+    }
+
+    static long grant(MinecraftServer server) {
+        long elapsed = System.nanoTime() - tickStartNanos;
+        long headroom = Math.max(0L, TICK_NANOS - elapsed - SAFETY_NANOS);
+
+        lastMspt = (server.getAverageNanosPerTick() + averageWorkNanos) / NANOS_PER_MILLI;
+        if (!OxifyConfig.jobsAdaptive) {
+            lastGrantedNanos = Math.min((long) (OxifyConfig.jobBudgetMillis * NANOS_PER_MILLI), headroom);
+            return lastGrantedNanos;
+        }
+
+        double budget = currentBudgetNanos();
+        if (lastMspt > OxifyConfig.jobsTargetMspt) {
+            budget *= 0.5;
+        } else if (lastMspt < OxifyConfig.jobsTargetMspt * 0.8) {
+            budget += OxifyConfig.jobsBudgetStepMillis * NANOS_PER_MILLI;
+        }
+        budgetNanos = Math.clamp(budget,
+            OxifyConfig.jobsMinBudgetMillis * NANOS_PER_MILLI,
+            OxifyConfig.jobsMaxBudgetMillis * NANOS_PER_MILLI);
+
+        lastGrantedNanos = Math.min((long) budgetNanos, headroom);
+        return lastGrantedNanos;
+    }
+
+    static void recordWork(long nanos) {
+        averageWorkNanos += (nanos - averageWorkNanos) * SMOOTHING;
+    }
+
+    static void recordIdle() {
+        averageWorkNanos *= 1.0 - SMOOTHING;
+    }
+
+    private static double currentBudgetNanos() {
+        if (budgetNanos < 0) {
+            budgetNanos = OxifyConfig.jobBudgetMillis * NANOS_PER_MILLI;
+        }
+        return budgetNanos;
+    }
+}
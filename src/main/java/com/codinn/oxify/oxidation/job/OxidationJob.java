@@ -0,0 +1,27 @@
+package com.codinn.oxify.oxidation.job;
+
+import net.minecraft.server.world.ServerWorld;
+
+/**
+ * Resumable unit of oxidation work drained by the {@link OxidationScheduler}.
+ */
+public interface OxidationJob {
+
+    ServerWorld world();
+
+    /**
+     * Works until the job is done or {@link System#nanoTime()} passes the deadline. No work
+     * is done once the deadline has already passed. A job with nothing to do yet, e.g. one
+     * waiting for a background computation, returns false right away and the rest of the
+     * budget goes to the jobs behind it.
+     *
+     * @return true once the job has finished
+     */
+    boolean tick(long deadlineNanos);
+
+    /**
+     * Called when the job is dropped before finishing, e.g. on server shutdown.
+     */
+    default void cancel() {
+    }
+}
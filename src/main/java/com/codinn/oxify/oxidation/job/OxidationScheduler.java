@@ -0,0 +1,110 @@
+package com.codinn.oxify.oxidation.job;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.codinn.oxify.Oxify;
+import com.codinn.oxify.oxidation.sync.SectionUpdateBroadcaster;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.World;
+
+/**
+ * Per-world queues of {@link OxidationJob}s drained at the end of every server tick within
+ * the budget granted by the {@link OxidationBudgetController}, so large operations are
+ * spread over several ticks. Jobs that are waiting on something do not hold up the jobs
+ * queued behind them.
+ */
+public final class OxidationScheduler {
+
+    private static final Map<RegistryKey<World>, ArrayDeque<OxidationJob>> QUEUES = new LinkedHashMap<>();
+
+    private OxidationScheduler() {}
+
+    public static void initialize() {
+        OxidationBudgetController.initialize();
+        ServerTickEvents.END_SERVER_TICK.register(OxidationScheduler::tick);
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> clear());
+    }
+
+    public static void submit(OxidationJob job) {
+        QUEUES.computeIfAbsent(job.world().getRegistryKey(), key -> new ArrayDeque<>()).add(job);
+    }
+
+    public static int pendingJobs() {
+        int pending = 0;
+        for (ArrayDeque<OxidationJob> queue : QUEUES.values()) {
+            pending += queue.size();
+        }
+        return pending;
+    }
+
+    public static Map<RegistryKey<World>, Integer> pendingJobsByWorld() {
+        Map<RegistryKey<World>, Integer> pending = new LinkedHashMap<>();
+        QUEUES.forEach((world, queue) -> pending.put(world, queue.size()));
+        return pending;
+    }
+
+    private static void tick(MinecraftServer server) {
+        long budgetNanos = QUEUES.isEmpty() ? 0L : OxidationBudgetController.grant(server);
+        if (budgetNanos <= 0L) {
+            OxidationBudgetController.recordIdle();
+        } else {
+            long start = System.nanoTime();
+            drain(budgetNanos);
+            OxidationBudgetController.recordWork(System.nanoTime() - start);
+        }
+        SectionUpdateBroadcaster.flush(server);
+    }
+
+    private static void drain(long budgetNanos) {
+        long start = System.nanoTime();
+        int worlds = QUEUES.size();
+        Iterator<ArrayDeque<OxidationJob>> iterator = QUEUES.values().iterator();
+        while (iterator.hasNext()) {
+            ArrayDeque<OxidationJob> queue = iterator.next();
+            long remaining = budgetNanos - (System.nanoTime() - start);
+            long deadline = System.nanoTime() + Math.max(0L, remaining / worlds--);
+
+            // Each job gets at most one turn per tick: a job that returns early is waiting and
+            // goes to the back, one that ran out of time keeps its place at the front.
+            int turns = queue.size();
+            while (turns-- > 0 && System.nanoTime() < deadline) {
+                OxidationJob job = queue.poll();
+                boolean finished;
+                try {
+                    finished = job.tick(deadline);
+                } catch (RuntimeException e) {
+                    Oxify.LOGGER.error("Oxidation job failed", e);
+                    finished = true;
+                }
+                if (finished) {
+                    continue;
+                }
+                if (System.nanoTime() < deadline) {
+                    queue.addLast(job);
+                } else {
+                    queue.addFirst(job);
+                    break;
+                }
+            }
+
+            if (queue.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static void clear() {
+        for (ArrayDeque<OxidationJob> queue : QUEUES.values()) {
+            queue.forEach(OxidationJob::cancel);
+        }
+        QUEUES.clear();
+        SectionUpdateBroadcaster.clear();
+    }
+}
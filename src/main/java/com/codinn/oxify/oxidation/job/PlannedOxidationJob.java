@@ -0,0 +1,71 @@
+package com.codinn.oxify.oxidation.job;
+
+import java.util.concurrent.CompletableFuture;
+
+import com.codinn.oxify.Oxify;
+import com.codinn.oxify.oxidation.bulk.BulkOxidizer;
+import com.codinn.oxify.oxidation.plan.OxidationPlan;
+
+import net.minecraft.server.world.ServerWorld;
+
+/**
+ * Commits an {@link OxidationPlan} computed off-thread. The job waits for the plan without
+ * holding up the tick, then applies it in slices; changes whose position no longer holds the
+ * planned-from state are re-planned from the live world by the {@link BulkOxidizer}.
+ */
+public class PlannedOxidationJob implements OxidationJob {
+
+    private static final int SLICE = 256;
+
+    private final BulkOxidizer oxidizer;
+    private final CompletableFuture<OxidationPlan> future;
+    private OxidationPlan plan;
+    private int index;
+
+    public PlannedOxidationJob(BulkOxidizer oxidizer, CompletableFuture<OxidationPlan> future) {
+        this.oxidizer = oxidizer;
+        this.future = future;
+    }
+
+    @Override
+    public ServerWorld world() {
+        return this.oxidizer.cursor().world();
+    }
+
+    @Override
+    public boolean tick(long deadlineNanos) {
+        if (this.plan == null) {
+            if (!this.future.isDone()) {
+                return false;
+            }
+            try {
+                this.plan = this.future.join();
+            } catch (RuntimeException e) {
+                Oxify.LOGGER.error("Oxidation planning failed", e);
+                this.oxidizer.batch().finish();
+                return true;
+            }
+        }
+
+        this.oxidizer.cursor().invalidate();
+        while (System.nanoTime() < deadlineNanos) {
+            int end = Math.min(this.plan.size(), this.index + SLICE);
+            for (; this.index < end && this.oxidizer.batch().canChange(); this.index++) {
+                this.oxidizer.commit(this.plan.position(this.index), this.plan.fromId(this.index),
+                    this.plan.toId(this.index));
+            }
+            if (this.index >= this.plan.size() || !this.oxidizer.batch().canChange()) {
+                this.oxidizer.batch().finish();
+                return true;
+            }
+        }
+        this.oxidizer.batch().flush();
+        return false;
+    }
+
+    @Override
+    public void cancel() {
+        this.future.cancel(false);
+        this.oxidizer.batch().finish();
+    }
+}
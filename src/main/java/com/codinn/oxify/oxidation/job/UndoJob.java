@@ -0,0 +1,108 @@
+package com.codinn.oxify.oxidation.job;
+
+import java.util.function.IntConsumer;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.bulk.BulkOxidizer;
+import com.codinn.oxify.oxidation.bulk.SectionCursor;
+import com.codinn.oxify.oxidation.sync.SectionUpdateBroadcaster;
+import com.codinn.oxify.oxidation.undo.SectionUndo;
+import com.codinn.oxify.oxidation.undo.UndoEntry;
+
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+
+/**
+ * Restores the blocks of an {@link UndoEntry} over as many ticks as needed. A position is
+ * only restored while it still holds a state the operation produced, so blocks changed since
+ * are left alone, and only where the undoing player may currently modify the world.
+ */
+public class UndoJob implements OxidationJob {
+
+    private static final int SLICE = 256;
+    private static final int SECTION_SIZE = 4096;
+
+    private final SectionCursor cursor;
+    private final ServerPlayerEntity player;
+    private final long[] sectionKeys;
+    private final SectionUndo[] sections;
+    private final IntConsumer onFinished;
+    private final BlockPos.Mutable mutable = new BlockPos.Mutable();
+    private int sectionIndex;
+    private int localIndex;
+    private int restored;
+
+    public UndoJob(ServerWorld world, ServerPlayerEntity player, UndoEntry entry, IntConsumer onFinished) {
+        this.cursor = new SectionCursor(world);
+        this.player = player;
+        this.sectionKeys = entry.sections().keySet().toLongArray();
+        this.sections = entry.sections().values().toArray(new SectionUndo[0]);
+        this.onFinished = onFinished;
+    }
+
+    @Override
+    public ServerWorld world() {
+        return this.cursor.world();
+    }
+
+    @Override
+    public boolean tick(long deadlineNanos) {
+        this.cursor.invalidate();
+        while (System.nanoTime() < deadlineNanos) {
+            if (!restoreSlice()) {
+                this.onFinished.accept(this.restored);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void cancel() {
+        this.onFinished.accept(this.restored);
+    }
+
+    /**
+     * @return false once every section has been visited
+     */
+    private boolean restoreSlice() {
+        int visited = 0;
+        while (this.sectionIndex < this.sections.length) {
+            SectionUndo section = this.sections[this.sectionIndex];
+            long key = this.sectionKeys[this.sectionIndex];
+            int baseX = ChunkSectionPos.unpackX(key) << 4;
+            int baseY = ChunkSectionPos.unpackY(key) << 4;
+            int baseZ = ChunkSectionPos.unpackZ(key) << 4;
+            for (; this.localIndex < SECTION_SIZE; this.localIndex++) {
+                if (visited == SLICE) {
+                    return true;
+                }
+                if (section.isChanged(this.localIndex)) {
+                    visited++;
+                    restore(section, baseX + (this.localIndex & 15), baseY + (this.localIndex >>> 8 & 15),
+                        baseZ + (this.localIndex >>> 4 & 15));
+                }
+            }
+            this.sectionIndex++;
+            this.localIndex = 0;
+        }
+        return false;
+    }
+
+    private void restore(SectionUndo section, int x, int y, int z) {
+        int oldId = section.oldIdFor(this.cursor.rawIdAt(x, y, z));
+        if (oldId == OxidationTable.NONE) {
+            return;
+        }
+        this.mutable.set(x, y, z);
+        if (!this.player.canModifyAt(this.cursor.world(), this.mutable)) {
+            return;
+        }
+        if (this.cursor.world().setBlockState(this.mutable, OxidationTable.state(oldId), BulkOxidizer.FLAGS)) {
+            SectionUpdateBroadcaster.markChanged(this.cursor.world(), x, y, z);
+            this.restored++;
+        }
+    }
+}
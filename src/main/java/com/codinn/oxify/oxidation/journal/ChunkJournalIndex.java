@@ -0,0 +1,100 @@
+package com.codinn.oxify.oxidation.journal;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+/**
+ * Sequence numbers of journal records by chunk, in increasing order. Next to the per-chunk
+ * lists the index keeps the chunk of every sequence in order, so entries the ring has
+ * overwritten are dropped for all chunks once the oldest sequence has moved on by
+ * {@link #PRUNE_STEP}; the index therefore never holds much more than the ring's capacity.
+ */
+final class ChunkJournalIndex {
+
+    static final int PRUNE_STEP = 4096;
+
+    private final Long2ObjectOpenHashMap<LongArrayList> chunks = new Long2ObjectOpenHashMap<>();
+    private final LongArrayFIFOQueue order = new LongArrayFIFOQueue();
+    private long orderHead;
+
+    /**
+     * Adds the next sequence number; sequences must be added consecutively.
+     *
+     * @param oldest sequence number of the oldest record still in the ring
+     */
+    synchronized void add(long pos, long sequence, long oldest) {
+        long key = chunkKey(pos);
+        if (this.order.isEmpty()) {
+            this.orderHead = sequence;
+        }
+        this.order.enqueue(key);
+        this.chunks.computeIfAbsent(key, k -> new LongArrayList()).add(sequence);
+        if (oldest - this.orderHead >= PRUNE_STEP) {
+            pruneBefore(oldest);
+        }
+    }
+
+    /**
+     * Sequence numbers of the chunk still in the ring, oldest first.
+     */
+    synchronized long[] query(long chunkKey, long oldest) {
+        LongArrayList sequences = this.chunks.get(chunkKey);
+        if (sequences == null) {
+            return new long[0];
+        }
+        prune(sequences, oldest);
+        if (sequences.isEmpty()) {
+            this.chunks.remove(chunkKey);
+        }
+        return sequences.toLongArray();
+    }
+
+    synchronized int size() {
+        return this.order.size();
+    }
+
+    synchronized void clear() {
+        this.chunks.clear();
+        this.order.clear();
+    }
+
+    static long chunkKey(long pos) {
+        return ChunkPos.toLong(BlockPos.unpackLongX(pos) >> 4, BlockPos.unpackLongZ(pos) >> 4);
+    }
+
+    /**
+     * Drops every sequence below {@code oldest}, pruning each affected chunk once.
+     */
+    private void pruneBefore(long oldest) {
+        LongOpenHashSet touched = new LongOpenHashSet();
+        while (!this.order.isEmpty() && this.orderHead < oldest) {
+            touched.add(this.order.dequeueLong());
+            this.orderHead++;
+        }
+        for (LongIterator iterator = touched.iterator(); iterator.hasNext();) {
+            long key = iterator.nextLong();
+            LongArrayList sequences = this.chunks.get(key);
+            if (sequences != null) {
+                prune(sequences, oldest);
+                if (sequences.isEmpty()) {
+                    this.chunks.remove(key);
+                }
+            }
+        }
+    }
+
+    private static void prune(LongArrayList sequences, long oldest) {
+        int stale = 0;
+        while (stale < sequences.size() && sequences.getLong(stale) < oldest) {
+            stale++;
+        }
+        if (stale > 0) {
+            sequences.removeElements(0, stale);
+        }
+    }
+}
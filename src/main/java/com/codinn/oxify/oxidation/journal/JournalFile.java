@@ -0,0 +1,220 @@
+package com.codinn.oxify.oxidation.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+import com.codinn.oxify.Oxify;
+
+/**
+ * Fixed-size ring of 40 byte records in a file: packed position, old and new state id,
+ * player UUID and world time. A header holds the number of records ever written, so the
+ * newest {@code capacity} of them are always readable by sequence number.
+ * <p>
+ * State ids are raw ids, which only mean the same states as long as the block registry is
+ * unchanged. The header therefore also holds a fingerprint of the registry, and a journal
+ * written under another one is emptied on open.
+ * <p>
+ * Appended by the journal's flusher thread only, through a staging buffer that
+ * {@link #flush()} writes to the channel. {@link #written()} is published after the records
+ * reached the channel, so readers on other threads never see a record they asked for half
+ * written, although a record may be overwritten by the ring while they read it. The ring is
+ * not mapped: in single player a journal is opened for every world the player enters, and
+ * a mapping is only unmapped once the garbage collector finds it, so the rings of worlds
+ * already left would stay mapped and their files open.
+ */
+final class JournalFile {
+
+    static final int RECORD_SIZE = 40;
+    private static final int HEADER_SIZE = 64;
+    private static final int MAGIC = 0x4F584A31;
+    private static final int WRITTEN_OFFSET = 16;
+    private static final int FINGERPRINT_OFFSET = 24;
+    private static final int STAGED_RECORDS = 1024;
+    private static final long MAX_CAPACITY = (Long.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long capacity;
+    private final long fingerprint;
+    private final ByteBuffer staged = ByteBuffer.allocate(STAGED_RECORDS * RECORD_SIZE);
+    private long stagedFrom;
+    private volatile long written;
+
+    private JournalFile(Path path, FileChannel channel, long capacity, long fingerprint, long written) {
+        this.path = path;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.fingerprint = fingerprint;
+        this.written = written;
+        this.stagedFrom = written;
+    }
+
+    /**
+     * @param fingerprint fingerprint of the block registry the state ids belong to
+     */
+    static JournalFile open(Path path, long requestedCapacity, long fingerprint) throws IOException {
+        Files.createDirectories(path.getParent());
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            long capacity = Math.max(1, Math.min(requestedCapacity, MAX_CAPACITY));
+            long written = 0;
+            if (channel.size() >= HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                readFully(channel, header, 0);
+                if (header.getInt(0) == MAGIC && header.getInt(4) == RECORD_SIZE) {
+                    capacity = header.getLong(8);
+                    written = header.getLong(WRITTEN_OFFSET);
+                    if (capacity != Math.min(requestedCapacity, MAX_CAPACITY)) {
+                        Oxify.LOGGER.info("Keeping journal capacity " + capacity + " of existing " + path);
+                    }
+                    if (written > 0 && header.getLong(FINGERPRINT_OFFSET) != fingerprint) {
+                        Oxify.LOGGER.warn("Clearing journal " + path + ", its state ids belong to another block "
+                            + "registry");
+                        written = 0;
+                    }
+                } else {
+                    Oxify.LOGGER.warn("Replacing unrecognized journal " + path);
+                }
+            }
+
+            JournalFile file = new JournalFile(path, channel, capacity, fingerprint, written);
+            file.writeHeader();
+            return file;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    Path path() {
+        return this.path;
+    }
+
+    /**
+     * Number of records readable through the channel.
+     */
+    long written() {
+        return this.written;
+    }
+
+    /**
+     * Sequence number of the oldest record still in the ring.
+     */
+    long oldest() {
+        return Math.max(0, this.written - this.capacity);
+    }
+
+    /**
+     * Stages a record, writing the staging buffer out when it is full.
+     *
+     * @return the record's sequence number
+     */
+    long append(long pos, int oldId, int newId, long playerMost, long playerLeast, long tick) throws IOException {
+        if (!this.staged.hasRemaining()) {
+            flush();
+        }
+        long sequence = this.stagedFrom + this.staged.position() / RECORD_SIZE;
+        this.staged.putLong(pos);
+        this.staged.putInt(oldId);
+        this.staged.putInt(newId);
+        this.staged.putLong(playerMost);
+        this.staged.putLong(playerLeast);
+        this.staged.putLong(tick);
+        return sequence;
+    }
+
+    /**
+     * Writes the staged records to the channel, splitting them where the ring wraps, and
+     * publishes them.
+     */
+    void flush() throws IOException {
+        int count = this.staged.position() / RECORD_SIZE;
+        if (count == 0) {
+            return;
+        }
+        this.staged.flip();
+        int done = 0;
+        while (done < count) {
+            long sequence = this.stagedFrom + done;
+            int run = (int) Math.min(count - done, this.capacity - sequence % this.capacity);
+            ByteBuffer slice = this.staged.slice(done * RECORD_SIZE, run * RECORD_SIZE);
+            writeFully(this.channel, slice, offset(sequence));
+            done += run;
+        }
+        this.staged.clear();
+        this.stagedFrom += count;
+        this.written = this.stagedFrom;
+    }
+
+    /**
+     * Flushes the staged records, updates the header and optionally forces the file to disk.
+     */
+    void sync(boolean force) throws IOException {
+        flush();
+        writeHeader();
+        if (force) {
+            this.channel.force(false);
+        }
+    }
+
+    void close() throws IOException {
+        try {
+            sync(true);
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    long pos(long sequence) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        readFully(this.channel, buffer, offset(sequence));
+        return buffer.getLong(0);
+    }
+
+    /**
+     * Reads a record into a buffer of {@link #RECORD_SIZE} bytes, its packed position first.
+     */
+    void read(long sequence, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        readFully(this.channel, buffer, offset(sequence));
+    }
+
+    static JournalRecord record(long sequence, ByteBuffer buffer) {
+        return new JournalRecord(sequence, buffer.getLong(0), buffer.getInt(8), buffer.getInt(12),
+            new UUID(buffer.getLong(16), buffer.getLong(24)), buffer.getLong(32));
+    }
+
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(0, MAGIC);
+        header.putInt(4, RECORD_SIZE);
+        header.putLong(8, this.capacity);
+        header.putLong(WRITTEN_OFFSET, this.written);
+        header.putLong(FINGERPRINT_OFFSET, this.fingerprint);
+        writeFully(this.channel, header, 0);
+    }
+
+    private long offset(long sequence) {
+        return HEADER_SIZE + sequence % this.capacity * RECORD_SIZE;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of journal");
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.codinn.oxify.oxidation.journal;
+
+import java.util.UUID;
+
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * One journaled block change.
+ *
+ * @param sequence position of the record in the journal since it was created
+ * @param pos      packed {@link BlockPos}
+ * @param oldId    raw state id before the change
+ * @param newId    raw state id after the change
+ * @param player   who made the change, or {@link OxidationJournal#NO_PLAYER}
+ * @param tick     world time of the change
+ */
+public record JournalRecord(long sequence, long pos, int oldId, int newId, UUID player, long tick) {
+}
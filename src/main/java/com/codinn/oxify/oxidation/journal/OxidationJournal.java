@@ -0,0 +1,344 @@
+package com.codinn.oxify.oxidation.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.Oxify;
+import com.codinn.oxify.OxifyConfig;
+import com.codinn.oxify.oxidation.BackgroundWorkers;
+
+import it.unimi.dsi.fastutil.ints.IntHeapPriorityQueue;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.Block;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+/**
+ * Audit journal of every block the oxidizer changes, one {@link JournalFile} ring per world
+ * under {@code data/oxify/journal} in the save. The server thread only appends to an
+ * in-memory batch; batches are handed over at the end of each tick to a virtual flusher
+ * thread that writes them to the file and a {@link ChunkJournalIndex}, which queries use to
+ * read only the records of the chunks they cover. Queries read the file on the IO thread.
+ * <p>
+ * The hand-over queue is bounded. While it is full a world's batch keeps growing on the
+ * server thread, and once it reaches {@link #MAX_PENDING_RECORDS} the tick waits for the
+ * flusher.
+ */
+public final class OxidationJournal {
+
+    public static final UUID NO_PLAYER = new UUID(0L, 0L);
+
+    private static final long FORCE_INTERVAL_NANOS = 5_000_000_000L;
+    private static final int QUEUE_CAPACITY = 64;
+    private static final int MAX_PENDING_RECORDS = 1 << 16;
+    private static final Batch STOP = new Batch(null);
+
+    private static final Map<RegistryKey<World>, Batch> PENDING = new HashMap<>();
+    private static final Map<RegistryKey<World>, WorldJournal> JOURNALS = new ConcurrentHashMap<>();
+    private static final BlockingQueue<Batch> QUEUE = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    @Nullable
+    private static Thread flusher;
+
+    private OxidationJournal() {}
+
+    private record WorldJournal(JournalFile file, ChunkJournalIndex index) {}
+
+    /**
+     * Records of one world appended during a tick, in columns so appending allocates nothing
+     * per record.
+     */
+    private static final class Batch {
+        private final RegistryKey<World> world;
+        private long[] positions = new long[64];
+        private int[] oldIds = new int[64];
+        private int[] newIds = new int[64];
+        private long[] playersMost = new long[64];
+        private long[] playersLeast = new long[64];
+        private long[] ticks = new long[64];
+        private int size;
+
+        private Batch(RegistryKey<World> world) {
+            this.world = world;
+        }
+
+        private void add(long pos, int oldId, int newId, UUID player, long tick) {
+            if (this.size == this.positions.length) {
+                int capacity = this.size * 2;
+                this.positions = Arrays.copyOf(this.positions, capacity);
+                this.oldIds = Arrays.copyOf(this.oldIds, capacity);
+                this.newIds = Arrays.copyOf(this.newIds, capacity);
+                this.playersMost = Arrays.copyOf(this.playersMost, capacity);
+                this.playersLeast = Arrays.copyOf(this.playersLeast, capacity);
+                this.ticks = Arrays.copyOf(this.ticks, capacity);
+            }
+            this.positions[this.size] = pos;
+            this.oldIds[this.size] = oldId;
+            this.newIds[this.size] = newId;
+            this.playersMost[this.size] = player.getMostSignificantBits();
+            this.playersLeast[this.size] = player.getLeastSignificantBits();
+            this.ticks[this.size] = tick;
+            this.size++;
+        }
+    }
+
+    public static void initialize() {
+        ServerLifecycleEvents.SERVER_STARTED.register(OxidationJournal::start);
+        ServerTickEvents.END_SERVER_TICK.register(server -> submitPending());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> stop());
+    }
+
+    public static boolean isEnabled() {
+        return flusher != null;
+    }
+
+    /**
+     * Appends a change made on the server thread.
+     */
+    public static void record(ServerWorld world, long pos, int oldId, int newId, @Nullable UUID player) {
+        if (flusher == null) {
+            return;
+        }
+        PENDING.computeIfAbsent(world.getRegistryKey(), Batch::new)
+            .add(pos, oldId, newId, player != null ? player : NO_PLAYER, world.getTime());
+    }
+
+    /**
+     * Reads the records still in the journal for positions inside the box on the IO thread,
+     * newest first.
+     *
+     * @param limit maximum number of records returned
+     */
+    public static CompletableFuture<List<JournalRecord>> query(ServerWorld world, BlockBox box, int limit) {
+        WorldJournal journal = JOURNALS.get(world.getRegistryKey());
+        if (journal == null) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        return CompletableFuture.supplyAsync(() -> read(journal, box, limit), BackgroundWorkers.io());
+    }
+
+    /**
+     * Merges the sequences of the box's chunks from the newest down and stops after
+     * {@code limit} records inside the box, so only as much of the ring is read as the
+     * answer needs.
+     */
+    private static List<JournalRecord> read(WorldJournal journal, BlockBox box, int limit) {
+        List<JournalRecord> records = new ArrayList<>();
+        JournalFile file = journal.file();
+        long oldest = file.oldest();
+        List<long[]> chunkSequences = new ArrayList<>();
+        for (int chunkX = box.getMinX() >> 4; chunkX <= box.getMaxX() >> 4; chunkX++) {
+            for (int chunkZ = box.getMinZ() >> 4; chunkZ <= box.getMaxZ() >> 4; chunkZ++) {
+                long[] sequences = journal.index().query(ChunkPos.toLong(chunkX, chunkZ), oldest);
+                if (sequences.length > 0) {
+                    chunkSequences.add(sequences);
+                }
+            }
+        }
+
+        int[] next = new int[chunkSequences.size()];
+        IntHeapPriorityQueue newest = new IntHeapPriorityQueue(next.length,
+            (a, b) -> Long.compare(chunkSequences.get(b)[next[b]], chunkSequences.get(a)[next[a]]));
+        for (int chunk = 0; chunk < next.length; chunk++) {
+            next[chunk] = chunkSequences.get(chunk).length - 1;
+            newest.enqueue(chunk);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(JournalFile.RECORD_SIZE);
+        try {
+            while (records.size() < limit && !newest.isEmpty()) {
+                int chunk = newest.dequeueInt();
+                long sequence = chunkSequences.get(chunk)[next[chunk]--];
+                if (next[chunk] >= 0) {
+                    newest.enqueue(chunk);
+                }
+                file.read(sequence, buffer);
+                long pos = buffer.getLong(0);
+                if (box.contains(BlockPos.unpackLongX(pos), BlockPos.unpackLongY(pos), BlockPos.unpackLongZ(pos))
+                        && sequence >= file.oldest()) {
+                    records.add(JournalFile.record(sequence, buffer));
+                }
+            }
+        } catch (IOException e) {
+            Oxify.LOGGER.error("Could not read oxidation journal " + file.path(), e);
+        }
+        return records;
+    }
+
+    private static void start(MinecraftServer server) {
+        if (!OxifyConfig.journalEnabled) {
+            return;
+        }
+        Path directory = server.getSavePath(WorldSavePath.ROOT).resolve("data").resolve(Oxify.MOD_ID)
+            .resolve("journal");
+        long fingerprint = registryFingerprint();
+        for (ServerWorld world : server.getWorlds()) {
+            RegistryKey<World> key = world.getRegistryKey();
+            Path path = directory.resolve(key.getValue().getNamespace() + "_"
+                + key.getValue().getPath().replace('/', '_') + ".bin");
+            try {
+                JOURNALS.put(key, new WorldJournal(JournalFile.open(path, OxifyConfig.journalCapacity, fingerprint),
+                    new ChunkJournalIndex()));
+            } catch (IOException e) {
+                Oxify.LOGGER.error("Could not open oxidation journal " + path, e);
+            }
+        }
+        flusher = Thread.ofVirtual().name("Oxify Journal").start(OxidationJournal::flushLoop);
+    }
+
+    /**
+     * Fingerprint of the raw state ids, which follow the blocks in registry order and the
+     * states of each block in turn.
+     */
+    private static long registryFingerprint() {
+        long hash = Block.STATE_IDS.size();
+        for (Block block : Registries.BLOCK) {
+            hash = hash * 31 + Registries.BLOCK.getId(block).hashCode();
+            hash = hash * 31 + block.getStateManager().getStates().size();
+        }
+        return hash;
+    }
+
+    /**
+     * Hands the pending batches to the flusher. A batch that does not fit into the queue
+     * stays pending and keeps collecting records, until it is large enough that the server
+     * thread waits for room instead.
+     */
+    private static void submitPending() {
+        Iterator<Batch> iterator = PENDING.values().iterator();
+        while (iterator.hasNext()) {
+            Batch batch = iterator.next();
+            if (QUEUE.offer(batch) || batch.size >= MAX_PENDING_RECORDS && put(batch)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static boolean put(Batch batch) {
+        try {
+            QUEUE.put(batch);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void stop() {
+        Thread thread = flusher;
+        if (thread == null) {
+            return;
+        }
+        PENDING.values().forEach(OxidationJournal::put);
+        PENDING.clear();
+        put(STOP);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusher = null;
+        for (WorldJournal journal : JOURNALS.values()) {
+            try {
+                journal.file().close();
+            } catch (IOException e) {
+                Oxify.LOGGER.error("Could not close oxidation journal " + journal.file().path(), e);
+            }
+        }
+        JOURNALS.clear();
+        QUEUE.clear();
+    }
+
+    private static void flushLoop() {
+        JOURNALS.values().forEach(OxidationJournal::rebuildIndex);
+        long lastForce = System.nanoTime();
+        try {
+            while (true) {
+                Batch batch = QUEUE.take();
+                boolean stopping = batch == STOP;
+                if (stopping) {
+                    return;
+                }
+                write(batch);
+
+                boolean force = System.nanoTime() - lastForce >= FORCE_INTERVAL_NANOS;
+                if (QUEUE.isEmpty()) {
+                    for (WorldJournal journal : JOURNALS.values()) {
+                        sync(journal.file(), force);
+                    }
+                    if (force) {
+                        lastForce = System.nanoTime();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Appends the batch and only then indexes it, so queries never find a record that has
+     * not reached the file.
+     */
+    private static void write(Batch batch) {
+        WorldJournal journal = JOURNALS.get(batch.world);
+        if (journal == null) {
+            return;
+        }
+        JournalFile file = journal.file();
+        try {
+            long first = file.written();
+            for (int i = 0; i < batch.size; i++) {
+                file.append(batch.positions[i], batch.oldIds[i], batch.newIds[i], batch.playersMost[i],
+                    batch.playersLeast[i], batch.ticks[i]);
+            }
+            file.flush();
+            long oldest = file.oldest();
+            for (int i = 0; i < batch.size; i++) {
+                journal.index().add(batch.positions[i], first + i, oldest);
+            }
+        } catch (IOException e) {
+            Oxify.LOGGER.error("Could not write oxidation journal " + file.path(), e);
+        }
+    }
+
+    private static void sync(JournalFile file, boolean force) {
+        try {
+            file.sync(force);
+        } catch (IOException e) {
+            Oxify.LOGGER.error("Could not sync oxidation journal " + file.path(), e);
+        }
+    }
+
+    private static void rebuildIndex(WorldJournal journal) {
+        JournalFile file = journal.file();
+        try {
+            for (long sequence = file.oldest(); sequence < file.written(); sequence++) {
+                journal.index().add(file.pos(sequence), sequence, 0L);
+            }
+        } catch (IOException e) {
+            Oxify.LOGGER.error("Could not index oxidation journal " + file.path(), e);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.codinn.oxify.oxidation.lock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.oxidation.bulk.SectionBitSet;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.util.Util;
+import net.minecraft.util.Uuids;
+
+/**
+ * Oxidation locks of one chunk: a 4096 bit set per section, allocated only for sections
+ * holding a locked position and dropped again once none is left, so a locked section costs
+ * 512 bytes plus 512 per owner and the others nothing. Next to the combined set each
+ * section keeps the bits every owner locked, so players can only lift their own locks;
+ * locks placed by commands belong to {@link #ADMIN}.
+ */
+public final class ChunkLocks {
+
+    public static final UUID ADMIN = Util.NIL_UUID;
+
+    private static final int WORDS = SectionBitSet.WORDS_PER_SECTION;
+
+    private record Entry(int sectionY, UUID owner, long[] bits) {
+        private static final Codec<Entry> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            Codec.INT.fieldOf("y").forGetter(Entry::sectionY),
+            Uuids.CODEC.optionalFieldOf("owner", ADMIN).forGetter(Entry::owner),
+            Codec.LONG_STREAM.xmap(LongStream::toArray, LongStream::of).fieldOf("bits").forGetter(Entry::bits))
+            .apply(instance, Entry::new));
+    }
+
+    public static final Codec<ChunkLocks> CODEC = Entry.CODEC.listOf().xmap(ChunkLocks::fromEntries,
+        ChunkLocks::toEntries);
+
+    private final Int2ObjectOpenHashMap<long[]> sections = new Int2ObjectOpenHashMap<>();
+    private final Int2ObjectOpenHashMap<Map<UUID, long[]>> owners = new Int2ObjectOpenHashMap<>();
+
+    public boolean isEmpty() {
+        return this.sections.isEmpty();
+    }
+
+    public boolean isLocked(int x, int y, int z) {
+        long[] bits = this.sections.get(y >> 4);
+        int index = SectionBitSet.localIndex(x, y, z);
+        return bits != null && (bits[index >>> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Bits of the section's locked positions, or null if it has none. Must not be modified.
+     */
+    @Nullable
+    public long[] sectionBits(int sectionY) {
+        return this.sections.get(sectionY);
+    }
+
+    /**
+     * Locks a free position for the owner, or unlocks a position the owner locked. With
+     * {@code override} any lock may be lifted.
+     *
+     * @return whether the position's lock changed
+     */
+    public boolean set(int x, int y, int z, boolean locked, UUID owner, boolean override) {
+        int sectionY = y >> 4;
+        int index = SectionBitSet.localIndex(x, y, z);
+        int word = index >>> 6;
+        long bit = 1L << index;
+        long[] bits = this.sections.get(sectionY);
+        if (locked) {
+            if (bits != null && (bits[word] & bit) != 0) {
+                return false;
+            }
+            if (bits == null) {
+                bits = new long[WORDS];
+                this.sections.put(sectionY, bits);
+            }
+            bits[word] |= bit;
+            ownerBits(sectionY, owner)[word] |= bit;
+            return true;
+        }
+
+        if (bits == null || (bits[word] & bit) == 0) {
+            return false;
+        }
+        Map<UUID, long[]> sectionOwners = this.owners.get(sectionY);
+        if (override) {
+            sectionOwners.values().removeIf(owned -> {
+                owned[word] &= ~bit;
+                return isClear(owned);
+            });
+        } else {
+            long[] owned = sectionOwners.get(owner);
+            if (owned == null || (owned[word] & bit) == 0) {
+                return false;
+            }
+            owned[word] &= ~bit;
+            if (isClear(owned)) {
+                sectionOwners.remove(owner);
+            }
+        }
+        bits[word] &= ~bit;
+        dropIfEmpty(sectionY, bits);
+        return true;
+    }
+
+    /**
+     * Locks every free position of a section for the owner, or unlocks the positions the
+     * owner locked there. With {@code override} every lock of the section is lifted.
+     *
+     * @return the number of positions whose lock changed
+     */
+    public int setSection(int sectionY, boolean locked, UUID owner, boolean override) {
+        long[] bits = this.sections.get(sectionY);
+        if (locked) {
+            if (bits == null) {
+                bits = new long[WORDS];
+                this.sections.put(sectionY, bits);
+            }
+            long[] owned = ownerBits(sectionY, owner);
+            int changed = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long free = ~bits[i];
+                owned[i] |= free;
+                changed += Long.bitCount(free);
+                bits[i] = -1L;
+            }
+            return changed;
+        }
+
+        if (bits == null) {
+            return 0;
+        }
+        if (override) {
+            this.sections.remove(sectionY);
+            this.owners.remove(sectionY);
+            return count(bits);
+        }
+        long[] owned = this.owners.get(sectionY).remove(owner);
+        if (owned == null) {
+            return 0;
+        }
+        for (int i = 0; i < WORDS; i++) {
+            bits[i] &= ~owned[i];
+        }
+        dropIfEmpty(sectionY, bits);
+        return count(owned);
+    }
+
+    private long[] ownerBits(int sectionY, UUID owner) {
+        return this.owners.computeIfAbsent(sectionY, y -> new HashMap<>())
+            .computeIfAbsent(owner, key -> new long[WORDS]);
+    }
+
+    private void dropIfEmpty(int sectionY, long[] bits) {
+        if (isClear(bits)) {
+            this.sections.remove(sectionY);
+            this.owners.remove(sectionY);
+        }
+    }
+
+    private static boolean isClear(long[] bits) {
+        for (long word : bits) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int count(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Rebuilds the locks from saved entries. A position claimed by two entries stays with
+     * the first.
+     */
+    private static ChunkLocks fromEntries(List<Entry> entries) {
+        ChunkLocks locks = new ChunkLocks();
+        for (Entry entry : entries) {
+            if (entry.bits().length != WORDS) {
+                continue;
+            }
+            long[] bits = locks.sections.computeIfAbsent(entry.sectionY(), y -> new long[WORDS]);
+            long[] owned = locks.ownerBits(entry.sectionY(), entry.owner());
+            for (int i = 0; i < WORDS; i++) {
+                long claimed = entry.bits()[i] & ~bits[i];
+                owned[i] |= claimed;
+                bits[i] |= claimed;
+            }
+        }
+        for (int sectionY : locks.sections.keySet().toIntArray()) {
+            locks.owners.get(sectionY).values().removeIf(ChunkLocks::isClear);
+            locks.dropIfEmpty(sectionY, locks.sections.get(sectionY));
+        }
+        return locks;
+    }
+
+    private List<Entry> toEntries() {
+        List<Entry> entries = new ArrayList<>();
+        for (Int2ObjectMap.Entry<Map<UUID, long[]>> section : this.owners.int2ObjectEntrySet()) {
+            for (Map.Entry<UUID, long[]> owned : section.getValue().entrySet()) {
+                entries.add(new Entry(section.getIntKey(), owned.getKey(), owned.getValue().clone()));
+            }
+        }
+        return entries;
+    }
+}
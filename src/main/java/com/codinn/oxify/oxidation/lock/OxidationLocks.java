@@ -0,0 +1,163 @@
+package com.codinn.oxify.oxidation.lock;
+
+import java.util.UUID;
+
+import com.codinn.oxify.OxifyAttachments;
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.area.AreaWalker;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Positions excluded from natural weathering, kept as {@link ChunkLocks} attached to their
+ * chunk. Checking a position is a chunk lookup and a bit test, which is what the random
+ * tick path needs; lazy aging and fast-forwarding read copies taken with {@link #capture}.
+ */
+public final class OxidationLocks {
+
+    private static final int OVERRIDE_PERMISSION_LEVEL = 2;
+
+    private OxidationLocks() {}
+
+    /**
+     * Whether natural weathering must skip the random tick of the state at the position.
+     */
+    public static boolean skipsRandomTick(BlockState state, ServerWorld world, BlockPos pos) {
+        return OxidationTable.get().isOxidizable(OxidationTable.rawId(state)) && isLocked(world, pos);
+    }
+
+    public static boolean isLocked(ServerWorld world, BlockPos pos) {
+        WorldChunk chunk = world.getChunkManager().getWorldChunk(pos.getX() >> 4, pos.getZ() >> 4);
+        ChunkLocks locks = chunk != null ? chunk.getAttached(OxifyAttachments.LOCKS) : null;
+        return locks != null && locks.isLocked(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    /**
+     * Locks or unlocks, on behalf of the player, every position of the walker that lies in a
+     * loaded chunk and that the player may modify. Players lock free positions for themselves
+     * and unlock only their own locks, unless they have permission level 2.
+     *
+     * @return the number of positions whose lock changed
+     */
+    public static int set(ServerWorld world, AreaWalker walker, boolean locked, ServerPlayerEntity player) {
+        UUID owner = player.getUuid();
+        boolean override = player.hasPermissionLevel(OVERRIDE_PERMISSION_LEVEL);
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+        int changed = 0;
+        while (walker.hasNext()) {
+            long pos = walker.next();
+            int x = BlockPos.unpackLongX(pos);
+            int y = BlockPos.unpackLongY(pos);
+            int z = BlockPos.unpackLongZ(pos);
+            WorldChunk chunk = world.getChunkManager().getWorldChunk(x >> 4, z >> 4);
+            if (chunk == null || !player.canModifyAt(world, mutable.set(x, y, z))) {
+                continue;
+            }
+            if (locks(chunk, locked).set(x, y, z, locked, owner, override)) {
+                changed++;
+                finish(chunk);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Locks or unlocks every position of the box that lies in a loaded chunk, as an admin:
+     * the locks belong to {@link ChunkLocks#ADMIN} and unlocking lifts anyone's locks.
+     *
+     * @return the number of positions whose lock changed
+     */
+    public static int set(ServerWorld world, BlockBox box, boolean locked) {
+        int minY = Math.max(box.getMinY(), world.getBottomY());
+        int maxY = Math.min(box.getMaxY(), world.getTopYInclusive());
+        int changed = 0;
+        for (int chunkX = box.getMinX() >> 4; chunkX <= box.getMaxX() >> 4; chunkX++) {
+            for (int chunkZ = box.getMinZ() >> 4; chunkZ <= box.getMaxZ() >> 4; chunkZ++) {
+                WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+                if (chunk == null) {
+                    continue;
+                }
+                ChunkLocks locks = locks(chunk, locked);
+                int minX = Math.max(box.getMinX(), chunkX << 4);
+                int maxX = Math.min(box.getMaxX(), (chunkX << 4) + 15);
+                int minZ = Math.max(box.getMinZ(), chunkZ << 4);
+                int maxZ = Math.min(box.getMaxZ(), (chunkZ << 4) + 15);
+                boolean fullColumn = maxX - minX == 15 && maxZ - minZ == 15;
+                for (int sectionY = minY >> 4; sectionY <= maxY >> 4; sectionY++) {
+                    int fromY = Math.max(minY, sectionY << 4);
+                    int toY = Math.min(maxY, (sectionY << 4) + 15);
+                    if (fullColumn && toY - fromY == 15) {
+                        changed += locks.setSection(sectionY, locked, ChunkLocks.ADMIN, true);
+                        continue;
+                    }
+                    for (int y = fromY; y <= toY; y++) {
+                        for (int z = minZ; z <= maxZ; z++) {
+                            for (int x = minX; x <= maxX; x++) {
+                                if (locks.set(x, y, z, locked, ChunkLocks.ADMIN, true)) {
+                                    changed++;
+                                }
+                            }
+                        }
+                    }
+                }
+                finish(chunk);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Copies the lock bits of the chunks in the range, keyed by {@link ChunkSectionPos#asLong}.
+     * Must be called on the server thread; the copy may be read from any thread.
+     */
+    public static Long2ObjectMap<long[]> capture(ServerWorld world, int minChunkX, int minChunkZ, int maxChunkX,
+            int maxChunkZ) {
+        Long2ObjectOpenHashMap<long[]> captured = new Long2ObjectOpenHashMap<>();
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+                ChunkLocks locks = chunk != null ? chunk.getAttached(OxifyAttachments.LOCKS) : null;
+                if (locks == null) {
+                    continue;
+                }
+                for (int sectionY = world.getBottomSectionCoord(); sectionY <= world.getTopSectionCoord(); sectionY++) {
+                    long[] bits = locks.sectionBits(sectionY);
+                    if (bits != null) {
+                        captured.put(ChunkSectionPos.asLong(chunkX, sectionY, chunkZ), bits.clone());
+                    }
+                }
+            }
+        }
+        return captured;
+    }
+
+    private static ChunkLocks locks(WorldChunk chunk, boolean create) {
+        ChunkLocks locks = chunk.getAttached(OxifyAttachments.LOCKS);
+        if (locks == null) {
+            locks = new ChunkLocks();
+            if (create) {
+                chunk.setAttached(OxifyAttachments.LOCKS, locks);
+            }
+        }
+        return locks;
+    }
+
+    /**
+     * Drops the attachment once the chunk has no lock left and marks the chunk for saving.
+     */
+    private static void finish(WorldChunk chunk) {
+        ChunkLocks locks = chunk.getAttached(OxifyAttachments.LOCKS);
+        if (locks != null && locks.isEmpty()) {
+            chunk.removeAttached(OxifyAttachments.LOCKS);
+        }
+        chunk.markNeedsSaving();
+    }
+}
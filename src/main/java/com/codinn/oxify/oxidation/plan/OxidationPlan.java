@@ -0,0 +1,50 @@
+package com.codinn.oxify.oxidation.plan;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Block changes computed against {@link SectionSnapshots}: packed positions with the state
+ * each one was planned from and the state it should become, in planning order.
+ */
+public final class OxidationPlan {
+
+    private final LongArrayList positions = new LongArrayList();
+    private final IntArrayList fromIds = new IntArrayList();
+    private final IntArrayList toIds = new IntArrayList();
+
+    public void add(long pos, int fromId, int toId) {
+        this.positions.add(pos);
+        this.fromIds.add(fromId);
+        this.toIds.add(toId);
+    }
+
+    /**
+     * Appends the changes of another plan, e.g. one planned in parallel over a disjoint area.
+     */
+    public void addAll(OxidationPlan other) {
+        this.positions.addAll(other.positions);
+        this.fromIds.addAll(other.fromIds);
+        this.toIds.addAll(other.toIds);
+    }
+
+    public int size() {
+        return this.positions.size();
+    }
+
+    /**
+     * Packed {@link BlockPos} of the change.
+     */
+    public long position(int index) {
+        return this.positions.getLong(index);
+    }
+
+    public int fromId(int index) {
+        return this.fromIds.getInt(index);
+    }
+
+    public int toId(int index) {
+        return this.toIds.getInt(index);
+    }
+}
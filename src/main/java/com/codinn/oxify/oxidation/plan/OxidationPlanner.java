@@ -0,0 +1,68 @@
+package com.codinn.oxify.oxidation.plan;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import com.codinn.oxify.oxidation.BackgroundWorkers;
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.area.AreaWalker;
+import com.codinn.oxify.oxidation.area.FloodFillWalker;
+import com.codinn.oxify.oxidation.bulk.SectionBitSet;
+
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Plans oxidation off the server thread. Plans follow the same rules as the oxidizer: every
+ * position advances by one stage through the {@link OxidationTable}, and copper doors take
+ * their other half along.
+ */
+public final class OxidationPlanner {
+
+    private OxidationPlanner() {}
+
+    public static CompletableFuture<OxidationPlan> submit(Supplier<OxidationPlan> task) {
+        return CompletableFuture.supplyAsync(task, BackgroundWorkers.executor());
+    }
+
+    /**
+     * Plans a connected-copper fill over the snapshots.
+     */
+    public static OxidationPlan planConnected(SectionSnapshots snapshots, OxidationTable table, BlockPos origin,
+            int radius, int limit, long maxChanges) {
+        FloodFillWalker walker = new FloodFillWalker(origin, radius, limit,
+            (x, y, z) -> table.isCopper(snapshots.rawIdAt(x, y, z)));
+        return plan(walker, snapshots, table, maxChanges);
+    }
+
+    public static OxidationPlan plan(AreaWalker walker, SectionSnapshots snapshots, OxidationTable table,
+            long maxChanges) {
+        OxidationPlan plan = new OxidationPlan();
+        SectionBitSet planned = new SectionBitSet();
+        while (plan.size() < maxChanges && walker.hasNext()) {
+            long pos = walker.next();
+            int x = BlockPos.unpackLongX(pos);
+            int y = BlockPos.unpackLongY(pos);
+            int z = BlockPos.unpackLongZ(pos);
+            if (!planned.add(x, y, z)) {
+                continue;
+            }
+
+            int stateId = snapshots.rawIdAt(x, y, z);
+            int nextId = table.next(stateId);
+            if (nextId == OxidationTable.NONE) {
+                continue;
+            }
+            plan.add(pos, stateId, nextId);
+
+            int partnerOffset = table.partnerOffset(stateId);
+            if (partnerOffset != 0 && planned.add(x, y + partnerOffset, z)) {
+                int partnerId = snapshots.rawIdAt(x, y + partnerOffset, z);
+                int partnerNextId = table.next(partnerId);
+                if (partnerNextId != OxidationTable.NONE) {
+                    plan.add(BlockPos.asLong(x, y + partnerOffset, z), partnerId, partnerNextId);
+                }
+            }
+        }
+        return plan;
+    }
+}
@@ -0,0 +1,89 @@
+package com.codinn.oxify.oxidation.plan;
+
+import java.util.function.IntPredicate;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.bulk.SectionScanner;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.PalettedContainer;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Copies of the block state containers of the loaded sections in a box, taken on the server
+ * thread and read-only afterwards, so they can be planned against from any thread. Sections
+ * whose palette has no entry of interest are not copied and read as {@link OxidationTable#NONE}.
+ */
+public final class SectionSnapshots {
+
+    private final Long2ObjectOpenHashMap<PalettedContainer<BlockState>> sections = new Long2ObjectOpenHashMap<>();
+    private final long tick;
+    private long cachedKey = Long.MIN_VALUE;
+    private PalettedContainer<BlockState> cached;
+
+    private SectionSnapshots(long tick) {
+        this.tick = tick;
+    }
+
+    /**
+     * Copies the loaded sections intersecting the given block box. Must be called on the
+     * server thread.
+     */
+    public static SectionSnapshots capture(ServerWorld world, int minX, int minY, int minZ, int maxX, int maxY,
+            int maxZ, IntPredicate interesting) {
+        SectionSnapshots snapshots = new SectionSnapshots(world.getTime());
+        int minSectionY = Math.max(minY, world.getBottomY()) >> 4;
+        int maxSectionY = Math.min(maxY, world.getTopYInclusive()) >> 4;
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ);
+                if (chunk == null) {
+                    continue;
+                }
+                for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                    ChunkSection section = chunk.getSection(world.sectionCoordToIndex(sectionY));
+                    if (SectionScanner.mayContain(section, interesting)) {
+                        snapshots.sections.put(ChunkSectionPos.asLong(chunkX, sectionY, chunkZ),
+                            section.getBlockStateContainer().copy());
+                    }
+                }
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * World time at which the snapshots were taken.
+     */
+    public long tick() {
+        return this.tick;
+    }
+
+    public int sectionCount() {
+        return this.sections.size();
+    }
+
+    /**
+     * Whether the section was copied, i.e. was loaded and may contain a state of interest.
+     */
+    public boolean contains(long sectionKey) {
+        return this.sections.containsKey(sectionKey);
+    }
+
+    /**
+     * Not thread-safe: each planning task reads through its own instance.
+     */
+    public int rawIdAt(int x, int y, int z) {
+        long key = ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4);
+        if (key != this.cachedKey) {
+            this.cachedKey = key;
+            this.cached = this.sections.get(key);
+        }
+        return this.cached == null ? OxidationTable.NONE
+            : OxidationTable.rawId(this.cached.get(x & 15, y & 15, z & 15));
+    }
+}
@@ -0,0 +1,162 @@
+package com.codinn.oxify.oxidation.sync;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.fabricmc.fabric.api.networking.v1.PlayerLookup;
+import net.minecraft.network.packet.Packet;
+import net.minecraft.network.packet.s2c.play.BlockUpdateS2CPacket;
+import net.minecraft.network.packet.s2c.play.ChunkDataS2CPacket;
+import net.minecraft.network.packet.s2c.play.ChunkDeltaUpdateS2CPacket;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
+
+/**
+ * Sends bulk oxidation changes to clients once per tick. Bulk writes skip the vanilla
+ * listener path, so changes are gathered here per chunk section and flushed as one delta
+ * packet per section, or as a full chunk when the deltas would be larger than that.
+ */
+public final class SectionUpdateBroadcaster {
+
+    private static final int DELTA_HEADER_BYTES = 12;
+    private static final int DELTA_ENTRY_BYTES = 4;
+    private static final int LIGHT_BYTES_PER_SECTION = 2 * 2048;
+
+    private static final Map<RegistryKey<World>, PendingWorld> PENDING = new LinkedHashMap<>();
+
+    private SectionUpdateBroadcaster() {}
+
+    public static void markChanged(ServerWorld world, int x, int y, int z) {
+        PendingWorld pending = PENDING.computeIfAbsent(world.getRegistryKey(), key -> new PendingWorld());
+        pending.section(ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4))
+            .add((short) ((x & 15) << 8 | (z & 15) << 4 | (y & 15)));
+    }
+
+    /**
+     * Marks a chunk whose section data was rewritten wholesale, so it is resent in full.
+     */
+    public static void markChunkRewritten(ServerWorld world, int chunkX, int chunkZ) {
+        PENDING.computeIfAbsent(world.getRegistryKey(), key -> new PendingWorld())
+            .rewrittenChunks.add(ChunkPos.toLong(chunkX, chunkZ));
+    }
+
+    public static void flush(MinecraftServer server) {
+        if (PENDING.isEmpty()) {
+            return;
+        }
+
+        PENDING.forEach((key, pending) -> {
+            ServerWorld world = server.getWorld(key);
+            if (world != null) {
+                pending.flush(world);
+            }
+        });
+        PENDING.clear();
+    }
+
+    public static void clear() {
+        PENDING.clear();
+    }
+
+    private static final class PendingWorld {
+
+        private final Long2ObjectOpenHashMap<ShortSet> sections = new Long2ObjectOpenHashMap<>();
+        private final LongSet rewrittenChunks = new LongOpenHashSet();
+
+        ShortSet section(long sectionKey) {
+            ShortSet positions = this.sections.get(sectionKey);
+            if (positions == null) {
+                positions = new ShortOpenHashSet();
+                this.sections.put(sectionKey, positions);
+            }
+            return positions;
+        }
+
+        void flush(ServerWorld world) {
+            Long2ObjectMap<Long2ObjectMap<ShortSet>> byChunk = new Long2ObjectOpenHashMap<>();
+            for (Long2ObjectMap.Entry<ShortSet> entry : this.sections.long2ObjectEntrySet()) {
+                long sectionKey = entry.getLongKey();
+                long chunkKey = ChunkPos.toLong(ChunkSectionPos.unpackX(sectionKey), ChunkSectionPos.unpackZ(sectionKey));
+                Long2ObjectMap<ShortSet> chunkSections = byChunk.get(chunkKey);
+                if (chunkSections == null) {
+                    chunkSections = new Long2ObjectOpenHashMap<>();
+                    byChunk.put(chunkKey, chunkSections);
+                }
+                chunkSections.put(sectionKey, entry.getValue());
+            }
+            for (long chunkKey : this.rewrittenChunks) {
+                if (!byChunk.containsKey(chunkKey)) {
+                    byChunk.put(chunkKey, null);
+                }
+            }
+
+            for (Long2ObjectMap.Entry<Long2ObjectMap<ShortSet>> entry : byChunk.long2ObjectEntrySet()) {
+                long chunkKey = entry.getLongKey();
+                WorldChunk chunk = world.getChunkManager().getWorldChunk(ChunkPos.getPackedX(chunkKey), ChunkPos.getPackedZ(chunkKey));
+                if (chunk == null) {
+                    continue;
+                }
+                Collection<ServerPlayerEntity> players = PlayerLookup.tracking(world, chunk.getPos());
+                if (players.isEmpty()) {
+                    continue;
+                }
+
+                Long2ObjectMap<ShortSet> chunkSections = entry.getValue();
+                if (chunkSections == null || this.rewrittenChunks.contains(chunkKey) || prefersFullChunk(chunk, chunkSections)) {
+                    send(players, new ChunkDataS2CPacket(chunk, world.getLightingProvider(), null, null));
+                    continue;
+                }
+
+                for (Long2ObjectMap.Entry<ShortSet> section : chunkSections.long2ObjectEntrySet()) {
+                    send(players, deltaPacket(world, chunk, section.getLongKey(), section.getValue()));
+                }
+            }
+        }
+
+        private static boolean prefersFullChunk(WorldChunk chunk, Long2ObjectMap<ShortSet> chunkSections) {
+            long deltaBytes = 0;
+            for (ShortSet positions : chunkSections.values()) {
+                deltaBytes += DELTA_HEADER_BYTES + (long) positions.size() * DELTA_ENTRY_BYTES;
+            }
+
+            long fullBytes = 0;
+            for (ChunkSection section : chunk.getSectionArray()) {
+                fullBytes += section.getPacketSize() + LIGHT_BYTES_PER_SECTION;
+            }
+            return deltaBytes > fullBytes;
+        }
+
+        private static Packet<?> deltaPacket(ServerWorld world, WorldChunk chunk, long sectionKey, ShortSet positions) {
+            ChunkSectionPos sectionPos = ChunkSectionPos.from(sectionKey);
+            ChunkSection section = chunk.getSection(world.sectionCoordToIndex(sectionPos.getSectionY()));
+            if (positions.size() == 1) {
+                short local = positions.iterator().nextShort();
+                BlockPos pos = sectionPos.unpackBlockPos(local);
+                return new BlockUpdateS2CPacket(pos, section.getBlockState(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15));
+            }
+            return new ChunkDeltaUpdateS2CPacket(sectionPos, positions, section);
+        }
+
+        private static void send(Collection<ServerPlayerEntity> players, Packet<?> packet) {
+            for (ServerPlayerEntity player : players) {
+                player.networkHandler.sendPacket(packet);
+            }
+        }
+    }
+}
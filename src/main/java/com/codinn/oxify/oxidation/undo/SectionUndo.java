@@ -0,0 +1,92 @@
+package com.codinn.oxify.oxidation.undo;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.bulk.SectionBitSet;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Undo data of one chunk section: the positions an operation changed and, for each state it
+ * produced, the state it replaced. Oxidation never maps two states onto the same one, so
+ * this inverse mapping is exact whatever the number of blocks.
+ */
+public final class SectionUndo {
+
+    private final long[] changed;
+    private final IntArrayList newIds;
+    private final IntArrayList oldIds;
+
+    SectionUndo() {
+        this(new long[SectionBitSet.WORDS_PER_SECTION], new IntArrayList(), new IntArrayList());
+    }
+
+    private SectionUndo(long[] changed, IntArrayList newIds, IntArrayList oldIds) {
+        this.changed = changed;
+        this.newIds = newIds;
+        this.oldIds = oldIds;
+    }
+
+    void record(int localIndex, int oldId, int newId) {
+        this.changed[localIndex >>> 6] |= 1L << localIndex;
+        map(newId, oldId);
+    }
+
+    void recordAll(long[] mask, int[] fromIds, int[] toIds) {
+        for (int w = 0; w < mask.length; w++) {
+            this.changed[w] |= mask[w];
+        }
+        for (int i = 0; i < fromIds.length; i++) {
+            map(toIds[i], fromIds[i]);
+        }
+    }
+
+    private void map(int newId, int oldId) {
+        if (!this.newIds.contains(newId)) {
+            this.newIds.add(newId);
+            this.oldIds.add(oldId);
+        }
+    }
+
+    public boolean isChanged(int localIndex) {
+        return (this.changed[localIndex >>> 6] & 1L << localIndex) != 0;
+    }
+
+    /**
+     * The state that {@code newId} replaced, or {@link OxidationTable#NONE} if the operation
+     * did not produce it.
+     */
+    public int oldIdFor(int newId) {
+        int index = this.newIds.indexOf(newId);
+        return index < 0 ? OxidationTable.NONE : this.oldIds.getInt(index);
+    }
+
+    void write(DataOutput output) throws IOException {
+        for (long word : this.changed) {
+            output.writeLong(word);
+        }
+        output.writeShort(this.newIds.size());
+        for (int i = 0; i < this.newIds.size(); i++) {
+            output.writeInt(this.newIds.getInt(i));
+            output.writeInt(this.oldIds.getInt(i));
+        }
+    }
+
+    static SectionUndo read(DataInput input) throws IOException {
+        long[] changed = new long[SectionBitSet.WORDS_PER_SECTION];
+        for (int w = 0; w < changed.length; w++) {
+            changed[w] = input.readLong();
+        }
+        int pairs = input.readUnsignedShort();
+        IntArrayList newIds = new IntArrayList(pairs);
+        IntArrayList oldIds = new IntArrayList(pairs);
+        for (int i = 0; i < pairs; i++) {
+            newIds.add(input.readInt());
+            oldIds.add(input.readInt());
+        }
+        return new SectionUndo(changed, newIds, oldIds);
+    }
+}
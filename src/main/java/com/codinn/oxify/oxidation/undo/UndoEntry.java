@@ -0,0 +1,109 @@
+package com.codinn.oxify.oxidation.undo;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.codinn.oxify.oxidation.bulk.SectionBitSet;
+import com.codinn.oxify.oxidation.bulk.SectionRemap;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+
+/**
+ * Everything needed to undo one oxidizer operation, as a {@link SectionUndo} per affected
+ * section. A 100k block operation touches a few dozen sections, about half a kilobyte each.
+ */
+public final class UndoEntry {
+
+    private static final int FORMAT = 1;
+
+    private final RegistryKey<World> world;
+    private final long createdTime;
+    private final Long2ObjectLinkedOpenHashMap<SectionUndo> sections;
+    private int changed;
+
+    public UndoEntry(RegistryKey<World> world, long createdTime) {
+        this(world, createdTime, new Long2ObjectLinkedOpenHashMap<>(), 0);
+    }
+
+    private UndoEntry(RegistryKey<World> world, long createdTime, Long2ObjectLinkedOpenHashMap<SectionUndo> sections,
+            int changed) {
+        this.world = world;
+        this.createdTime = createdTime;
+        this.sections = sections;
+        this.changed = changed;
+    }
+
+    public RegistryKey<World> world() {
+        return this.world;
+    }
+
+    public long createdTime() {
+        return this.createdTime;
+    }
+
+    public int changed() {
+        return this.changed;
+    }
+
+    /**
+     * Sections by {@link ChunkSectionPos} long, in the order they were first changed.
+     */
+    public Long2ObjectLinkedOpenHashMap<SectionUndo> sections() {
+        return this.sections;
+    }
+
+    public void record(int x, int y, int z, int oldId, int newId) {
+        section(ChunkSectionPos.asLong(x >> 4, y >> 4, z >> 4)).record(SectionBitSet.localIndex(x, y, z), oldId, newId);
+        this.changed++;
+    }
+
+    public void recordSection(int sectionX, int sectionY, int sectionZ, SectionRemap remap) {
+        section(ChunkSectionPos.asLong(sectionX, sectionY, sectionZ))
+            .recordAll(remap.changedMask(), remap.fromIds(), remap.toIds());
+        this.changed += remap.changed();
+    }
+
+    private SectionUndo section(long key) {
+        SectionUndo section = this.sections.get(key);
+        if (section == null) {
+            section = new SectionUndo();
+            this.sections.put(key, section);
+        }
+        return section;
+    }
+
+    void write(DataOutput output) throws IOException {
+        output.writeByte(FORMAT);
+        output.writeUTF(this.world.getValue().toString());
+        output.writeLong(this.createdTime);
+        output.writeInt(this.changed);
+        output.writeInt(this.sections.size());
+        for (var entry : this.sections.long2ObjectEntrySet()) {
+            output.writeLong(entry.getLongKey());
+            entry.getValue().write(output);
+        }
+    }
+
+    static UndoEntry read(DataInput input) throws IOException {
+        int format = input.readByte();
+        if (format != FORMAT) {
+            throw new IOException("Unknown undo format " + format);
+        }
+        RegistryKey<World> world = RegistryKey.of(RegistryKeys.WORLD, Identifier.of(input.readUTF()));
+        long createdTime = input.readLong();
+        int changed = input.readInt();
+        int count = input.readInt();
+        Long2ObjectLinkedOpenHashMap<SectionUndo> sections = new Long2ObjectLinkedOpenHashMap<>(count);
+        for (int i = 0; i < count; i++) {
+            long key = input.readLong();
+            sections.put(key, SectionUndo.read(input));
+        }
+        return new UndoEntry(world, createdTime, sections, changed);
+    }
+}
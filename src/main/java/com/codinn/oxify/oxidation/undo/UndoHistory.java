@@ -0,0 +1,170 @@
+package com.codinn.oxify.oxidation.undo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.Oxify;
+import com.codinn.oxify.OxifyConfig;
+import com.codinn.oxify.oxidation.BackgroundWorkers;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.WorldSavePath;
+
+/**
+ * Per-player undo history. The newest {@code undo.memory_entries} entries are kept in memory;
+ * older ones are spilled to GZIP files under {@code data/oxify/undo/<player>} in the world
+ * save, up to {@code undo.max_entries} per player, after which the oldest are deleted. The
+ * files are written and read on the {@link BackgroundWorkers#io()} thread, whose ordering
+ * lets a pop see every spill queued before it.
+ */
+public final class UndoHistory {
+
+    private static final String EXTENSION = ".undo.gz";
+    private static final Map<UUID, PlayerHistory> HISTORIES = new HashMap<>();
+
+    private UndoHistory() {}
+
+    private static final class PlayerHistory {
+        private final ArrayDeque<UndoEntry> memory = new ArrayDeque<>();
+        /**
+         * Only accessed on the IO thread.
+         */
+        private long nextSequence = -1;
+    }
+
+    public static void initialize() {
+        ServerLifecycleEvents.SERVER_STOPPED.register(UndoHistory::spillAll);
+    }
+
+    /**
+     * Writes every in-memory entry to disk so histories survive a restart, waiting for the
+     * writes to finish.
+     */
+    private static void spillAll(MinecraftServer server) {
+        HISTORIES.forEach((player, history) -> {
+            Path directory = directory(server, player);
+            while (!history.memory.isEmpty()) {
+                spillLater(directory, history, history.memory.pollFirst());
+            }
+        });
+        HISTORIES.clear();
+        CompletableFuture.runAsync(() -> {}, BackgroundWorkers.io()).join();
+    }
+
+    public static void push(MinecraftServer server, UUID player, UndoEntry entry) {
+        PlayerHistory history = HISTORIES.computeIfAbsent(player, uuid -> new PlayerHistory());
+        history.memory.addLast(entry);
+        int keep = Math.max(1, OxifyConfig.undoMemoryEntries);
+        while (history.memory.size() > keep) {
+            spillLater(directory(server, player), history, history.memory.pollFirst());
+        }
+    }
+
+    /**
+     * Removes the player's most recent entry, from memory or disk. The future completes with
+     * null when there is none, on the IO thread if the entry had to be read.
+     */
+    public static CompletableFuture<UndoEntry> pop(MinecraftServer server, UUID player) {
+        PlayerHistory history = HISTORIES.get(player);
+        if (history != null && !history.memory.isEmpty()) {
+            return CompletableFuture.completedFuture(history.memory.pollLast());
+        }
+        Path directory = directory(server, player);
+        return CompletableFuture.supplyAsync(() -> popSpilled(directory), BackgroundWorkers.io());
+    }
+
+    @Nullable
+    private static UndoEntry popSpilled(Path directory) {
+        List<Path> files = spilledFiles(directory);
+        for (int i = files.size() - 1; i >= 0; i--) {
+            Path file = files.get(i);
+            try {
+                try (DataInputStream input = new DataInputStream(new BufferedInputStream(
+                        new GZIPInputStream(Files.newInputStream(file))))) {
+                    return UndoEntry.read(input);
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException e) {
+                Oxify.LOGGER.error("Discarding unreadable undo entry " + file, e);
+            }
+        }
+        return null;
+    }
+
+    private static void spillLater(Path directory, PlayerHistory history, UndoEntry entry) {
+        BackgroundWorkers.io().execute(() -> spill(directory, history, entry));
+    }
+
+    private static void spill(Path directory, PlayerHistory history, UndoEntry entry) {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files = spilledFiles(directory);
+            if (history.nextSequence < 0) {
+                history.nextSequence = files.isEmpty() ? 0 : sequence(files.get(files.size() - 1)) + 1;
+            }
+
+            Path file = directory.resolve(String.format("%016d", history.nextSequence++) + EXTENSION);
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(
+                    new GZIPOutputStream(Files.newOutputStream(file))))) {
+                entry.write(output);
+            }
+            files.add(file);
+
+            int maxOnDisk = Math.max(0, OxifyConfig.undoMaxEntries - Math.max(1, OxifyConfig.undoMemoryEntries));
+            for (int i = 0; i < files.size() - maxOnDisk; i++) {
+                Files.deleteIfExists(files.get(i));
+            }
+        } catch (IOException e) {
+            Oxify.LOGGER.error("Could not spill undo entry to " + directory, e);
+        }
+    }
+
+    private static Path directory(MinecraftServer server, UUID player) {
+        return server.getSavePath(WorldSavePath.ROOT).resolve("data").resolve(Oxify.MOD_ID).resolve("undo")
+            .resolve(player.toString());
+    }
+
+    /**
+     * Spilled entries of a player, oldest first.
+     */
+    private static List<Path> spilledFiles(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return new ArrayList<>(files.filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                .sorted().toList());
+        } catch (IOException e) {
+            Oxify.LOGGER.error("Could not list undo entries in " + directory, e);
+            return new ArrayList<>();
+        }
+    }
+
+    private static long sequence(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - EXTENSION.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.codinn.oxify.oxidation.wave;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.codinn.oxify.oxidation.area.OxidizerArea;
+import com.codinn.oxify.oxidation.bulk.BulkOxidizer;
+import com.codinn.oxify.oxidation.bulk.SectionBitSet;
+import com.codinn.oxify.oxidation.bulk.SectionMask;
+import com.codinn.oxify.oxidation.job.OxidationJob;
+import com.codinn.oxify.oxidation.job.OxidationScheduler;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Oxidation waves: starting from the clicked block, connected copper is oxidized one ring
+ * per tick until the wave runs out of copper, radius or durability. Every pending position
+ * of every wave in a world is an event in that world's {@link TimingWheel}, tagged with the
+ * wave it belongs to, and copper neighbours are scheduled for the following tick as a ring
+ * expires.
+ * <p>
+ * The waves of a world are one {@link OxidationJob} drained by the {@link OxidationScheduler}
+ * within its budget. A ring the budget cuts short is finished on the next tick before the
+ * wheel moves on, so waves slow down under load instead of stalling the server.
+ */
+public final class OxidationWaves {
+
+    private static final Map<RegistryKey<World>, WorldWaves> WORLDS = new HashMap<>();
+
+    private OxidationWaves() {}
+
+    private static final class Wave {
+        private final BulkOxidizer oxidizer;
+        private final SectionMask copper;
+        private final SectionBitSet visited = new SectionBitSet();
+        private final int originX;
+        private final int originY;
+        private final int originZ;
+        private final int radius;
+        private int pending;
+        private int reached;
+
+        private Wave(BulkOxidizer oxidizer, BlockPos origin, int radius) {
+            this.oxidizer = oxidizer;
+            this.copper = SectionMask.copper(oxidizer.cursor());
+            this.originX = origin.getX();
+            this.originY = origin.getY();
+            this.originZ = origin.getZ();
+            this.radius = radius;
+        }
+    }
+
+    private static final class WorldWaves implements OxidationJob {
+        private final ServerWorld world;
+        private final TimingWheel wheel;
+        private final Int2ObjectOpenHashMap<Wave> waves = new Int2ObjectOpenHashMap<>();
+        private final LongArrayList duePositions = new LongArrayList();
+        private final IntArrayList dueTags = new IntArrayList();
+        private long dueTick;
+        private int dueIndex;
+        private int nextId;
+
+        private WorldWaves(ServerWorld world) {
+            this.world = world;
+            this.wheel = new TimingWheel(world.getTime());
+        }
+
+        @Override
+        public ServerWorld world() {
+            return this.world;
+        }
+
+        /**
+         * Expires the due events of the current ring, then further ticks of the wheel up to
+         * the world's time, until the deadline.
+         */
+        @Override
+        public boolean tick(long deadlineNanos) {
+            for (Wave wave : this.waves.values()) {
+                wave.oxidizer.cursor().invalidate();
+            }
+            while (System.nanoTime() < deadlineNanos) {
+                if (this.dueIndex < this.duePositions.size()) {
+                    expire(this, this.dueTick, this.duePositions.getLong(this.dueIndex),
+                        this.dueTags.getInt(this.dueIndex));
+                    this.dueIndex++;
+                    continue;
+                }
+                this.duePositions.clear();
+                this.dueTags.clear();
+                this.dueIndex = 0;
+                if (this.wheel.size() == 0 || this.wheel.now() > this.world.getTime()) {
+                    break;
+                }
+                this.wheel.advanceTo(this.wheel.now(), (tick, pos, tag) -> {
+                    this.dueTick = tick;
+                    this.duePositions.add(pos);
+                    this.dueTags.add(tag);
+                });
+            }
+
+            ObjectIterator<Int2ObjectMap.Entry<Wave>> iterator = this.waves.int2ObjectEntrySet().iterator();
+            while (iterator.hasNext()) {
+                Wave wave = iterator.next().getValue();
+                if (wave.pending == 0) {
+                    wave.oxidizer.batch().finish();
+                    iterator.remove();
+                } else {
+                    wave.oxidizer.batch().flush();
+                }
+            }
+            if (!this.waves.isEmpty()) {
+                return false;
+            }
+            WORLDS.remove(this.world.getRegistryKey(), this);
+            return true;
+        }
+
+        @Override
+        public void cancel() {
+            this.waves.values().forEach(wave -> wave.oxidizer.batch().finish());
+            this.waves.clear();
+            WORLDS.remove(this.world.getRegistryKey(), this);
+        }
+    }
+
+    public static void initialize() {
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> WORLDS.clear());
+    }
+
+    /**
+     * Starts a wave at the origin that will spread through copper within {@code radius}
+     * blocks, beginning with the next drain of the {@link OxidationScheduler}.
+     */
+    public static void start(BulkOxidizer oxidizer, BlockPos origin, int radius) {
+        ServerWorld world = oxidizer.cursor().world();
+        WorldWaves waves = WORLDS.get(world.getRegistryKey());
+        if (waves == null) {
+            waves = new WorldWaves(world);
+            WORLDS.put(world.getRegistryKey(), waves);
+            OxidationScheduler.submit(waves);
+        }
+        Wave wave = new Wave(oxidizer, origin, radius);
+        int id = waves.nextId++;
+        waves.waves.put(id, wave);
+        wave.visited.add(origin.getX(), origin.getY(), origin.getZ());
+        wave.pending++;
+        waves.wheel.schedule(world.getTime(), origin.asLong(), id);
+    }
+
+    private static void expire(WorldWaves waves, long tick, long pos, int tag) {
+        Wave wave = waves.waves.get(tag);
+        wave.pending--;
+        int x = BlockPos.unpackLongX(pos);
+        int y = BlockPos.unpackLongY(pos);
+        int z = BlockPos.unpackLongZ(pos);
+        if (!wave.oxidizer.batch().canChange() || wave.reached >= OxidizerArea.MAX_CONNECTED_BLOCKS
+                || !wave.copper.test(x, y, z)) {
+            return;
+        }
+
+        wave.reached++;
+        wave.oxidizer.oxidize(pos);
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    int nx = x + dx;
+                    int ny = y + dy;
+                    int nz = z + dz;
+                    if (Math.abs(nx - wave.originX) > wave.radius || Math.abs(ny - wave.originY) > wave.radius
+                            || Math.abs(nz - wave.originZ) > wave.radius || !wave.copper.test(nx, ny, nz)
+                            || !wave.visited.add(nx, ny, nz)) {
+                        continue;
+                    }
+                    wave.pending++;
+                    waves.wheel.schedule(tick + 1, BlockPos.asLong(nx, ny, nz), tag);
+                }
+            }
+        }
+    }
+}
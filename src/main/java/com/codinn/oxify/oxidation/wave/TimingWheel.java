@@ -0,0 +1,156 @@
+package com.codinn.oxify.oxidation.wave;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+
+/**
+ * Hierarchical timing wheel of delayed events, each a packed position and an int tag, keyed
+ * by game tick. Level {@code l} has {@link #SLOTS} buckets of {@code SLOTS^l} ticks each; an
+ * event goes into the lowest level whose span still covers its tick, and a higher level
+ * bucket is cascaded into the lower ones when the wheel reaches its start. Scheduling is a
+ * bucket append and every event is moved at most once per level, so both inserting and
+ * expiring cost O(1) per event, whatever the number pending.
+ * <p>
+ * Events later than the wheel's horizon wait in the top level and are cascaded again until
+ * due. Not thread-safe.
+ */
+public final class TimingWheel {
+
+    private static final int LEVEL_BITS = 6;
+    private static final int SLOTS = 1 << LEVEL_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final Bucket[][] levels = new Bucket[LEVELS][SLOTS];
+    private Bucket spare = new Bucket();
+    private long now;
+    private int size;
+
+    /**
+     * Receives the events of a tick as the wheel expires them.
+     */
+    @FunctionalInterface
+    public interface Expiry {
+        void expire(long tick, long pos, int tag);
+    }
+
+    private static final class Bucket {
+        private final LongArrayList ticks = new LongArrayList();
+        private final LongArrayList positions = new LongArrayList();
+        private final IntArrayList tags = new IntArrayList();
+
+        private void add(long tick, long pos, int tag) {
+            this.ticks.add(tick);
+            this.positions.add(pos);
+            this.tags.add(tag);
+        }
+
+        private int size() {
+            return this.ticks.size();
+        }
+
+        private void clear() {
+            this.ticks.clear();
+            this.positions.clear();
+            this.tags.clear();
+        }
+    }
+
+    /**
+     * @param startTick first tick the wheel will expire
+     */
+    public TimingWheel(long startTick) {
+        this.now = startTick;
+        for (Bucket[] level : this.levels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * Number of events scheduled and not yet expired.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Next tick the wheel will expire.
+     */
+    public long now() {
+        return this.now;
+    }
+
+    /**
+     * Schedules an event. Ticks that have already been expired are moved to the next one.
+     */
+    public void schedule(long tick, long pos, int tag) {
+        insert(Math.max(tick, this.now), pos, tag);
+        this.size++;
+    }
+
+    /**
+     * Expires every tick from {@link #now()} up to and including {@code tick}. Events the
+     * expiry schedules for a tick not yet expired are expired in the same call.
+     */
+    public void advanceTo(long tick, Expiry expiry) {
+        while (this.now <= tick) {
+            long current = this.now;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((current & (1L << LEVEL_BITS * level) - 1) == 0) {
+                    cascade(level, (int) (current >>> LEVEL_BITS * level) & SLOT_MASK);
+                }
+            }
+
+            Bucket due = detach(0, (int) current & SLOT_MASK);
+            this.now = current + 1;
+            for (int i = 0; i < due.size(); i++) {
+                this.size--;
+                expiry.expire(current, due.positions.getLong(i), due.tags.getInt(i));
+            }
+            due.clear();
+            this.spare = due;
+        }
+    }
+
+    public void clear() {
+        for (Bucket[] level : this.levels) {
+            for (Bucket bucket : level) {
+                bucket.clear();
+            }
+        }
+        this.size = 0;
+    }
+
+    private void insert(long tick, long pos, int tag) {
+        for (int level = 0; level < LEVELS - 1; level++) {
+            int shift = LEVEL_BITS * (level + 1);
+            if (tick >>> shift == this.now >>> shift) {
+                this.levels[level][(int) (tick >>> LEVEL_BITS * level) & SLOT_MASK].add(tick, pos, tag);
+                return;
+            }
+        }
+        this.levels[LEVELS - 1][(int) (tick >>> LEVEL_BITS * (LEVELS - 1)) & SLOT_MASK].add(tick, pos, tag);
+    }
+
+    private void cascade(int level, int slot) {
+        Bucket bucket = detach(level, slot);
+        for (int i = 0; i < bucket.size(); i++) {
+            insert(bucket.ticks.getLong(i), bucket.positions.getLong(i), bucket.tags.getInt(i));
+        }
+        bucket.clear();
+        this.spare = bucket;
+    }
+
+    /**
+     * Swaps the bucket out for the empty spare, so events scheduled while it is processed
+     * land in the wheel rather than in the bucket being read.
+     */
+    private Bucket detach(int level, int slot) {
+        Bucket bucket = this.levels[level][slot];
+        this.levels[level][slot] = this.spare;
+        this.spare = null;
+        return bucket;
+    }
+}
@@ -0,0 +1,98 @@
+package com.codinn.oxify.oxidation.weathering;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.lock.OxidationLocks;
+import com.codinn.oxify.oxidation.plan.OxidationPlan;
+import com.codinn.oxify.oxidation.plan.OxidationPlanner;
+import com.codinn.oxify.oxidation.plan.SectionSnapshots;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.GameRules;
+
+/**
+ * Plans the natural weathering of a box over a span of game time. The box is cut into tiles
+ * of {@link #TILE_CHUNKS} by {@link #TILE_CHUNKS} chunks that are planned in parallel, each
+ * from its own snapshots; copper across a tile border still counts as a neighbor, but as it
+ * stood at the start.
+ */
+public final class FastForward {
+
+    public static final int TILE_CHUNKS = 4;
+
+    private FastForward() {}
+
+    /**
+     * Captures the box and plans its weathering on the worker pool. Must be called on the
+     * server thread.
+     *
+     * @return the combined plan, or null if random ticks are disabled
+     */
+    @Nullable
+    public static CompletableFuture<OxidationPlan> plan(ServerWorld world, BlockBox box, long ticks) {
+        int randomTickSpeed = world.getGameRules().getInt(GameRules.RANDOM_TICK_SPEED);
+        if (randomTickSpeed <= 0) {
+            return null;
+        }
+
+        OxidationTable table = OxidationTable.get();
+        int margin = WeatheringModel.NEIGHBOR_DISTANCE;
+        int minSectionY = Math.max(box.getMinY(), world.getBottomY()) >> 4;
+        int maxSectionY = Math.min(box.getMaxY(), world.getTopYInclusive()) >> 4;
+        int tileBlocks = TILE_CHUNKS << 4;
+        List<CompletableFuture<OxidationPlan>> tiles = new ArrayList<>();
+        for (int tileX = Math.floorDiv(box.getMinX(), tileBlocks); tileX <= Math.floorDiv(box.getMaxX(), tileBlocks); tileX++) {
+            for (int tileZ = Math.floorDiv(box.getMinZ(), tileBlocks); tileZ <= Math.floorDiv(box.getMaxZ(), tileBlocks); tileZ++) {
+                int minX = Math.max(box.getMinX(), tileX * tileBlocks);
+                int minZ = Math.max(box.getMinZ(), tileZ * tileBlocks);
+                int maxX = Math.min(box.getMaxX(), tileX * tileBlocks + tileBlocks - 1);
+                int maxZ = Math.min(box.getMaxZ(), tileZ * tileBlocks + tileBlocks - 1);
+                SectionSnapshots snapshots = SectionSnapshots.capture(world, minX - margin, box.getMinY() - margin,
+                    minZ - margin, maxX + margin, box.getMaxY() + margin, maxZ + margin, table::isOxidizable);
+                if (snapshots.sectionCount() == 0) {
+                    continue;
+                }
+
+                LongArrayList sections = new LongArrayList();
+                for (int sectionX = minX >> 4; sectionX <= maxX >> 4; sectionX++) {
+                    for (int sectionZ = minZ >> 4; sectionZ <= maxZ >> 4; sectionZ++) {
+                        for (int sectionY = minSectionY; sectionY <= maxSectionY; sectionY++) {
+                            sections.add(ChunkSectionPos.asLong(sectionX, sectionY, sectionZ));
+                        }
+                    }
+                }
+                long[] sectionKeys = sections.toLongArray();
+                long[] sectionTicks = new long[sectionKeys.length];
+                Arrays.fill(sectionTicks, ticks);
+                BlockBox tile = new BlockBox(minX, box.getMinY(), minZ, maxX, box.getMaxY(), maxZ);
+                Long2ObjectMap<long[]> locks = OxidationLocks.capture(world, minX >> 4, minZ >> 4, maxX >> 4, maxZ >> 4);
+                long seed = world.getRandom().nextLong();
+                tiles.add(OxidationPlanner.submit(() -> {
+                    WeatheringPlanner planner = new WeatheringPlanner(snapshots, table, randomTickSpeed, seed)
+                        .restrictTo(tile)
+                        .excluding(locks);
+                    planner.weather(sectionKeys, sectionTicks);
+                    return planner.plan();
+                }));
+            }
+        }
+
+        return CompletableFuture.allOf(tiles.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            OxidationPlan plan = new OxidationPlan();
+            for (CompletableFuture<OxidationPlan> tile : tiles) {
+                plan.addAll(tile.join());
+            }
+            return plan;
+        });
+    }
+}
@@ -0,0 +1,144 @@
+package com.codinn.oxify.oxidation.weathering;
+
+import java.util.Arrays;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.index.SectionIndex;
+import com.codinn.oxify.oxidation.index.SectionIndexes;
+
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Counts the unwaxed copper within Manhattan distance {@link WeatheringModel#NEIGHBOR_DISTANCE}
+ * of a block by stage, from the stage bitsets of the {@link SectionIndex}es around it. The
+ * diamond is taken row by row along x, each row being a masked popcount of at most two
+ * 16 bit runs, and stages that none of the sections hold are skipped from their counts.
+ */
+final class IndexedNeighborhood {
+
+    private static final int DISTANCE = WeatheringModel.NEIGHBOR_DISTANCE;
+    private static final SectionIndex EMPTY = new SectionIndex();
+
+    private final SectionIndex[] sections = new SectionIndex[27];
+    private final boolean[] presentStages = new boolean[OxidationTable.STAGE_COUNT];
+    private int centerSectionX;
+    private int centerSectionY;
+    private int centerSectionZ;
+
+    /**
+     * Looks up the indexes of the sections the neighborhood of the block reaches into.
+     *
+     * @return false if one of them is in an unloaded chunk or not indexed yet
+     */
+    boolean gather(ServerWorld world, int x, int y, int z) {
+        center(x, y, z);
+        for (int dx = reach(x, -1); dx <= reach(x, 1); dx++) {
+            for (int dz = reach(z, -1); dz <= reach(z, 1); dz++) {
+                WorldChunk chunk = world.getChunkManager().getWorldChunk(this.centerSectionX + dx,
+                    this.centerSectionZ + dz);
+                if (chunk == null) {
+                    return false;
+                }
+                for (int dy = reach(y, -1); dy <= reach(y, 1); dy++) {
+                    int sectionY = this.centerSectionY + dy;
+                    SectionIndex index = sectionY < world.getBottomSectionCoord() || sectionY > world.getTopSectionCoord()
+                        ? EMPTY
+                        : SectionIndexes.get(chunk.getSection(world.sectionCoordToIndex(sectionY)));
+                    if (index == null) {
+                        return false;
+                    }
+                    put(dx, dy, dz, index);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Starts a neighborhood around the block, to be filled through {@link #put}.
+     */
+    void center(int x, int y, int z) {
+        this.centerSectionX = x >> 4;
+        this.centerSectionY = y >> 4;
+        this.centerSectionZ = z >> 4;
+        Arrays.fill(this.presentStages, false);
+    }
+
+    /**
+     * Sets the index of the section at the given offset from the center section.
+     */
+    void put(int dx, int dy, int dz, SectionIndex index) {
+        this.sections[slot(dx, dy, dz)] = index;
+        for (int stage = 0; stage < OxidationTable.STAGE_COUNT; stage++) {
+            this.presentStages[stage] |= index.count(stage) > 0;
+        }
+    }
+
+    /**
+     * Whether any neighbor is at an earlier stage than the given one.
+     */
+    boolean hasLower(int x, int y, int z, int stage) {
+        for (int s = 0; s < stage; s++) {
+            if (this.presentStages[s] && count(x, y, z, s) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Neighbors at the given stage, excluding the block itself.
+     */
+    int count(int x, int y, int z, int stage) {
+        if (!this.presentStages[stage]) {
+            return 0;
+        }
+
+        int total = 0;
+        for (int dy = -DISTANCE; dy <= DISTANCE; dy++) {
+            int yy = y + dy;
+            int rowReach = DISTANCE - Math.abs(dy);
+            for (int dz = -rowReach; dz <= rowReach; dz++) {
+                int zz = z + dz;
+                int r = rowReach - Math.abs(dz);
+                total += countRow(x - r, x + r, yy, zz, stage);
+            }
+        }
+        return total - (sectionAt(x, y, z).hasStage(stage, (y & 15) << 8 | (z & 15) << 4 | x & 15) ? 1 : 0);
+    }
+
+    private int countRow(int minX, int maxX, int y, int z, int stage) {
+        int total = 0;
+        int rowBase = (y & 15) << 8 | (z & 15) << 4;
+        for (int sectionX = minX >> 4; sectionX <= maxX >> 4; sectionX++) {
+            long[] bits = sectionAt(sectionX << 4, y, z).stageBits(stage);
+            if (bits == null) {
+                continue;
+            }
+            int from = Math.max(minX, sectionX << 4) & 15;
+            int to = Math.min(maxX, (sectionX << 4) + 15) & 15;
+            int row = (int) (bits[rowBase >>> 6] >>> (rowBase & 63)) & 0xFFFF;
+            int mask = (1 << to + 1) - (1 << from);
+            total += Integer.bitCount(row & mask);
+        }
+        return total;
+    }
+
+    private SectionIndex sectionAt(int x, int y, int z) {
+        return this.sections[slot((x >> 4) - this.centerSectionX, (y >> 4) - this.centerSectionY,
+            (z >> 4) - this.centerSectionZ)];
+    }
+
+    /**
+     * Section offset the neighborhood reaches in one direction along an axis: -1, 0 or 1.
+     */
+    private static int reach(int coordinate, int direction) {
+        int local = coordinate & 15;
+        return direction < 0 ? (local < DISTANCE ? -1 : 0) : (local > 15 - DISTANCE ? 1 : 0);
+    }
+
+    private static int slot(int dx, int dy, int dz) {
+        return (dx + 1) * 9 + (dy + 1) * 3 + dz + 1;
+    }
+}
@@ -0,0 +1,239 @@
+package com.codinn.oxify.oxidation.weathering;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.codinn.oxify.OxifyAttachments;
+import com.codinn.oxify.OxifyConfig;
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.bulk.BulkOxidizer;
+import com.codinn.oxify.oxidation.bulk.OxidationBatch;
+import com.codinn.oxify.oxidation.bulk.SectionCursor;
+import com.codinn.oxify.oxidation.bulk.SectionScanner;
+import com.codinn.oxify.oxidation.job.OxidationScheduler;
+import com.codinn.oxify.oxidation.job.PlannedOxidationJob;
+import com.codinn.oxify.oxidation.lock.OxidationLocks;
+import com.codinn.oxify.oxidation.plan.OxidationPlanner;
+import com.codinn.oxify.oxidation.plan.SectionSnapshots;
+
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.GameRules;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Time-based copper aging that replaces random-tick oxidation when {@code aging.lazy} is
+ * set. Random ticks on advanceable copper are skipped by the block state mixin; instead every
+ * chunk accumulates the time vanilla would have random-ticked it, and the weathering expected
+ * over that time is planned off-thread through the {@link WeatheringPlanner} and committed in
+ * one batch when the chunk loads and again whenever the sweep over the loaded chunks finds
+ * enough of it.
+ * <p>
+ * The clock only runs while the chunk is loaded and, as far as the sweep can tell, within
+ * random tick range of a player: each visit of the sweep, and the unload, credits the time
+ * since the previous one if the chunk is random-ticked at that moment. Only chunks holding
+ * advanceable copper keep their time, so the sweep does not make every loaded chunk save
+ * again; copper placed in a chunk without any starts aging from the sweep's next visit.
+ */
+public final class LazyAging {
+
+    private static final long MIN_ELAPSED_TICKS = 20;
+    private static final double RANDOM_TICK_DISTANCE_SQUARED = 128.0 * 128.0;
+
+    private static final Map<RegistryKey<World>, Sweep> SWEEPS = new HashMap<>();
+
+    private LazyAging() {}
+
+    /**
+     * The loaded chunks of a world in sweep order, with the world time up to which each
+     * one's clock has been credited.
+     */
+    private static final class Sweep {
+        private final LongLinkedOpenHashSet chunks = new LongLinkedOpenHashSet();
+        private final Long2LongOpenHashMap creditedAt = new Long2LongOpenHashMap();
+    }
+
+    public static void initialize() {
+        ServerChunkEvents.CHUNK_LOAD.register(LazyAging::onChunkLoad);
+        ServerChunkEvents.CHUNK_UNLOAD.register(LazyAging::onChunkUnload);
+        ServerTickEvents.END_WORLD_TICK.register(LazyAging::sweep);
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> SWEEPS.clear());
+    }
+
+    /**
+     * Whether the random tick of the state is left to lazy aging. Called by the block state
+     * mixin on every random tick, so it only does an array lookup.
+     */
+    public static boolean skipsRandomTick(BlockState state) {
+        return OxifyConfig.agingLazy && OxidationTable.get().canAdvance(OxidationTable.rawId(state));
+    }
+
+    private static void onChunkLoad(ServerWorld world, WorldChunk chunk) {
+        if (!OxifyConfig.agingLazy) {
+            return;
+        }
+        long chunkKey = chunk.getPos().toLong();
+        Sweep sweep = SWEEPS.computeIfAbsent(world.getRegistryKey(), key -> new Sweep());
+        sweep.chunks.addAndMoveToLast(chunkKey);
+        sweep.creditedAt.put(chunkKey, world.getTime());
+
+        Long ticks = chunk.getAttached(OxifyAttachments.AGING_TICKS);
+        if (ticks != null && ticks >= MIN_ELAPSED_TICKS) {
+            catchUp(world, chunk, ticks);
+        }
+    }
+
+    /**
+     * Stops the chunk's clock, crediting it the time since the sweep last did so.
+     */
+    private static void onChunkUnload(ServerWorld world, WorldChunk chunk) {
+        Sweep sweep = SWEEPS.get(world.getRegistryKey());
+        if (sweep == null) {
+            return;
+        }
+        long chunkKey = chunk.getPos().toLong();
+        sweep.chunks.remove(chunkKey);
+        if (sweep.creditedAt.containsKey(chunkKey)) {
+            credit(world, chunk, sweep.creditedAt.remove(chunkKey));
+        }
+    }
+
+    private static void sweep(ServerWorld world) {
+        Sweep sweep = SWEEPS.get(world.getRegistryKey());
+        if (sweep == null || !OxifyConfig.agingLazy) {
+            return;
+        }
+
+        long now = world.getTime();
+        for (int i = Math.min(OxifyConfig.agingChunksPerTick, sweep.chunks.size()); i > 0; i--) {
+            long chunkKey = sweep.chunks.removeFirstLong();
+            WorldChunk chunk = world.getChunkManager().getWorldChunk(ChunkPos.getPackedX(chunkKey),
+                ChunkPos.getPackedZ(chunkKey));
+            if (chunk == null) {
+                sweep.creditedAt.remove(chunkKey);
+                continue;
+            }
+            sweep.chunks.addAndMoveToLast(chunkKey);
+
+            long ticks = credit(world, chunk, sweep.creditedAt.put(chunkKey, now));
+            if (ticks >= OxifyConfig.agingSweepIntervalTicks) {
+                catchUp(world, chunk, ticks);
+            }
+        }
+    }
+
+    /**
+     * Adds the time since {@code creditedAt} to the chunk's aging ticks if vanilla would
+     * random-tick it now, and drops the ticks of a chunk without advanceable copper.
+     *
+     * @return the chunk's aging ticks
+     */
+    private static long credit(ServerWorld world, WorldChunk chunk, long creditedAt) {
+        Long stored = chunk.getAttached(OxifyAttachments.AGING_TICKS);
+        if (!hasAdvanceableCopper(chunk, OxidationTable.get())) {
+            if (stored != null) {
+                chunk.removeAttached(OxifyAttachments.AGING_TICKS);
+                chunk.markNeedsSaving();
+            }
+            return 0L;
+        }
+
+        long ticks = stored != null ? stored : 0L;
+        long elapsed = world.getTime() - creditedAt;
+        if (elapsed > 0 && isRandomTicked(world, chunk.getPos())) {
+            ticks += elapsed;
+        }
+        if (stored == null || ticks != stored) {
+            chunk.setAttached(OxifyAttachments.AGING_TICKS, ticks);
+            chunk.markNeedsSaving();
+        }
+        return ticks;
+    }
+
+    /**
+     * Whether vanilla random-ticks the chunk: it is inside simulation distance and a player
+     * who is not a spectator is within 128 blocks of its center.
+     */
+    private static boolean isRandomTicked(ServerWorld world, ChunkPos pos) {
+        if (!world.shouldTick(pos)) {
+            return false;
+        }
+        double centerX = pos.getStartX() + 8.0;
+        double centerZ = pos.getStartZ() + 8.0;
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            double dx = centerX - player.getX();
+            double dz = centerZ - player.getZ();
+            if (!player.isSpectator() && dx * dx + dz * dz < RANDOM_TICK_DISTANCE_SQUARED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Plans and commits the aging of the chunk's copper over the given random-ticked time,
+     * and resets its aging ticks.
+     */
+    private static void catchUp(ServerWorld world, WorldChunk chunk, long ticks) {
+        chunk.setAttached(OxifyAttachments.AGING_TICKS, 0L);
+        chunk.markNeedsSaving();
+
+        OxidationTable table = OxidationTable.get();
+        int randomTickSpeed = world.getGameRules().getInt(GameRules.RANDOM_TICK_SPEED);
+        if (randomTickSpeed <= 0) {
+            return;
+        }
+
+        ChunkPos chunkPos = chunk.getPos();
+        LongArrayList sections = new LongArrayList();
+        LongArrayList elapsed = new LongArrayList();
+        for (int i = 0; i < chunk.getSectionArray().length; i++) {
+            if (SectionScanner.mayContain(chunk.getSection(i), table::canAdvance)) {
+                sections.add(ChunkSectionPos.asLong(chunkPos.x, world.sectionIndexToCoord(i), chunkPos.z));
+                elapsed.add(ticks);
+            }
+        }
+        if (sections.isEmpty()) {
+            return;
+        }
+
+        int margin = WeatheringModel.NEIGHBOR_DISTANCE;
+        SectionSnapshots snapshots = SectionSnapshots.capture(world, chunkPos.getStartX() - margin,
+            world.getBottomY(), chunkPos.getStartZ() - margin, chunkPos.getEndX() + margin, world.getTopYInclusive(),
+            chunkPos.getEndZ() + margin, table::isOxidizable);
+        Long2ObjectMap<long[]> locks = OxidationLocks.capture(world, chunkPos.x, chunkPos.z, chunkPos.x, chunkPos.z);
+        long seed = world.getRandom().nextLong();
+        long[] sectionKeys = sections.toLongArray();
+        long[] sectionTicks = elapsed.toLongArray();
+        OxidationScheduler.submit(new PlannedOxidationJob(
+            new BulkOxidizer(new SectionCursor(world), OxidationBatch.natural(world)),
+            OxidationPlanner.submit(() -> {
+                WeatheringPlanner planner = new WeatheringPlanner(snapshots, table, randomTickSpeed, seed)
+                    .excluding(locks);
+                planner.weather(sectionKeys, sectionTicks);
+                return planner.plan();
+            })));
+    }
+
+    private static boolean hasAdvanceableCopper(WorldChunk chunk, OxidationTable table) {
+        for (ChunkSection section : chunk.getSectionArray()) {
+            if (SectionScanner.mayContain(section, table::canAdvance)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,71 @@
+package com.codinn.oxify.oxidation.weathering;
+
+import com.codinn.oxify.OxifyConfig;
+import com.codinn.oxify.oxidation.OxidationTable;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Degradable;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.random.Random;
+
+/**
+ * Vanilla random-tick oxidation with the neighbor scan of {@code Degradable#tryDegrade}
+ * answered by an {@link IndexedNeighborhood} instead of reading the up to 128 surrounding
+ * block states. Random numbers are drawn exactly as vanilla draws them, so the outcome is
+ * the same for the same random sequence. The neighbors are only gathered once the
+ * degradation roll succeeds, which vanilla lets through for about one tick in eighteen.
+ * <p>
+ * Only vanilla copper is taken over, and not doors, whose upper half must not tick. Blocks
+ * whose surroundings are not fully indexed yet fall back to vanilla's own scan.
+ */
+public final class RandomTickOxidation {
+
+    private static final IndexedNeighborhood NEIGHBORHOOD = new IndexedNeighborhood();
+
+    private RandomTickOxidation() {}
+
+    /**
+     * Performs the random tick of the state if it is copper this class handles. Called by
+     * the block state mixin on the server thread.
+     *
+     * @return whether the random tick was handled
+     */
+    public static boolean randomTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
+        if (!OxifyConfig.agingIndexedNeighbors) {
+            return false;
+        }
+        OxidationTable table = OxidationTable.get();
+        int id = OxidationTable.rawId(state);
+        if (!table.canAdvance(id) || !table.isVanilla(id) || table.partnerOffset(id) != 0) {
+            return false;
+        }
+
+        if (random.nextFloat() >= WeatheringModel.DEGRADE_CHANCE) {
+            return true;
+        }
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+        if (!NEIGHBORHOOD.gather(world, x, y, z)) {
+            if (state.getBlock() instanceof Degradable<?> degradable) {
+                degradable.tryDegrade(state, world, pos, random);
+            }
+            return true;
+        }
+
+        int stage = table.stage(id);
+        if (NEIGHBORHOOD.hasLower(x, y, z, stage)) {
+            return true;
+        }
+        int same = NEIGHBORHOOD.count(x, y, z, stage);
+        int higher = 0;
+        for (int s = stage + 1; s < OxidationTable.STAGE_COUNT; s++) {
+            higher += NEIGHBORHOOD.count(x, y, z, s);
+        }
+        if (random.nextFloat() < WeatheringModel.degradeChance(stage, 0, same, higher)) {
+            world.setBlockState(pos, OxidationTable.state(table.next(id)));
+        }
+        return true;
+    }
+}
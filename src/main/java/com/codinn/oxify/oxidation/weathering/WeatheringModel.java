@@ -0,0 +1,84 @@
+package com.codinn.oxify.oxidation.weathering;
+
+import java.util.SplittableRandom;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+
+/**
+ * The random-tick oxidation of vanilla copper as a continuous-time Markov chain. A random
+ * tick degrades a block with chance {@link #DEGRADE_CHANCE} times the neighbor factor of
+ * {@code Degradable#tryDegrade}, and a block receives {@code randomTickSpeed / 4096} random
+ * ticks per game tick on average, so with its neighborhood held fixed a block is a pure-birth
+ * chain over the stages with exponential holding times.
+ */
+public final class WeatheringModel {
+
+    public static final float DEGRADE_CHANCE = 0.05688889F;
+    public static final int NEIGHBOR_DISTANCE = 4;
+    public static final int LAST_STAGE = OxidationTable.STAGE_COUNT - 1;
+
+    private static final float UNAFFECTED_MULTIPLIER = 0.75F;
+    private static final double BLOCKS_PER_SECTION = 4096.0;
+
+    private WeatheringModel() {}
+
+    /**
+     * Chance that a degradation attempt succeeds, as {@code Degradable#tryDegrade} computes
+     * it from the unwaxed copper within Manhattan distance {@link #NEIGHBOR_DISTANCE}.
+     *
+     * @param lower  neighbors at an earlier stage, which block degradation entirely
+     * @param same   neighbors at the same stage
+     * @param higher neighbors at a later stage
+     */
+    public static float degradeChance(int stage, int lower, int same, int higher) {
+        if (lower > 0) {
+            return 0.0F;
+        }
+        float f = (float) (higher + 1) / (float) (higher + same + 1);
+        return f * f * (stage == 0 ? UNAFFECTED_MULTIPLIER : 1.0F);
+    }
+
+    /**
+     * {@link #degradeChance(int, int, int, int)} from a histogram of neighbor stages.
+     */
+    public static float degradeChance(int stage, int[] neighbors) {
+        int lower = 0;
+        int higher = 0;
+        for (int s = 0; s < neighbors.length; s++) {
+            if (s < stage) {
+                lower += neighbors[s];
+            } else if (s > stage) {
+                higher += neighbors[s];
+            }
+        }
+        return degradeChance(stage, lower, neighbors[stage], higher);
+    }
+
+    /**
+     * Expected number of stage advances per game tick of a block at the given stage.
+     */
+    public static double rate(int stage, int[] neighbors, int randomTickSpeed) {
+        return randomTickSpeed / BLOCKS_PER_SECTION * DEGRADE_CHANCE * degradeChance(stage, neighbors);
+    }
+
+    /**
+     * Samples the stage a block reaches after the given number of game ticks, with the
+     * neighbor histogram held fixed. The holding time of each stage is drawn in turn until
+     * the time runs out or the block can advance no further.
+     */
+    public static int sample(int stage, int[] neighbors, double ticks, int randomTickSpeed, SplittableRandom random) {
+        double remaining = ticks;
+        while (stage < LAST_STAGE) {
+            double rate = rate(stage, neighbors, randomTickSpeed);
+            if (rate <= 0.0) {
+                break;
+            }
+            remaining -= -Math.log(1.0 - random.nextDouble()) / rate;
+            if (remaining < 0.0) {
+                break;
+            }
+            stage++;
+        }
+        return stage;
+    }
+}
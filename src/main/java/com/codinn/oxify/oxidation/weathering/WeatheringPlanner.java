@@ -0,0 +1,210 @@
+package com.codinn.oxify.oxidation.weathering;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.bulk.SectionBitSet;
+import com.codinn.oxify.oxidation.lock.OxidationLocks;
+import com.codinn.oxify.oxidation.plan.OxidationPlan;
+import com.codinn.oxify.oxidation.plan.SectionSnapshots;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+
+/**
+ * Plans natural weathering of snapshotted sections through the {@link WeatheringModel}.
+ * The elapsed time is split into rounds; within a round every block samples its stage with
+ * its neighborhood as it stood at the start of the round, and the outcomes are applied
+ * together before the next round, which approximates the coupling between neighbors.
+ * <p>
+ * Copper doors weather through their lower half, as in vanilla, and the upper half follows
+ * it. Locked positions, and those outside the optional bounds, still count as neighbors.
+ * Not thread-safe: each planning task uses its own instance.
+ */
+public final class WeatheringPlanner {
+
+    private static final long ROUND_TICKS = 12000;
+    private static final int MAX_ROUNDS = 16;
+    private static final int[][] NEIGHBOR_OFFSETS = neighborOffsets();
+
+    private final SectionSnapshots snapshots;
+    private final OxidationTable table;
+    private final int randomTickSpeed;
+    private final SplittableRandom random;
+    private final Long2IntOpenHashMap weathered = new Long2IntOpenHashMap();
+    private final int[] neighbors = new int[OxidationTable.STAGE_COUNT];
+    @Nullable
+    private BlockBox bounds;
+    private Long2ObjectMap<long[]> locks = Long2ObjectMaps.emptyMap();
+
+    public WeatheringPlanner(SectionSnapshots snapshots, OxidationTable table, int randomTickSpeed, long seed) {
+        this.snapshots = snapshots;
+        this.table = table;
+        this.randomTickSpeed = randomTickSpeed;
+        this.random = new SplittableRandom(seed);
+        this.weathered.defaultReturnValue(OxidationTable.NONE);
+    }
+
+    /**
+     * Limits weathering to the blocks inside the box; blocks outside it still count as
+     * neighbors.
+     */
+    public WeatheringPlanner restrictTo(BlockBox bounds) {
+        this.bounds = bounds;
+        return this;
+    }
+
+    /**
+     * Leaves the locked positions alone, as captured by {@link OxidationLocks#capture}.
+     */
+    public WeatheringPlanner excluding(Long2ObjectMap<long[]> locks) {
+        this.locks = locks;
+        return this;
+    }
+
+    /**
+     * Weathers the given sections, each by its own number of game ticks.
+     *
+     * @param sections packed {@link ChunkSectionPos} keys
+     * @param ticks    elapsed game ticks, pairwise with {@code sections}
+     */
+    public void weather(long[] sections, long[] ticks) {
+        long longest = Arrays.stream(ticks).max().orElse(0);
+        int rounds = (int) Math.max(1, Math.min(MAX_ROUNDS, (longest + ROUND_TICKS - 1) / ROUND_TICKS));
+        LongArrayList positions = new LongArrayList();
+        IntArrayList ids = new IntArrayList();
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < sections.length; i++) {
+                if (ticks[i] > 0) {
+                    weatherSection(sections[i], (double) ticks[i] / rounds, positions, ids);
+                }
+            }
+            for (int i = 0; i < positions.size(); i++) {
+                this.weathered.put(positions.getLong(i), ids.getInt(i));
+            }
+            positions.clear();
+            ids.clear();
+        }
+    }
+
+    /**
+     * The weathering planned so far, from the snapshotted states.
+     */
+    public OxidationPlan plan() {
+        OxidationPlan plan = new OxidationPlan();
+        for (Long2IntMap.Entry entry : this.weathered.long2IntEntrySet()) {
+            long pos = entry.getLongKey();
+            int fromId = this.snapshots.rawIdAt(BlockPos.unpackLongX(pos), BlockPos.unpackLongY(pos),
+                BlockPos.unpackLongZ(pos));
+            if (fromId != entry.getIntValue()) {
+                plan.add(pos, fromId, entry.getIntValue());
+            }
+        }
+        return plan;
+    }
+
+    private void weatherSection(long sectionKey, double ticks, LongArrayList positions, IntArrayList ids) {
+        if (!this.snapshots.contains(sectionKey)) {
+            return;
+        }
+        int baseX = ChunkSectionPos.unpackX(sectionKey) << 4;
+        int baseY = ChunkSectionPos.unpackY(sectionKey) << 4;
+        int baseZ = ChunkSectionPos.unpackZ(sectionKey) << 4;
+        long[] locked = this.locks.get(sectionKey);
+
+        for (int y = baseY; y < baseY + 16; y++) {
+            for (int z = baseZ; z < baseZ + 16; z++) {
+                for (int x = baseX; x < baseX + 16; x++) {
+                    int id = rawIdAt(x, y, z);
+                    int partnerOffset = this.table.partnerOffset(id);
+                    if (!this.table.canAdvance(id) || partnerOffset < 0
+                            || this.bounds != null && !this.bounds.contains(x, y, z)
+                            || locked != null && isSet(locked, SectionBitSet.localIndex(x, y, z))) {
+                        continue;
+                    }
+
+                    int stage = this.table.stage(id);
+                    countNeighbors(x, y, z);
+                    int steps = WeatheringModel.sample(stage, this.neighbors, ticks, this.randomTickSpeed,
+                        this.random) - stage;
+                    if (steps == 0) {
+                        continue;
+                    }
+
+                    positions.add(BlockPos.asLong(x, y, z));
+                    ids.add(advance(id, steps));
+                    if (partnerOffset != 0) {
+                        int partnerId = rawIdAt(x, y + partnerOffset, z);
+                        if (this.table.canAdvance(partnerId)) {
+                            positions.add(BlockPos.asLong(x, y + partnerOffset, z));
+                            ids.add(advance(partnerId, steps));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void countNeighbors(int x, int y, int z) {
+        Arrays.fill(this.neighbors, 0);
+        for (int[] offset : NEIGHBOR_OFFSETS) {
+            int id = rawIdAt(x + offset[0], y + offset[1], z + offset[2]);
+            if (this.table.isOxidizable(id)) {
+                this.neighbors[this.table.stage(id)]++;
+            }
+        }
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & 1L << index) != 0;
+    }
+
+    private int advance(int id, int steps) {
+        int result = id;
+        for (int i = 0; i < steps && this.table.next(result) != OxidationTable.NONE; i++) {
+            result = this.table.next(result);
+        }
+        return result;
+    }
+
+    private int rawIdAt(int x, int y, int z) {
+        int id = this.weathered.get(BlockPos.asLong(x, y, z));
+        return id != OxidationTable.NONE ? id : this.snapshots.rawIdAt(x, y, z);
+    }
+
+    /**
+     * Offsets within Manhattan distance {@link WeatheringModel#NEIGHBOR_DISTANCE}, excluding
+     * the origin.
+     */
+    private static int[][] neighborOffsets() {
+        int distance = WeatheringModel.NEIGHBOR_DISTANCE;
+        IntArrayList packed = new IntArrayList();
+        for (int dy = -distance; dy <= distance; dy++) {
+            for (int dz = -distance; dz <= distance; dz++) {
+                for (int dx = -distance; dx <= distance; dx++) {
+                    int manhattan = Math.abs(dx) + Math.abs(dy) + Math.abs(dz);
+                    if (manhattan > 0 && manhattan <= distance) {
+                        packed.add(dx);
+                        packed.add(dy);
+                        packed.add(dz);
+                    }
+                }
+            }
+        }
+        int[][] offsets = new int[packed.size() / 3][];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = new int[] {packed.getInt(i * 3), packed.getInt(i * 3 + 1), packed.getInt(i * 3 + 2)};
+        }
+        return offsets;
+    }
+}
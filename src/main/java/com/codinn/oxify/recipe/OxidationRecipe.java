@@ -0,0 +1,55 @@
+package com.codinn.oxify.recipe;
+
+import com.codinn.oxify.OxifyRecipes;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.recipe.Ingredient;
+import net.minecraft.recipe.RecipeSerializer;
+import net.minecraft.recipe.RecipeType;
+import net.minecraft.recipe.SingleStackRecipe;
+import net.minecraft.recipe.book.RecipeBookCategories;
+import net.minecraft.recipe.book.RecipeBookCategory;
+
+/**
+ * An {@code oxify:oxidation} recipe, turning one item into its weathered form. Recipes are
+ * not matched through the recipe manager but compiled into the {@link OxidationRecipeIndex}.
+ * Conversion is always one item for one, so the count of the result is ignored.
+ */
+public class OxidationRecipe extends SingleStackRecipe {
+
+    public OxidationRecipe(String group, Ingredient ingredient, ItemStack result) {
+        super(group, ingredient, result);
+    }
+
+    public Item resultItem() {
+        return result().getItem();
+    }
+
+    @Override
+    public RecipeSerializer<OxidationRecipe> getSerializer() {
+        return OxifyRecipes.OXIDATION_SERIALIZER;
+    }
+
+    @Override
+    public RecipeType<OxidationRecipe> getType() {
+        return OxifyRecipes.OXIDATION;
+    }
+
+    @Override
+    public RecipeBookCategory getRecipeBookCategory() {
+        return RecipeBookCategories.CRAFTING_MISC;
+    }
+
+    @Override
+    public boolean isIgnoredInRecipeBook() {
+        return true;
+    }
+
+    public static class Serializer extends SingleStackRecipe.Serializer<OxidationRecipe> {
+
+        public Serializer() {
+            super(OxidationRecipe::new);
+        }
+    }
+}
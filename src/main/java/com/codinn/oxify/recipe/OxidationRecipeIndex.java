@@ -0,0 +1,92 @@
+package com.codinn.oxify.recipe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codinn.oxify.Oxify;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.recipe.RecipeEntry;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.MinecraftServer;
+
+/**
+ * The {@code oxify:oxidation} recipes compiled into an array from input item raw id to
+ * result item raw id, rebuilt when the server starts and after every data pack reload.
+ * Lookups are a single array read and never touch the recipe manager.
+ */
+public final class OxidationRecipeIndex {
+
+    public static final Logger LOGGER = LoggerFactory.getLogger(Oxify.MOD_ID);
+    public static final int NONE = -1;
+
+    private static volatile int[] results = new int[0];
+
+    private OxidationRecipeIndex() {}
+
+    public static void initialize() {
+        ServerLifecycleEvents.SERVER_STARTED.register(OxidationRecipeIndex::rebuild);
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, resourceManager, success) -> {
+            if (success) {
+                rebuild(server);
+            }
+        });
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> results = new int[0]);
+    }
+
+    /**
+     * @return the raw id of the item the given item weathers into, or {@link #NONE}
+     */
+    public static int resultOf(int itemRawId) {
+        int[] current = results;
+        return itemRawId >= 0 && itemRawId < current.length ? current[itemRawId] : NONE;
+    }
+
+    @Nullable
+    public static Item resultOf(Item item) {
+        int result = resultOf(Registries.ITEM.getRawId(item));
+        return result == NONE ? null : Registries.ITEM.get(result);
+    }
+
+    /**
+     * Tests every registered item against the recipes once, so the first recipe accepting
+     * an item decides its result, as the recipe manager would.
+     */
+    private static void rebuild(MinecraftServer server) {
+        List<OxidationRecipe> recipes = new ArrayList<>();
+        for (RecipeEntry<?> entry : server.getRecipeManager().values()) {
+            if (entry.value() instanceof OxidationRecipe recipe && recipe.resultItem() != Items.AIR) {
+                recipes.add(recipe);
+            }
+        }
+
+        int[] compiled = new int[Registries.ITEM.size()];
+        Arrays.fill(compiled, NONE);
+        int indexed = 0;
+        if (!recipes.isEmpty()) {
+            for (Item item : Registries.ITEM) {
+                ItemStack stack = item.getDefaultStack();
+                if (stack.isEmpty()) {
+                    continue;
+                }
+                for (OxidationRecipe recipe : recipes) {
+                    if (recipe.ingredient().test(stack)) {
+                        compiled[Registries.ITEM.getRawId(item)] = Registries.ITEM.getRawId(recipe.resultItem());
+                        indexed++;
+                        break;
+                    }
+                }
+            }
+        }
+        results = compiled;
+        LOGGER.info("Indexed " + indexed + " items from " + recipes.size() + " oxidation recipes");
+    }
+}
@@ -0,0 +1,87 @@
+package com.codinn.oxify.oxidation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.DoorBlock;
+import net.minecraft.block.Oxidizable;
+import net.minecraft.block.enums.DoubleBlockHalf;
+import net.minecraft.item.HoneycombItem;
+
+class OxidationTableTest {
+
+    private static OxidationTable table;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        table = OxidationTable.rebuild();
+    }
+
+    private static int rawId(Optional<BlockState> state) {
+        return state.map(OxidationTable::rawId).orElse(OxidationTable.NONE);
+    }
+
+    @Test
+    void followsTheOxidizableChainsOfEveryState() {
+        for (int id = 0; id < Block.STATE_IDS.size(); id++) {
+            BlockState state = Block.STATE_IDS.get(id);
+            if (state.getBlock() instanceof Oxidizable oxidizable) {
+                assertEquals(rawId(oxidizable.getDegradationResult(state)), table.next(id), state.toString());
+                assertEquals(rawId(Oxidizable.getDecreasedOxidationState(state)), table.previous(id),
+                    state.toString());
+                assertEquals(oxidizable.getDegradationLevel().ordinal(), table.stage(id), state.toString());
+                assertTrue(table.isOxidizable(id), state.toString());
+            } else if (!HoneycombItem.WAXED_TO_UNWAXED_BLOCKS.get().containsKey(state.getBlock())) {
+                assertFalse(table.isCopper(id), state.toString());
+                assertEquals(OxidationTable.NONE, table.next(id), state.toString());
+            }
+        }
+    }
+
+    @Test
+    void neverAdvancesWaxedCopper() {
+        BlockState waxed = Blocks.WAXED_EXPOSED_CUT_COPPER_STAIRS.getDefaultState();
+        int id = OxidationTable.rawId(waxed);
+
+        assertTrue(table.isWaxed(id));
+        assertFalse(table.canAdvance(id));
+        assertEquals(1, table.stage(id));
+        assertEquals(OxidationTable.rawId(Blocks.EXPOSED_CUT_COPPER_STAIRS.getStateWithProperties(waxed)),
+            table.waxedCounterpart(id));
+    }
+
+    @Test
+    void keepsPropertiesAndFindsTheLastStage() {
+        BlockState slab = Blocks.CUT_COPPER_SLAB.getDefaultState();
+        int id = OxidationTable.rawId(slab);
+
+        assertEquals(OxidationTable.rawId(Blocks.EXPOSED_CUT_COPPER_SLAB.getStateWithProperties(slab)), table.next(id));
+        assertEquals(OxidationTable.rawId(Blocks.OXIDIZED_CUT_COPPER_SLAB.getStateWithProperties(slab)),
+            table.fullyOxidized(id));
+        assertEquals(OxidationTable.NONE, table.fullyOxidized(OxidationTable.rawId(Blocks.OXIDIZED_CUT_COPPER_SLAB
+            .getStateWithProperties(slab))));
+    }
+
+    @Test
+    void pairsTheHalvesOfCopperDoors() {
+        BlockState lower = Blocks.COPPER_DOOR.getDefaultState().with(DoorBlock.HALF, DoubleBlockHalf.LOWER);
+        BlockState upper = lower.with(DoorBlock.HALF, DoubleBlockHalf.UPPER);
+
+        assertEquals(1, table.partnerOffset(OxidationTable.rawId(lower)));
+        assertEquals(-1, table.partnerOffset(OxidationTable.rawId(upper)));
+        assertEquals(0, table.partnerOffset(OxidationTable.rawId(Blocks.COPPER_BLOCK.getDefaultState())));
+    }
+}
@@ -0,0 +1,110 @@
+package com.codinn.oxify.oxidation.area;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.HeightLimitView;
+
+class BoxWalkerTest {
+
+    private static final HeightLimitView WORLD = HeightLimitView.create(-64, 384);
+
+    /**
+     * Walks like the bulk oxidizer does, expanding every whole section the walker offers.
+     */
+    private static LongOpenHashSet walk(BoxWalker walker) {
+        LongOpenHashSet positions = new LongOpenHashSet();
+        while (walker.hasNext()) {
+            long section = walker.pendingWholeSection();
+            if (section != AreaWalker.NO_SECTION) {
+                int baseX = ChunkSectionPos.unpackX(section) << 4;
+                int baseY = ChunkSectionPos.unpackY(section) << 4;
+                int baseZ = ChunkSectionPos.unpackZ(section) << 4;
+                for (int i = 0; i < 4096; i++) {
+                    long pos = BlockPos.asLong(baseX + (i & 15), baseY + (i >>> 8), baseZ + (i >>> 4 & 15));
+                    assertTrue(positions.add(pos), "position visited twice");
+                }
+                walker.skipSection();
+                continue;
+            }
+            assertTrue(positions.add(walker.next()), "position visited twice");
+        }
+        return positions;
+    }
+
+    private static int countContained(BoxWalker walker, BlockPos origin, int radius) {
+        int count = 0;
+        for (int x = origin.getX() - radius; x <= origin.getX() + radius; x++) {
+            for (int y = origin.getY() - radius; y <= origin.getY() + radius; y++) {
+                for (int z = origin.getZ() - radius; z <= origin.getZ() + radius; z++) {
+                    if (walker.contains(x, y, z)) {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    @Test
+    void walksEveryPositionOfACubeOnce() {
+        BlockPos origin = new BlockPos(5, 64, -3);
+        LongOpenHashSet positions = walk(new BoxWalker(origin, 2, false, WORLD));
+
+        assertEquals(125, positions.size());
+        for (long pos : positions) {
+            assertTrue(Math.abs(BlockPos.unpackLongX(pos) - origin.getX()) <= 2);
+            assertTrue(Math.abs(BlockPos.unpackLongY(pos) - origin.getY()) <= 2);
+            assertTrue(Math.abs(BlockPos.unpackLongZ(pos) - origin.getZ()) <= 2);
+        }
+    }
+
+    @Test
+    void walksExactlyTheSphere() {
+        BlockPos origin = new BlockPos(-17, 10, 30);
+        BoxWalker walker = new BoxWalker(origin, 6, true, WORLD);
+        int expected = countContained(walker, origin, 6);
+
+        LongOpenHashSet positions = walk(walker);
+        assertEquals(expected, positions.size());
+        for (long pos : positions) {
+            BlockPos block = BlockPos.fromLong(pos);
+            assertTrue(walker.contains(block.getX(), block.getY(), block.getZ()));
+        }
+    }
+
+    @Test
+    void offersWholeSectionsWithoutLosingPositions() {
+        BlockPos origin = new BlockPos(8, 72, 8);
+        BoxWalker walker = new BoxWalker(origin, 20, false, WORLD);
+        boolean offered = false;
+        while (!offered && walker.hasNext()) {
+            offered = walker.pendingWholeSection() != AreaWalker.NO_SECTION;
+            walker.next();
+        }
+
+        assertTrue(offered);
+        assertEquals(41 * 41 * 41, walk(new BoxWalker(origin, 20, false, WORLD)).size());
+    }
+
+    @Test
+    void clipsToTheWorldHeight() {
+        BlockPos origin = new BlockPos(0, -62, 0);
+        LongOpenHashSet positions = walk(new BoxWalker(origin, 4, false, WORLD));
+
+        assertEquals(9 * 7 * 9, positions.size());
+        for (long pos : positions) {
+            assertTrue(BlockPos.unpackLongY(pos) >= -64);
+        }
+    }
+
+    @Test
+    void walksNothingOutsideTheWorld() {
+        assertTrue(walk(new BoxWalker(new BlockPos(0, 400, 0), 3, false, WORLD)).isEmpty());
+    }
+}
@@ -0,0 +1,136 @@
+package com.codinn.oxify.oxidation.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.world.chunk.IdListPalette;
+import net.minecraft.world.chunk.PalettedContainer;
+
+class SectionPaletteRemapperTest {
+
+    private static OxidationTable table;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        table = OxidationTable.rebuild();
+    }
+
+    private static PalettedContainer<BlockState> container() {
+        return new PalettedContainer<>(Block.STATE_IDS, Blocks.AIR.getDefaultState(),
+            PalettedContainer.PaletteProvider.BLOCK_STATE);
+    }
+
+    private static void set(PalettedContainer<BlockState> container, int index, BlockState state) {
+        container.set(index & 15, index >> 8 & 15, index >> 4 & 15, state);
+    }
+
+    private static BlockState get(PalettedContainer<BlockState> container, int index) {
+        return container.get(index & 15, index >> 8 & 15, index >> 4 & 15);
+    }
+
+    private static boolean isSet(long[] mask, int index) {
+        return (mask[index >>> 6] & 1L << index) != 0;
+    }
+
+    @Test
+    void advancesCopperEntriesAndLeavesTheRest() {
+        PalettedContainer<BlockState> container = container();
+        for (int i = 0; i < 100; i++) {
+            set(container, i, i % 2 == 0 ? Blocks.COPPER_BLOCK.getDefaultState() : Blocks.STONE.getDefaultState());
+        }
+
+        SectionRemap remap = SectionPaletteRemapper.remap(container, table);
+
+        assertNotNull(remap);
+        assertEquals(50, remap.changed());
+        assertEquals(0, remap.firstIndex());
+        assertEquals(OxidationTable.rawId(Blocks.EXPOSED_COPPER.getDefaultState()), remap.firstNewId());
+        assertArrayEquals(new int[] {OxidationTable.rawId(Blocks.COPPER_BLOCK.getDefaultState())}, remap.fromIds());
+        for (int i = 0; i < SectionPaletteRemapper.SECTION_SIZE; i++) {
+            BlockState expected = i >= 100 ? Blocks.AIR.getDefaultState()
+                : i % 2 == 0 ? Blocks.EXPOSED_COPPER.getDefaultState() : Blocks.STONE.getDefaultState();
+            assertEquals(expected, get(container, i), "index " + i);
+            assertEquals(i < 100 && i % 2 == 0, isSet(remap.changedMask(), i), "index " + i);
+        }
+    }
+
+    @Test
+    void collapsesEntriesThatReachTheSameState() {
+        PalettedContainer<BlockState> container = container();
+        for (int i = 0; i < 300; i++) {
+            BlockState state = switch (i % 3) {
+                case 0 -> Blocks.WEATHERED_COPPER.getDefaultState();
+                case 1 -> Blocks.OXIDIZED_COPPER.getDefaultState();
+                default -> Blocks.STONE.getDefaultState();
+            };
+            set(container, i, state);
+        }
+
+        SectionRemap remap = SectionPaletteRemapper.remap(container, table);
+
+        assertNotNull(remap);
+        assertEquals(100, remap.changed());
+        assertEquals(3, container.data.palette().getSize());
+        for (int i = 0; i < SectionPaletteRemapper.SECTION_SIZE; i++) {
+            BlockState expected = i >= 300 ? Blocks.AIR.getDefaultState()
+                : i % 3 == 2 ? Blocks.STONE.getDefaultState() : Blocks.OXIDIZED_COPPER.getDefaultState();
+            assertEquals(expected, get(container, i), "index " + i);
+            assertEquals(i < 300 && i % 3 == 0, isSet(remap.changedMask(), i), "index " + i);
+        }
+    }
+
+    @Test
+    void rewritesRawIdsOfTheGlobalPalette() {
+        PalettedContainer<BlockState> container = container();
+        BlockState[] expected = new BlockState[SectionPaletteRemapper.SECTION_SIZE];
+        int index = 0;
+        for (int id = 1; index < 300; id++) {
+            if (!table.isCopper(id)) {
+                expected[index] = Block.STATE_IDS.get(id);
+                set(container, index, expected[index]);
+                index++;
+            }
+        }
+        for (; index < 400; index++) {
+            set(container, index, Blocks.CUT_COPPER.getDefaultState());
+            expected[index] = Blocks.EXPOSED_CUT_COPPER.getDefaultState();
+        }
+        assertInstanceOf(IdListPalette.class, container.data.palette());
+
+        SectionRemap remap = SectionPaletteRemapper.remap(container, table);
+
+        assertNotNull(remap);
+        assertEquals(100, remap.changed());
+        assertEquals(300, remap.firstIndex());
+        for (int i = 0; i < SectionPaletteRemapper.SECTION_SIZE; i++) {
+            BlockState state = expected[i] != null ? expected[i] : Blocks.AIR.getDefaultState();
+            assertEquals(state, get(container, i), "index " + i);
+            assertEquals(i >= 300 && i < 400, isSet(remap.changedMask(), i), "index " + i);
+        }
+    }
+
+    @Test
+    void leavesDoorsToThePerBlockPath() {
+        PalettedContainer<BlockState> container = container();
+        set(container, 0, Blocks.COPPER_DOOR.getDefaultState());
+
+        assertNull(SectionPaletteRemapper.remap(container, table));
+        assertTrue(get(container, 0).isOf(Blocks.COPPER_DOOR));
+    }
+}
@@ -0,0 +1,22 @@
+package com.codinn.oxify.oxidation.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import org.junit.jupiter.api.Test;
+
+class SectionRemapTest {
+
+    @Test
+    void unchangedRemapsDoNotShareTheirMask() {
+        SectionRemap first = SectionRemap.unchanged();
+        SectionRemap second = SectionRemap.unchanged();
+        first.changedMask()[0] = -1L;
+
+        assertNotSame(first.changedMask(), second.changedMask());
+        assertEquals(0L, second.changedMask()[0]);
+        assertEquals(SectionBitSet.WORDS_PER_SECTION, second.changedMask().length);
+        assertEquals(0, second.changed());
+        assertEquals(-1, second.firstIndex());
+    }
+}
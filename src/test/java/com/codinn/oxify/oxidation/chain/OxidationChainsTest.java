@@ -0,0 +1,79 @@
+package com.codinn.oxify.oxidation.chain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OxidationChainsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void buildsTheVanillaChains() {
+        OxidationChains chains = OxidationChains.vanilla();
+
+        assertEquals(36, chains.size());
+        assertEquals("minecraft:exposed_copper", chains.next("minecraft:copper_block"));
+        assertEquals("minecraft:oxidized_copper", chains.next("minecraft:weathered_copper"));
+        assertNull(chains.next("minecraft:oxidized_copper"));
+        assertEquals("minecraft:weathered_cut_copper_slab", chains.next("minecraft:exposed_cut_copper_slab"));
+        assertEquals(3, chains.stage("minecraft:waxed_oxidized_copper_bulb"));
+        assertTrue(chains.isWaxed("minecraft:waxed_copper_block"));
+        assertFalse(chains.isCopper("minecraft:stone"));
+        assertEquals(OxidationChains.NONE, chains.stage("minecraft:stone"));
+    }
+
+    @Test
+    void advancesUntilTheChainEnds() {
+        OxidationChains chains = OxidationChains.vanilla();
+
+        assertEquals("minecraft:weathered_copper_door", chains.advance("minecraft:copper_door", 2));
+        assertEquals("minecraft:oxidized_copper_door", chains.advance("minecraft:copper_door", 10));
+        assertEquals("minecraft:waxed_copper_door", chains.advance("minecraft:waxed_copper_door", 2));
+        assertEquals("minecraft:stone", chains.advance("minecraft:stone", 1));
+    }
+
+    @Test
+    void neverMovesCopperBackToAnEarlierStage() {
+        OxidationChains chains = OxidationChains.vanilla();
+
+        assertEquals("minecraft:weathered_copper_grate", chains.toStage("minecraft:copper_grate", 2));
+        assertEquals("minecraft:oxidized_copper_grate", chains.toStage("minecraft:oxidized_copper_grate", 1));
+        assertEquals("minecraft:waxed_copper_grate", chains.toStage("minecraft:waxed_copper_grate", 3));
+    }
+
+    @Test
+    void roundTripsThroughItsFile() throws IOException {
+        OxidationChains chains = new OxidationChains();
+        chains.add("modded:tin", 0, "modded:dull_tin", null);
+        chains.add("modded:dull_tin", 1, null, "modded:waxed_dull_tin");
+        Path file = this.directory.resolve("chains").resolve("oxidation_chains.txt");
+
+        chains.write(file);
+        OxidationChains read = OxidationChains.read(file);
+
+        assertEquals(2, read.size());
+        assertEquals("modded:dull_tin", read.next("modded:tin"));
+        assertNull(read.next("modded:dull_tin"));
+        assertEquals(1, read.stage("modded:waxed_dull_tin"));
+        assertFalse(read.isWaxed("modded:tin"));
+    }
+
+    @Test
+    void rejectsMalformedLines() throws IOException {
+        Path file = this.directory.resolve("broken.txt");
+        Files.writeString(file, "# comment\n\nminecraft:copper_block 0\n");
+
+        assertThrows(IOException.class, () -> OxidationChains.read(file));
+    }
+}
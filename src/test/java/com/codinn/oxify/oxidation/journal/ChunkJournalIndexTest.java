@@ -0,0 +1,63 @@
+package com.codinn.oxify.oxidation.journal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+
+class ChunkJournalIndexTest {
+
+    private static final long CHUNK_A = BlockPos.asLong(3, 64, 5);
+    private static final long CHUNK_B = BlockPos.asLong(40, 10, -20);
+
+    @Test
+    void returnsTheSequencesOfAChunkInOrder() {
+        ChunkJournalIndex index = new ChunkJournalIndex();
+        index.add(CHUNK_A, 0, 0);
+        index.add(CHUNK_B, 1, 0);
+        index.add(CHUNK_A, 2, 0);
+
+        assertArrayEquals(new long[] {0, 2}, index.query(ChunkJournalIndex.chunkKey(CHUNK_A), 0));
+        assertArrayEquals(new long[] {1}, index.query(ChunkJournalIndex.chunkKey(CHUNK_B), 0));
+        assertArrayEquals(new long[0], index.query(ChunkPos.toLong(100, 100), 0));
+    }
+
+    @Test
+    void dropsOverwrittenSequencesOnQuery() {
+        ChunkJournalIndex index = new ChunkJournalIndex();
+        for (long sequence = 0; sequence < 10; sequence++) {
+            index.add(CHUNK_A, sequence, 0);
+        }
+
+        assertArrayEquals(new long[] {7, 8, 9}, index.query(ChunkJournalIndex.chunkKey(CHUNK_A), 7));
+    }
+
+    @Test
+    void prunesChunksThatAreNeverQueried() {
+        int capacity = 1000;
+        ChunkJournalIndex index = new ChunkJournalIndex();
+        for (long sequence = 0; sequence < 10L * ChunkJournalIndex.PRUNE_STEP; sequence++) {
+            long pos = BlockPos.asLong((int) (sequence % 512) * 16, 0, (int) (sequence / 512) * 16);
+            index.add(pos, sequence, Math.max(0, sequence + 1 - capacity));
+            assertTrue(index.size() <= capacity + ChunkJournalIndex.PRUNE_STEP);
+        }
+
+        long oldest = 10L * ChunkJournalIndex.PRUNE_STEP - capacity;
+        long overwritten = BlockPos.asLong(0, 0, 0);
+        assertArrayEquals(new long[0], index.query(ChunkJournalIndex.chunkKey(overwritten), oldest));
+    }
+
+    @Test
+    void clearDropsEverything() {
+        ChunkJournalIndex index = new ChunkJournalIndex();
+        index.add(CHUNK_A, 0, 0);
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertArrayEquals(new long[0], index.query(ChunkJournalIndex.chunkKey(CHUNK_A), 0));
+    }
+}
@@ -0,0 +1,81 @@
+package com.codinn.oxify.oxidation.wave;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    private record Event(long tick, long pos, int tag) {}
+
+    private static List<Event> advance(TimingWheel wheel, long tick) {
+        List<Event> events = new ArrayList<>();
+        wheel.advanceTo(tick, (expired, pos, tag) -> events.add(new Event(expired, pos, tag)));
+        return events;
+    }
+
+    @Test
+    void expiresEventsInTickOrderAcrossLevels() {
+        TimingWheel wheel = new TimingWheel(0);
+        wheel.schedule(5000, 4, 4);
+        wheel.schedule(3, 2, 2);
+        wheel.schedule(70, 3, 3);
+        wheel.schedule(1, 1, 1);
+        assertEquals(4, wheel.size());
+
+        assertEquals(List.of(new Event(1, 1, 1), new Event(3, 2, 2), new Event(70, 3, 3), new Event(5000, 4, 4)),
+            advance(wheel, 6000));
+        assertEquals(0, wheel.size());
+        assertEquals(6001, wheel.now());
+    }
+
+    @Test
+    void keepsEventsOfLaterTicks() {
+        TimingWheel wheel = new TimingWheel(100);
+        wheel.schedule(130, 1, 0);
+        wheel.schedule(200, 2, 0);
+
+        assertEquals(List.of(), advance(wheel, 129));
+        assertEquals(List.of(new Event(130, 1, 0)), advance(wheel, 150));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(new Event(200, 2, 0)), advance(wheel, 200));
+    }
+
+    @Test
+    void movesPastTicksToTheNextOne() {
+        TimingWheel wheel = new TimingWheel(10);
+        advance(wheel, 20);
+        wheel.schedule(5, 7, 0);
+
+        assertEquals(List.of(new Event(21, 7, 0)), advance(wheel, 21));
+    }
+
+    @Test
+    void expiresEventsScheduledByTheExpiryInTheSameCall() {
+        TimingWheel wheel = new TimingWheel(0);
+        wheel.schedule(0, 0, 0);
+        List<Event> events = new ArrayList<>();
+        wheel.advanceTo(10, (tick, pos, tag) -> {
+            events.add(new Event(tick, pos, tag));
+            if (pos < 3) {
+                wheel.schedule(tick + 1, pos + 1, tag);
+            }
+        });
+
+        assertEquals(List.of(new Event(0, 0, 0), new Event(1, 1, 0), new Event(2, 2, 0), new Event(3, 3, 0)), events);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void cascadesEventsBeyondTheHorizon() {
+        TimingWheel wheel = new TimingWheel(0);
+        long far = 20_000_000L;
+        wheel.schedule(far, 9, 1);
+
+        assertEquals(List.of(), advance(wheel, far - 1));
+        assertEquals(List.of(new Event(far, 9, 1)), advance(wheel, far));
+    }
+}
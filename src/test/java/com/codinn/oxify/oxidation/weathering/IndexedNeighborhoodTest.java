@@ -0,0 +1,133 @@
+package com.codinn.oxify.oxidation.weathering;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.codinn.oxify.oxidation.OxidationTable;
+import com.codinn.oxify.oxidation.index.SectionIndex;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.Oxidizable;
+import net.minecraft.world.chunk.PalettedContainer;
+
+class IndexedNeighborhoodTest {
+
+    private static final Block[] COPPER = {Blocks.COPPER_BLOCK, Blocks.EXPOSED_COPPER, Blocks.WEATHERED_COPPER,
+        Blocks.OXIDIZED_COPPER, Blocks.CUT_COPPER_SLAB, Blocks.WEATHERED_COPPER_GRATE, Blocks.WAXED_COPPER_BLOCK,
+        Blocks.WAXED_OXIDIZED_CUT_COPPER};
+
+    private static OxidationTable table;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+        table = OxidationTable.rebuild();
+    }
+
+    /**
+     * The sections around section (0, 0, 0), filled with copper at the given density.
+     */
+    private static PalettedContainer<BlockState>[] sections(float density, long seed) {
+        @SuppressWarnings("unchecked")
+        PalettedContainer<BlockState>[] sections = new PalettedContainer[27];
+        Random random = new Random(seed);
+        for (int i = 0; i < sections.length; i++) {
+            sections[i] = new PalettedContainer<>(Block.STATE_IDS, Blocks.AIR.getDefaultState(),
+                PalettedContainer.PaletteProvider.BLOCK_STATE);
+            for (int index = 0; index < 4096; index++) {
+                if (random.nextFloat() < density) {
+                    BlockState state = COPPER[random.nextInt(COPPER.length)].getDefaultState();
+                    sections[i].set(index & 15, index >> 8, index >> 4 & 15, state);
+                }
+            }
+        }
+        return sections;
+    }
+
+    private static BlockState stateAt(PalettedContainer<BlockState>[] sections, int x, int y, int z) {
+        int slot = ((x >> 4) + 1) * 9 + ((y >> 4) + 1) * 3 + (z >> 4) + 1;
+        return sections[slot].get(x & 15, y & 15, z & 15);
+    }
+
+    /**
+     * The chance {@code Degradable#tryDegrade} computes, read block by block.
+     */
+    private static float vanillaChance(PalettedContainer<BlockState>[] sections, int x, int y, int z, int stage) {
+        int same = 0;
+        int higher = 0;
+        for (int dx = -4; dx <= 4; dx++) {
+            for (int dy = -4; dy <= 4; dy++) {
+                for (int dz = -4; dz <= 4; dz++) {
+                    if (Math.abs(dx) + Math.abs(dy) + Math.abs(dz) > 4 || dx == 0 && dy == 0 && dz == 0) {
+                        continue;
+                    }
+                    if (stateAt(sections, x + dx, y + dy, z + dz).getBlock() instanceof Oxidizable oxidizable) {
+                        int other = oxidizable.getDegradationLevel().ordinal();
+                        if (other < stage) {
+                            return 0.0F;
+                        }
+                        if (other > stage) {
+                            higher++;
+                        } else {
+                            same++;
+                        }
+                    }
+                }
+            }
+        }
+        float f = (float) (higher + 1) / (float) (higher + same + 1);
+        return f * f * (stage == 0 ? 0.75F : 1.0F);
+    }
+
+    private static void assertMatchesVanilla(float density, long seed) {
+        PalettedContainer<BlockState>[] sections = sections(density, seed);
+        SectionIndex[] indexes = new SectionIndex[sections.length];
+        for (int slot = 0; slot < sections.length; slot++) {
+            indexes[slot] = SectionIndex.build(sections[slot], table);
+        }
+        IndexedNeighborhood neighborhood = new IndexedNeighborhood();
+        for (int x = 0; x < 16; x++) {
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    neighborhood.center(x, y, z);
+                    for (int slot = 0; slot < sections.length; slot++) {
+                        neighborhood.put(slot / 9 - 1, slot / 3 % 3 - 1, slot % 3 - 1, indexes[slot]);
+                    }
+
+                    for (int stage = 0; stage < OxidationTable.STAGE_COUNT; stage++) {
+                        float indexed = 0.0F;
+                        if (!neighborhood.hasLower(x, y, z, stage)) {
+                            int higher = 0;
+                            for (int s = stage + 1; s < OxidationTable.STAGE_COUNT; s++) {
+                                higher += neighborhood.count(x, y, z, s);
+                            }
+                            indexed = WeatheringModel.degradeChance(stage, 0, neighborhood.count(x, y, z, stage),
+                                higher);
+                        }
+                        assertEquals(vanillaChance(sections, x, y, z, stage), indexed,
+                            "stage " + stage + " at " + x + " " + y + " " + z);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesTheVanillaScanInSparseCopper() {
+        assertMatchesVanilla(0.01F, 1L);
+    }
+
+    @Test
+    void matchesTheVanillaScanInDenseCopper() {
+        assertMatchesVanilla(0.4F, 2L);
+    }
+}